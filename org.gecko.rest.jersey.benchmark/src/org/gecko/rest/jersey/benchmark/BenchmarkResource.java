@@ -0,0 +1,32 @@
+/**
+ * Copyright (c) 2012 - 2022 Data In Motion and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Data In Motion - initial API and implementation
+ *     Stefan Bishof - API and implementation
+ *     Tim Ward - implementation
+ */
+package org.gecko.rest.jersey.benchmark;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+
+/**
+ * Resource, that is registered many times by the benchmarks
+ * @author agent
+ * @since 18.10.2026
+ */
+@Path("/benchmark")
+public class BenchmarkResource {
+
+	@GET
+	public String get() {
+		return "benchmark";
+	}
+
+}
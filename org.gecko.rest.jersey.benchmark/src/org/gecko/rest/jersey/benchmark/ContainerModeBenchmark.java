@@ -0,0 +1,105 @@
+/**
+ * Copyright (c) 2012 - 2022 Data In Motion and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Data In Motion - initial API and implementation
+ *     Stefan Bishof - API and implementation
+ *     Tim Ward - implementation
+ */
+package org.gecko.rest.jersey.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jetty.server.LocalConnector;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.handler.HandlerList;
+import org.eclipse.jetty.server.session.SessionHandler;
+import org.eclipse.jetty.servlet.ServletContextHandler;
+import org.eclipse.jetty.servlet.ServletHolder;
+import org.gecko.rest.jersey.jetty.JerseyJettyHandler;
+import org.gecko.rest.jersey.provider.JerseyConstants;
+import org.gecko.rest.jersey.runtime.servlet.WhiteboardServletContainer;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the request throughput of the servlet and the native container mode of the standalone runtime.
+ * The requests are sent through an in-memory Jetty connector, so that the network is not measured.
+ * @author agent
+ * @since 18.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContainerModeBenchmark {
+
+	private static final String REQUEST = "GET /rest/app/benchmark HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n\r\n";
+
+	@Param({JerseyConstants.CONTAINER_MODE_SERVLET, JerseyConstants.CONTAINER_MODE_NATIVE})
+	public String mode;
+
+	private Server server;
+	private LocalConnector connector;
+
+	@Setup
+	public void setup() throws Exception {
+		server = new Server();
+		connector = new LocalConnector(server);
+		server.addConnector(connector);
+		WhiteboardServletContainer container = new WhiteboardServletContainer(new ResourceConfig(BenchmarkResource.class), null);
+		HandlerList handlers = new HandlerList();
+		if (JerseyConstants.CONTAINER_MODE_NATIVE.equals(mode)) {
+			handlers.addHandler(new JerseyJettyHandler(container, "/rest/app"));
+		} else {
+			// like the servlet context of an application in the standalone runtime with its default configuration
+			ServletContextHandler context = new ServletContextHandler();
+			context.setSessionHandler(new SessionHandler());
+			context.setContextPath("/rest/app");
+			ServletHolder servlet = new ServletHolder(container);
+			servlet.setAsyncSupported(true);
+			context.addServlet(servlet, "/*");
+			handlers.addHandler(context);
+		}
+		server.setHandler(handlers);
+		server.start();
+		String response = connector.getResponse(REQUEST);
+		if (!response.startsWith("HTTP/1.1 200")) {
+			throw new IllegalStateException("Unexpected response " + response);
+		}
+	}
+
+	@TearDown
+	public void tearDown() throws Exception {
+		server.stop();
+	}
+
+	/**
+	 * A GET request to a resource of an application
+	 * @return the raw response
+	 * @throws Exception if the request fails
+	 */
+	@Benchmark
+	public String request() throws Exception {
+		return connector.getResponse(REQUEST);
+	}
+
+}
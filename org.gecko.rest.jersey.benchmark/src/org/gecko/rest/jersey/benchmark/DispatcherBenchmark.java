@@ -0,0 +1,139 @@
+/**
+ * Copyright (c) 2012 - 2022 Data In Motion and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Data In Motion - initial API and implementation
+ *     Stefan Bishof - API and implementation
+ *     Tim Ward - implementation
+ */
+package org.gecko.rest.jersey.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.gecko.rest.jersey.benchmark.WhiteboardFixture.SelectFilter;
+import org.gecko.rest.jersey.runtime.dispatcher.JerseyWhiteboardDispatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the {@link JerseyWhiteboardDispatcher} against a {@link StubWhiteboardProvider}.
+ * The allocation per operation is measured with the GC profiler, e.g. <code>-prof gc</code>.
+ * @author agent
+ * @since 18.10.2026
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DispatcherBenchmark {
+
+	@Param({"10", "100", "1000", "10000"})
+	public int resources;
+	@Param({"1", "10", "100"})
+	public int applications;
+	@Param({"SIMPLE", "COMPLEX"})
+	public SelectFilter selectFilter;
+	@Param({"0", "3"})
+	public int extensionChain;
+
+	private WhiteboardFixture fixture;
+	private JerseyWhiteboardDispatcher dispatcher;
+
+	/**
+	 * A resource, that is added by the benchmark and removed afterwards
+	 */
+	@State(Scope.Thread)
+	public static class PendingResource {
+
+		private Map<String, Object> properties;
+		private StubServiceObjects<Object> serviceObjects;
+
+		@Setup(Level.Invocation)
+		public void create(DispatcherBenchmark benchmark) {
+			properties = benchmark.fixture.createResourceProperties();
+			serviceObjects = benchmark.fixture.createResourceObjects(properties);
+		}
+
+		@TearDown(Level.Invocation)
+		public void remove(DispatcherBenchmark benchmark) {
+			benchmark.dispatcher.removeResource(properties);
+		}
+
+	}
+
+	/**
+	 * A resource, that is added before and removed by the benchmark
+	 */
+	@State(Scope.Thread)
+	public static class RegisteredResource {
+
+		private Map<String, Object> properties;
+
+		@Setup(Level.Invocation)
+		public void add(DispatcherBenchmark benchmark) {
+			properties = benchmark.fixture.createResourceProperties();
+			benchmark.dispatcher.addResource(benchmark.fixture.createResourceObjects(properties), properties);
+		}
+
+	}
+
+	@Setup(Level.Trial)
+	public void setup() {
+		fixture = new WhiteboardFixture(applications, selectFilter, extensionChain);
+		dispatcher = new JerseyWhiteboardDispatcher();
+		dispatcher.setWhiteboardProvider(new StubWhiteboardProvider(fixture.getWhiteboardProperties()));
+		dispatcher.dispatch();
+		dispatcher.apply(fixture.createContent(resources));
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		dispatcher.deactivate();
+	}
+
+	/**
+	 * Adding a single resource to a populated whiteboard
+	 * @param resource the resource to add
+	 */
+	@Benchmark
+	public void addResource(PendingResource resource) {
+		dispatcher.addResource(resource.serviceObjects, resource.properties);
+	}
+
+	/**
+	 * Removing a single resource from a populated whiteboard
+	 * @param resource the resource to remove
+	 */
+	@Benchmark
+	public void removeResource(RegisteredResource resource) {
+		dispatcher.removeResource(resource.properties);
+	}
+
+	/**
+	 * A pass over the whole whiteboard, like after a modification of the whiteboard properties
+	 */
+	@Benchmark
+	public void fullDispatch() {
+		dispatcher.dispatch();
+	}
+
+}
@@ -0,0 +1,129 @@
+/**
+ * Copyright (c) 2012 - 2022 Data In Motion and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Data In Motion - initial API and implementation
+ *     Stefan Bishof - API and implementation
+ *     Tim Ward - implementation
+ */
+package org.gecko.rest.jersey.benchmark;
+
+import java.util.Dictionary;
+import java.util.Hashtable;
+import java.util.Map;
+
+import org.osgi.framework.Bundle;
+import org.osgi.framework.ServiceObjects;
+import org.osgi.framework.ServiceReference;
+
+/**
+ * {@link ServiceObjects} for a service instance, that exists without an OSGi framework.
+ * Each instance has its own {@link ServiceReference}, so that the provider metadata can be cached like for real services.
+ * @author agent
+ * @since 18.10.2026
+ */
+public class StubServiceObjects<S> implements ServiceObjects<S> {
+
+	private final S service;
+	private final ServiceReference<S> reference;
+
+	/**
+	 * Creates a new instance.
+	 * @param service the service instance
+	 * @param properties the service properties
+	 */
+	public StubServiceObjects(S service, Map<String, Object> properties) {
+		this.service = service;
+		this.reference = new StubServiceReference<>(properties);
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see org.osgi.framework.ServiceObjects#getService()
+	 */
+	@Override
+	public S getService() {
+		return service;
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see org.osgi.framework.ServiceObjects#ungetService(java.lang.Object)
+	 */
+	@Override
+	public void ungetService(S service) {
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see org.osgi.framework.ServiceObjects#getServiceReference()
+	 */
+	@Override
+	public ServiceReference<S> getServiceReference() {
+		return reference;
+	}
+
+	/**
+	 * Service reference, that only provides the service properties
+	 */
+	private static class StubServiceReference<S> implements ServiceReference<S> {
+
+		private final Map<String, Object> properties;
+
+		StubServiceReference(Map<String, Object> properties) {
+			this.properties = properties;
+		}
+
+		@Override
+		public Object getProperty(String key) {
+			return properties.get(key);
+		}
+
+		@Override
+		public String[] getPropertyKeys() {
+			return properties.keySet().toArray(new String[0]);
+		}
+
+		@Override
+		public Bundle getBundle() {
+			return null;
+		}
+
+		@Override
+		public Bundle[] getUsingBundles() {
+			return null;
+		}
+
+		@Override
+		public boolean isAssignableTo(Bundle bundle, String className) {
+			return true;
+		}
+
+		@Override
+		public int compareTo(Object reference) {
+			return 0;
+		}
+
+		@Override
+		public Dictionary<String, Object> getProperties() {
+			return new Hashtable<>(properties);
+		}
+
+		@Override
+		public <A> A adapt(Class<A> type) {
+			return null;
+		}
+
+		@Override
+		public String toString() {
+			return properties.toString();
+		}
+
+	}
+
+}
@@ -0,0 +1,172 @@
+/**
+ * Copyright (c) 2012 - 2022 Data In Motion and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Data In Motion - initial API and implementation
+ *     Stefan Bishof - API and implementation
+ *     Tim Ward - implementation
+ */
+package org.gecko.rest.jersey.benchmark;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.gecko.rest.jersey.provider.application.JaxRsApplicationProvider;
+import org.gecko.rest.jersey.provider.whiteboard.JaxRsWhiteboardProvider;
+import org.osgi.service.component.ComponentContext;
+
+/**
+ * Whiteboard provider, that only remembers the registered applications. So a benchmark measures the
+ * dispatcher and not the Jersey or Jetty setup of the applications.
+ * @author agent
+ * @since 18.10.2026
+ */
+public class StubWhiteboardProvider implements JaxRsWhiteboardProvider {
+
+	private final Map<String, Object> properties;
+	private final Set<String> registered = ConcurrentHashMap.newKeySet();
+	private volatile long reloads = 0;
+
+	/**
+	 * Creates a new instance.
+	 * @param properties the whiteboard properties
+	 */
+	public StubWhiteboardProvider(Map<String, Object> properties) {
+		this.properties = properties;
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see org.gecko.rest.jersey.provider.whiteboard.JaxRsWhiteboardProvider#initialize(org.osgi.service.component.ComponentContext)
+	 */
+	@Override
+	public void initialize(ComponentContext context) {
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see org.gecko.rest.jersey.provider.whiteboard.JaxRsWhiteboardProvider#modified(org.osgi.service.component.ComponentContext)
+	 */
+	@Override
+	public void modified(ComponentContext context) {
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see org.gecko.rest.jersey.provider.whiteboard.JaxRsWhiteboardProvider#startup()
+	 */
+	@Override
+	public void startup() {
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see org.gecko.rest.jersey.provider.whiteboard.JaxRsWhiteboardProvider#teardown()
+	 */
+	@Override
+	public void teardown() {
+		registered.clear();
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see org.gecko.rest.jersey.provider.whiteboard.JaxRsWhiteboardProvider#getURLs(org.osgi.service.component.ComponentContext)
+	 */
+	@Override
+	public String[] getURLs(ComponentContext context) {
+		return new String[] {"http://localhost:8181/rest"};
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see org.gecko.rest.jersey.provider.whiteboard.JaxRsWhiteboardProvider#getProperties()
+	 */
+	@Override
+	public Map<String, Object> getProperties() {
+		return properties;
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see org.gecko.rest.jersey.provider.whiteboard.JaxRsWhiteboardProvider#getName()
+	 */
+	@Override
+	public String getName() {
+		return "benchmark";
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see org.gecko.rest.jersey.provider.whiteboard.JaxRsWhiteboardProvider#registerApplication(org.gecko.rest.jersey.provider.application.JaxRsApplicationProvider)
+	 */
+	@Override
+	public void registerApplication(JaxRsApplicationProvider provider) {
+		registered.add(provider.getId());
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see org.gecko.rest.jersey.provider.whiteboard.JaxRsWhiteboardProvider#unregisterApplication(org.gecko.rest.jersey.provider.application.JaxRsApplicationProvider)
+	 */
+	@Override
+	public void unregisterApplication(JaxRsApplicationProvider provider) {
+		registered.remove(provider.getId());
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see org.gecko.rest.jersey.provider.whiteboard.JaxRsWhiteboardProvider#reloadApplication(org.gecko.rest.jersey.provider.application.JaxRsApplicationProvider)
+	 */
+	@Override
+	public void reloadApplication(JaxRsApplicationProvider provider) {
+		reloads++;
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see org.gecko.rest.jersey.provider.whiteboard.JaxRsWhiteboardProvider#isRegistered(org.gecko.rest.jersey.provider.application.JaxRsApplicationProvider)
+	 */
+	@Override
+	public boolean isRegistered(JaxRsApplicationProvider provider) {
+		return registered.contains(provider.getId());
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see org.gecko.rest.jersey.provider.whiteboard.JaxRsWhiteboardProvider#beginUpdate()
+	 */
+	@Override
+	public void beginUpdate() {
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see org.gecko.rest.jersey.provider.whiteboard.JaxRsWhiteboardProvider#endUpdate()
+	 */
+	@Override
+	public void endUpdate() {
+	}
+
+	/**
+	 * Returns the number of registered applications
+	 * @return the number of registered applications
+	 */
+	public int getRegisteredCount() {
+		return registered.size();
+	}
+
+	/**
+	 * Returns the number of application reloads
+	 * @return the number of reloads
+	 */
+	public long getReloadCount() {
+		return reloads;
+	}
+
+}
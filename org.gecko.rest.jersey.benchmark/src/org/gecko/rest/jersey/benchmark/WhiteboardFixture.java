@@ -0,0 +1,148 @@
+/**
+ * Copyright (c) 2012 - 2022 Data In Motion and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Data In Motion - initial API and implementation
+ *     Stefan Bishof - API and implementation
+ *     Tim Ward - implementation
+ */
+package org.gecko.rest.jersey.benchmark;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.core.Application;
+
+import org.gecko.rest.jersey.provider.application.JaxRsWhiteboardChange;
+import org.osgi.framework.Constants;
+import org.osgi.service.jaxrs.whiteboard.JaxrsWhiteboardConstants;
+
+/**
+ * Creates the service properties of the applications, resources and extensions for the benchmarks.
+ * The resources are distributed round robin over the applications. If an extension chain is requested, each application
+ * gets its own chain of extensions, where each extension selects its predecessor and the resources select the last one.
+ * @author agent
+ * @since 18.10.2026
+ */
+public class WhiteboardFixture {
+
+	/**
+	 * Complexity of the application select filters of the resources and extensions
+	 */
+	public enum SelectFilter {
+		/** Selects the application by name */
+		SIMPLE,
+		/** Selects the application by name and additional application properties */
+		COMPLEX
+	}
+
+	private final int applications;
+	private final SelectFilter selectFilter;
+	private final int extensionChain;
+	private final AtomicLong serviceIds = new AtomicLong(1000);
+	private int nextApplication = 0;
+
+	/**
+	 * Creates a new instance.
+	 * @param applications the number of applications
+	 * @param selectFilter the complexity of the application select filters
+	 * @param extensionChain the number of extensions, that select each other per application
+	 */
+	public WhiteboardFixture(int applications, SelectFilter selectFilter, int extensionChain) {
+		this.applications = applications;
+		this.selectFilter = selectFilter;
+		this.extensionChain = extensionChain;
+	}
+
+	/**
+	 * Returns the properties of the whiteboard
+	 * @return the whiteboard properties
+	 */
+	public Map<String, Object> getWhiteboardProperties() {
+		return Map.of(JaxrsWhiteboardConstants.JAX_RS_NAME, "benchmark");
+	}
+
+	/**
+	 * Creates the changes to add all applications, their extension chains and the given number of resources
+	 * @param resources the number of resources
+	 * @return the changes
+	 */
+	public List<JaxRsWhiteboardChange> createContent(int resources) {
+		List<JaxRsWhiteboardChange> changes = new ArrayList<>();
+		for (int i = 0; i < applications; i++) {
+			Map<String, Object> properties = createProperties(Application.class);
+			properties.put(JaxrsWhiteboardConstants.JAX_RS_NAME, "app" + i);
+			properties.put(JaxrsWhiteboardConstants.JAX_RS_APPLICATION_BASE, "app" + i);
+			properties.put("tenant", i % 2 == 0 ? "a" : "b");
+			changes.add(JaxRsWhiteboardChange.addApplication(new Application(), properties));
+			for (int e = 0; e < extensionChain; e++) {
+				Map<String, Object> extension = createProperties(ContainerRequestFilter.class);
+				extension.put(JaxrsWhiteboardConstants.JAX_RS_EXTENSION, Boolean.TRUE);
+				extension.put(JaxrsWhiteboardConstants.JAX_RS_NAME, getExtensionName(i, e));
+				extension.put(JaxrsWhiteboardConstants.JAX_RS_APPLICATION_SELECT, getApplicationSelect(i));
+				if (e > 0) {
+					extension.put(JaxrsWhiteboardConstants.JAX_RS_EXTENSION_SELECT, "(" + JaxrsWhiteboardConstants.JAX_RS_NAME + "=" + getExtensionName(i, e - 1) + ")");
+				}
+				changes.add(JaxRsWhiteboardChange.addExtension(new StubServiceObjects<>(new BenchmarkFilter(), extension), extension));
+			}
+		}
+		for (int i = 0; i < resources; i++) {
+			Map<String, Object> properties = createResourceProperties();
+			changes.add(JaxRsWhiteboardChange.addResource(createResourceObjects(properties), properties));
+		}
+		return changes;
+	}
+
+	/**
+	 * Creates the properties of the next resource
+	 * @return the resource properties
+	 */
+	public Map<String, Object> createResourceProperties() {
+		int application = nextApplication++ % applications;
+		Map<String, Object> properties = createProperties(BenchmarkResource.class);
+		properties.put(JaxrsWhiteboardConstants.JAX_RS_RESOURCE, Boolean.TRUE);
+		properties.put(JaxrsWhiteboardConstants.JAX_RS_APPLICATION_SELECT, getApplicationSelect(application));
+		if (extensionChain > 0) {
+			properties.put(JaxrsWhiteboardConstants.JAX_RS_EXTENSION_SELECT, "(" + JaxrsWhiteboardConstants.JAX_RS_NAME + "=" + getExtensionName(application, extensionChain - 1) + ")");
+		}
+		return properties;
+	}
+
+	/**
+	 * Creates the service objects for a resource
+	 * @param properties the resource properties
+	 * @return the service objects
+	 */
+	public StubServiceObjects<Object> createResourceObjects(Map<String, Object> properties) {
+		return new StubServiceObjects<>(new BenchmarkResource(), properties);
+	}
+
+	private Map<String, Object> createProperties(Class<?> objectClass) {
+		Map<String, Object> properties = new HashMap<>();
+		properties.put(Constants.SERVICE_ID, serviceIds.incrementAndGet());
+		properties.put(Constants.OBJECTCLASS, new String[] {objectClass.getName()});
+		return properties;
+	}
+
+	private String getApplicationSelect(int application) {
+		String name = "(" + JaxrsWhiteboardConstants.JAX_RS_NAME + "=app" + application + ")";
+		if (selectFilter == SelectFilter.SIMPLE) {
+			return name;
+		}
+		return "(&" + name + "(|(tenant=a)(tenant=b)(tenant=c))(!(disabled=true)))";
+	}
+
+	private String getExtensionName(int application, int index) {
+		return "ext" + application + "_" + index;
+	}
+
+}
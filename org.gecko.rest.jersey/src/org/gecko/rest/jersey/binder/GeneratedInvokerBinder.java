@@ -0,0 +1,129 @@
+/**
+ * Copyright (c) 2012 - 2022 Data In Motion and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Data In Motion - initial API and implementation
+ *     Stefan Bishof - API and implementation
+ *     Tim Ward - implementation
+ */
+package org.gecko.rest.jersey.binder;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.gecko.rest.jersey.proxy.ResourceMethodInvokerFactory;
+import org.glassfish.hk2.utilities.binding.AbstractBinder;
+import org.glassfish.jersey.server.model.Invocable;
+import org.glassfish.jersey.server.spi.internal.ResourceMethodInvocationHandlerProvider;
+
+/**
+ * OSGi injection binder for HK2, that is used in Jersey. This binder is responsible for
+ * the creation of handlers, that call the resource methods using generated invoker classes instead of reflection.
+ * The invokers are generated, when Jersey builds the resource model of the application.
+ * Methods, that cannot be called from a generated class and methods returning a promise, are left to the other handlers.
+ * @author agent
+ * @since 18.10.2026
+ */
+public class GeneratedInvokerBinder extends AbstractBinder {
+
+	/* (non-Javadoc)
+	 * @see org.glassfish.hk2.utilities.binding.AbstractBinder#configure()
+	 */
+	@Override
+	protected void configure() {
+		bind(new GeneratedResourceMethodInvocationHandlerProvider())
+			.to(ResourceMethodInvocationHandlerProvider.class);
+	}
+}
+
+class GeneratedResourceMethodInvocationHandlerProvider implements ResourceMethodInvocationHandlerProvider {
+
+	private static final Logger logger = Logger.getLogger("jersey.invoker");
+	private final Map<Method, InvocationHandler> cachedHandlers = new ConcurrentHashMap<>();
+	private final Map<ClassLoader, InvokerClassLoader> classLoaders = new ConcurrentHashMap<>();
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.glassfish.jersey.server.spi.internal.ResourceMethodInvocationHandlerProvider#create(org.glassfish.jersey.server.model.Invocable)
+	 */
+	@Override
+	public InvocationHandler create(Invocable method) {
+		Method handlingMethod = method.getHandlingMethod();
+		if ("org.osgi.util.promise.Promise".equals(method.getRawResponseType().getName())
+				|| !ResourceMethodInvokerFactory.isSupported(handlingMethod)) {
+			return null;
+		}
+		InvocationHandler handler = cachedHandlers.get(handlingMethod);
+		if (handler == null) {
+			try {
+				handler = cachedHandlers.computeIfAbsent(handlingMethod, this::createHandler);
+			} catch (Exception e) {
+				logger.log(Level.WARNING, "Cannot generate an invoker for " + handlingMethod + ", using reflection", e);
+				return null;
+			}
+		}
+		return handler;
+	}
+
+	@SuppressWarnings("unchecked")
+	private InvocationHandler createHandler(Method method) {
+		InvokerClassLoader loader = classLoaders.computeIfAbsent(method.getDeclaringClass().getClassLoader(), InvokerClassLoader::new);
+		String className = ResourceMethodInvokerFactory.getClassName(method);
+		byte[] b = ResourceMethodInvokerFactory.generateClass(className, method);
+		try {
+			Class<?> clz = loader.define(className, b, method.getDeclaringClass());
+			return new GeneratedInvocationHandler((BiFunction<Object, Object[], Object>) clz.getConstructor().newInstance());
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Cannot instantiate the invoker for " + method, e);
+		}
+	}
+
+	/**
+	 * Defines the invoker classes, with the class loader of the resource classes as parent
+	 */
+	static class InvokerClassLoader extends ClassLoader {
+
+		InvokerClassLoader(ClassLoader parent) {
+			super(parent);
+		}
+
+		Class<?> define(String name, byte[] b, Class<?> resourceClass) {
+			return defineClass(name, b, 0, b.length, resourceClass.getProtectionDomain());
+		}
+
+	}
+
+	static class GeneratedInvocationHandler implements InvocationHandler {
+
+		private final BiFunction<Object, Object[], Object> invoker;
+
+		GeneratedInvocationHandler(BiFunction<Object, Object[], Object> invoker) {
+			this.invoker = invoker;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.reflect.InvocationHandler#invoke(java.lang.Object, java.lang.reflect.Method, java.lang.Object[])
+		 */
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			try {
+				return invoker.apply(proxy, args);
+			} catch (Throwable t) {
+				// Jersey maps the cause of an InvocationTargetException, like for a reflective call
+				throw new InvocationTargetException(t);
+			}
+		}
+	}
+}
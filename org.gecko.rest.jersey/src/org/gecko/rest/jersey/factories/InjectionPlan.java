@@ -0,0 +1,139 @@
+/**
+ * Copyright (c) 2012 - 2022 Data In Motion and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Data In Motion - initial API and implementation
+ *     Stefan Bishof - API and implementation
+ *     Tim Ward - implementation
+ */
+package org.gecko.rest.jersey.factories;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Set;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.Encoded;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.NameBinding;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+
+import org.glassfish.jersey.internal.inject.InjectionManager;
+
+/**
+ * Tells, if instances of a class have to be injected by the {@link InjectionManager}. The class hierarchy is analyzed once
+ * per class. A class has injection points, if one of its instance fields has a runtime annotation, like <code>@Context</code>,
+ * <code>@Inject</code> or <code>@QueryParam</code>, or if one of its instance methods has a runtime annotation, that is not
+ * a resource method annotation. All other classes, like most OSGi DS components, are not injected.
+ * The analysis is conservative: unknown annotations are regarded as injection points, because they may belong to a custom
+ * injection resolver.
+ * @author agent
+ * @since 18.10.2026
+ */
+public final class InjectionPlan {
+
+	private static final Set<String> NON_INJECTING_ANNOTATIONS = Set.of(
+			Path.class.getName(),
+			Produces.class.getName(),
+			Consumes.class.getName(),
+			Encoded.class.getName(),
+			Deprecated.class.getName(),
+			"javax.annotation.PostConstruct",
+			"javax.annotation.PreDestroy",
+			"javax.annotation.Priority");
+	private static final ClassValue<InjectionPlan> PLANS = new ClassValue<InjectionPlan>() {
+
+		@Override
+		protected InjectionPlan computeValue(Class<?> type) {
+			try {
+				return new InjectionPlan(type, hasInjectionPoints(type));
+			} catch (LinkageError e) {
+				// the members cannot be analyzed, so leave it to the injection manager
+				return new InjectionPlan(type, true);
+			}
+		}
+
+	};
+	private final Class<?> type;
+	private final boolean injectionRequired;
+
+	private InjectionPlan(Class<?> type, boolean injectionRequired) {
+		this.type = type;
+		this.injectionRequired = injectionRequired;
+	}
+
+	/**
+	 * Returns the plan for the class. It is computed on the first call
+	 * @param type the implementation class
+	 * @return the plan
+	 */
+	public static InjectionPlan forClass(Class<?> type) {
+		return PLANS.get(type);
+	}
+
+	/**
+	 * Injects the instance, if its class has injection points
+	 * @param instance the instance, can be <code>null</code>
+	 * @param injectionManager the injection manager, can be <code>null</code>
+	 */
+	public static void inject(Object instance, InjectionManager injectionManager) {
+		if (instance != null && injectionManager != null && forClass(instance.getClass()).isInjectionRequired()) {
+			injectionManager.inject(instance);
+		}
+	}
+
+	/**
+	 * Returns the analyzed class
+	 * @return the class
+	 */
+	public Class<?> getType() {
+		return type;
+	}
+
+	/**
+	 * Returns <code>true</code>, if the instances of the class have to be injected
+	 * @return <code>true</code>, if the class has injection points
+	 */
+	public boolean isInjectionRequired() {
+		return injectionRequired;
+	}
+
+	private static boolean hasInjectionPoints(Class<?> type) {
+		for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+			for (Field field : c.getDeclaredFields()) {
+				if (!Modifier.isStatic(field.getModifiers()) && !field.isSynthetic() && hasInjectionAnnotation(field.getAnnotations())) {
+					return true;
+				}
+			}
+			for (Method method : c.getDeclaredMethods()) {
+				if (!Modifier.isStatic(method.getModifiers()) && !method.isSynthetic() && !method.isBridge()
+						&& hasInjectionAnnotation(method.getAnnotations())) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private static boolean hasInjectionAnnotation(Annotation[] annotations) {
+		for (Annotation annotation : annotations) {
+			Class<? extends Annotation> annotationType = annotation.annotationType();
+			if (NON_INJECTING_ANNOTATIONS.contains(annotationType.getName())
+					|| annotationType.isAnnotationPresent(HttpMethod.class)
+					|| annotationType.isAnnotationPresent(NameBinding.class)) {
+				continue;
+			}
+			return true;
+		}
+		return false;
+	}
+
+}
@@ -0,0 +1,179 @@
+/**
+ * Copyright (c) 2012 - 2022 Data In Motion and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Data In Motion - initial API and implementation
+ *     Stefan Bishof - API and implementation
+ *     Tim Ward - implementation
+ */
+package org.gecko.rest.jersey.factories;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tracks the live instances of a factory by identity, together with the time they were handed out. An instance can be marked as
+ * completed, when its request finished. From then on, the time is the time of the completion.
+ * The instances are spread over several stripes by their identity hash code, each guarded by its own monitor,
+ * so that concurrent requests rarely contend.
+ * @param <T> the type of the instances
+ * @author agent
+ * @since 18.10.2026
+ */
+public class InstanceTracker<T> {
+
+	private static final int STRIPES = stripeCount(Runtime.getRuntime().availableProcessors());
+	private final Stripe<T>[] stripes;
+
+	/**
+	 * Creates a new instance.
+	 */
+	@SuppressWarnings("unchecked")
+	public InstanceTracker() {
+		stripes = (Stripe<T>[]) new Stripe<?>[STRIPES];
+		for (int i = 0; i < stripes.length; i++) {
+			stripes[i] = new Stripe<>();
+		}
+	}
+
+	/**
+	 * Starts tracking an instance
+	 * @param instance the instance
+	 * @param time the current time in nanoseconds
+	 */
+	public void add(T instance, long time) {
+		Stripe<T> stripe = stripeOf(instance);
+		synchronized (stripe) {
+			stripe.instances.put(instance, new Entry(time));
+		}
+	}
+
+	/**
+	 * Marks an instance as completed, because its request finished
+	 * @param instance the instance
+	 * @param time the current time in nanoseconds
+	 * @return <code>true</code>, if the instance is tracked
+	 */
+	public boolean markCompleted(T instance, long time) {
+		Stripe<T> stripe = stripeOf(instance);
+		synchronized (stripe) {
+			Entry entry = stripe.instances.get(instance);
+			if (entry == null) {
+				return false;
+			}
+			if (!entry.completed) {
+				entry.completed = true;
+				entry.time = time;
+			}
+			return true;
+		}
+	}
+
+	/**
+	 * Stops tracking an instance
+	 * @param instance the instance
+	 * @return <code>true</code>, if the instance was tracked
+	 */
+	public boolean remove(T instance) {
+		Stripe<T> stripe = stripeOf(instance);
+		synchronized (stripe) {
+			return stripe.instances.remove(instance) != null;
+		}
+	}
+
+	/**
+	 * Stops tracking the instances, that were marked as completed before the given time. Instances, that are not
+	 * completed, are kept regardless of their age
+	 * @param time the time in nanoseconds
+	 * @return the removed instances
+	 */
+	public List<T> removeCompletedBefore(long time) {
+		List<T> removed = new ArrayList<>();
+		for (Stripe<T> stripe : stripes) {
+			synchronized (stripe) {
+				Iterator<Map.Entry<T, Entry>> iterator = stripe.instances.entrySet().iterator();
+				while (iterator.hasNext()) {
+					Map.Entry<T, Entry> entry = iterator.next();
+					if (entry.getValue().completed && time - entry.getValue().time > 0) {
+						removed.add(entry.getKey());
+						iterator.remove();
+					}
+				}
+			}
+		}
+		return removed;
+	}
+
+	/**
+	 * Stops tracking all instances
+	 * @return the removed instances
+	 */
+	public List<T> clear() {
+		List<T> removed = new ArrayList<>();
+		for (Stripe<T> stripe : stripes) {
+			synchronized (stripe) {
+				removed.addAll(stripe.instances.keySet());
+				stripe.instances.clear();
+			}
+		}
+		return removed;
+	}
+
+	/**
+	 * Returns the number of tracked instances. The stripes are not locked, so that the value is approximate under load
+	 * @return the number of tracked instances
+	 */
+	public int size() {
+		int size = 0;
+		for (Stripe<T> stripe : stripes) {
+			size += stripe.instances.size();
+		}
+		return size;
+	}
+
+	private Stripe<T> stripeOf(T instance) {
+		int hash = System.identityHashCode(instance);
+		hash ^= hash >>> 16;
+		return stripes[hash & (stripes.length - 1)];
+	}
+
+	/**
+	 * Returns the number of stripes, the next power of two of four times the processors, limited to 64
+	 * @param processors the number of processors
+	 * @return the number of stripes
+	 */
+	static int stripeCount(int processors) {
+		int count = 1;
+		while (count < processors * 4 && count < 64) {
+			count <<= 1;
+		}
+		return count;
+	}
+
+	private static class Stripe<T> {
+
+		private final Map<T, Entry> instances = new IdentityHashMap<>();
+
+	}
+
+	// guarded by the monitor of its stripe
+	private static class Entry {
+
+		private long time;
+		private boolean completed = false;
+
+		Entry(long time) {
+			this.time = time;
+		}
+
+	}
+
+}
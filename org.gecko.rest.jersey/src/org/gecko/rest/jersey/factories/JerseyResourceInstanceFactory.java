@@ -13,27 +13,43 @@
  */
 package org.gecko.rest.jersey.factories;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import org.gecko.rest.jersey.binder.PrototypeServiceBinder;
+import org.gecko.rest.jersey.provider.JerseyConstants;
 import org.gecko.rest.jersey.provider.application.JaxRsApplicationContentProvider;
 import org.glassfish.jersey.internal.inject.InjectionManager;
+import org.glassfish.jersey.server.ContainerRequest;
 import org.osgi.framework.ServiceObjects;
 
 /**
  * HK2 creation factory for JaxRs resource instance. These factory instances will be bound using the {@link PrototypeServiceBinder}.
  * The factory is responsible to create or releasing a certain JaxRs resource instances, at request time.
+ * If the prototype resource has the service property {@link JerseyConstants#JERSEY_RESOURCE_POOL_SIZE}, the released instances
+ * are kept in a {@link ResourceInstancePool} and reused for the next requests. Resources with injection points, like <code>@QueryParam</code>
+ * or <code>@Context</code> fields, are never pooled, because a reused instance would keep the values of the previous request.
+ * The live instances are tracked by identity in an {@link InstanceTracker}, so that they can be released, when the factory
+ * is disposed or when Jersey does not dispose them after their request finished.
  * @param <T> the type of the resource, which is the class type
  * @author Mark Hoffmann
  * @since 12.07.2017
  */
 public class JerseyResourceInstanceFactory<T> implements InjectableFactory<T> {
 
-	private volatile Set<T> instanceCache = new HashSet<>();
+	private static final Logger logger = Logger.getLogger("jersey.resourceFactory");
+	private final InstanceTracker<T> instanceCache = new InstanceTracker<>();
+	private final AtomicLong reaped = new AtomicLong();
+	private volatile boolean disposed = false;
+	// the instances are assigned to their requests, while the reaper is enabled
+	private volatile boolean trackRequests = false;
 	private JaxRsApplicationContentProvider provider;
 	private ServiceObjects<T> serviceObjects;
 	private InjectionManager injectionManager;
+	private final ResourceInstancePool<T> pool;
 	
 	/**
 	 * Creates a new instance. A service reference will be cached lazily, on the first request
@@ -42,6 +58,7 @@ public class JerseyResourceInstanceFactory<T> implements InjectableFactory<T> {
 	public JerseyResourceInstanceFactory(JaxRsApplicationContentProvider provider) {
 		this.provider = provider;
 		serviceObjects = provider.getProviderObject();;
+		pool = createPool(provider);
 	}
 
 	/* (non-Javadoc)
@@ -62,15 +79,17 @@ public class JerseyResourceInstanceFactory<T> implements InjectableFactory<T> {
 			if (serviceObjects == null) {
 				return null;
 			}
-			T instance = serviceObjects.getService();
-			if(instance == null) {
-				return null;
-			}
-			if(injectionManager != null) {
-				injectionManager.inject(instance);
+			T instance = pool == null ? null : pool.borrow();
+			if (instance == null) {
+				instance = serviceObjects.getService();
+				if(instance == null) {
+					return null;
+				}
+				InjectionPlan.inject(instance, injectionManager);
 			}
-			synchronized (instanceCache) {
-				instanceCache.add(instance);
+			instanceCache.add(instance, System.nanoTime());
+			if (trackRequests) {
+				trackRequest(instance);
 			}
 			return (T)instance;
 		} catch (Exception e) {
@@ -86,11 +105,74 @@ public class JerseyResourceInstanceFactory<T> implements InjectableFactory<T> {
 	 * After calling dispose, a new instance has to be created
 	 */
 	public void dispose() {
+		disposed = true;
 		// release all cached service instances
-		if (serviceObjects != null) {
-			instanceCache.forEach((i) -> serviceObjects.ungetService(i));
+		instanceCache.clear().forEach(this::release);
+		if (pool != null) {
+			pool.close();
 		}
-		instanceCache.clear();
+	}
+	
+	/**
+	 * Returns <code>true</code>, if the factory was disposed
+	 * @return <code>true</code>, if the factory was disposed
+	 */
+	public boolean isDisposed() {
+		return disposed;
+	}
+	
+	/**
+	 * Marks a live instance as completed, because its request finished. Jersey disposes the instance shortly afterwards,
+	 * otherwise it is released by {@link #reap(long)}
+	 * @param instance the instance
+	 */
+	public void complete(T instance) {
+		instanceCache.markCompleted(instance, System.nanoTime());
+	}
+	
+	/**
+	 * Releases the live instances, whose request completed longer ago than the given age, but which were not disposed.
+	 * Instances of requests, that are still running, are never released. The released instances are not pooled.
+	 * @param maxAge the age in nanoseconds
+	 * @return the number of released instances
+	 */
+	public int reap(long maxAge) {
+		List<T> leaked = instanceCache.removeCompletedBefore(System.nanoTime() - maxAge);
+		leaked.forEach(this::release);
+		reaped.addAndGet(leaked.size());
+		return leaked.size();
+	}
+	
+	/**
+	 * Releases the pooled instances, that exceeded their idle timeout
+	 * @return the number of released instances
+	 */
+	public int evictIdle() {
+		return pool == null ? 0 : pool.evictExpired();
+	}
+	
+	/**
+	 * Enables the assignment of the provided instances to their requests, which is needed by {@link #reap(long)}
+	 * @param trackRequests <code>true</code> to assign the instances to their requests
+	 */
+	void setTrackRequests(boolean trackRequests) {
+		this.trackRequests = trackRequests;
+	}
+	
+	/**
+	 * Returns the number of instances, that were released by {@link #reap(long)}
+	 * @return the number of reaped instances
+	 */
+	public long getReapedInstanceCount() {
+		return reaped.get();
+	}
+	
+	/**
+	 * Returns the pool of the resource instances
+	 * @return the pool or <code>null</code>, if the instances are not pooled
+	 */
+	public ResourceInstancePool<T> getPool() {
+		return pool;
 	}
 	
 	/**
@@ -101,6 +183,41 @@ public class JerseyResourceInstanceFactory<T> implements InjectableFactory<T> {
 		return instanceCache.size();
 	}
 
+	/**
+	 * Registers the instance at the current request, so that the container marks it as completed, when the request finished.
+	 * Instances, that are provided outside of a request, are never completed
+	 * @param instance the instance
+	 */
+	private void trackRequest(T instance) {
+		InjectionManager manager = injectionManager;
+		if (manager == null) {
+			return;
+		}
+		try {
+			ContainerRequest request = manager.getInstance(ContainerRequest.class);
+			if (request != null) {
+				RequestInstances.add(request, ()->complete(instance));
+			}
+		} catch (RuntimeException e) {
+			logger.log(Level.FINE, "No request for the instance of resource " + provider.getId(), e);
+		}
+	}
+
+	/**
+	 * Ungets an instance, that is not used anymore
+	 * @param instance the instance
+	 */
+	private void release(T instance) {
+		if (serviceObjects == null) {
+			return;
+		}
+		try {
+			serviceObjects.ungetService(instance);
+		} catch (Exception e) {
+			logger.log(Level.FINE, "Cannot release the instance " + instance + " of resource " + provider.getId(), e);
+		}
+	}
+
 	/**
 	 * Disposes a service instance. If it is a prototype instance, it will be removed from the cache.
 	 * @param instance the instance to be released
@@ -110,6 +227,10 @@ public class JerseyResourceInstanceFactory<T> implements InjectableFactory<T> {
 			return;
 		}
 		if (instanceCache.remove(instance)) {
+			if (pool != null) {
+				pool.giveBack(instance);
+				return;
+			}
 			try {
 				serviceObjects.ungetService(instance);
 			} catch (Exception e) {
@@ -121,6 +242,40 @@ public class JerseyResourceInstanceFactory<T> implements InjectableFactory<T> {
 		}
 	}
 	
+	/**
+	 * Creates the pool for prototype resources, that have a pool size
+	 * @param provider the resource provider
+	 * @return the pool or <code>null</code>
+	 */
+	private ResourceInstancePool<T> createPool(JaxRsApplicationContentProvider provider) {
+		if (serviceObjects == null || provider.isSingleton()) {
+			return null;
+		}
+		Map<String, Object> properties = provider.getProperties();
+		Object size = properties == null ? null : properties.get(JerseyConstants.JERSEY_RESOURCE_POOL_SIZE);
+		if (size == null) {
+			return null;
+		}
+		Class<?> type = provider.getObjectClass();
+		if (type != null && InjectionPlan.forClass(type).isInjectionRequired()) {
+			logger.warning("The resource " + provider.getId() + " has injection points, its instances are not pooled");
+			return null;
+		}
+		Object timeout = properties.get(JerseyConstants.JERSEY_RESOURCE_POOL_IDLE_TIMEOUT);
+		try {
+			int maxIdle = Integer.parseInt(size.toString());
+			long idleTimeout = timeout == null ? JerseyConstants.WHITEBOARD_DEFAULT_RESOURCE_POOL_IDLE_TIMEOUT : Long.parseLong(timeout.toString());
+			if (maxIdle <= 0) {
+				return null;
+			}
+			ServiceObjects<T> so = serviceObjects;
+			return new ResourceInstancePool<>(maxIdle, idleTimeout, so::ungetService);
+		} catch (NumberFormatException e) {
+			logger.log(Level.WARNING, "Invalid pool configuration for resource " + provider.getId() + ", the instances are not pooled", e);
+			return null;
+		}
+	}
+
 	/* 
 	 * (non-Javadoc)
 	 * @see org.gecko.rest.jersey.factories.InjectableFactory#setInjectionManager(org.glassfish.jersey.internal.inject.InjectionManager)
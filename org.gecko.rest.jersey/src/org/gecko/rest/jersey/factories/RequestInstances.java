@@ -0,0 +1,89 @@
+/**
+ * Copyright (c) 2012 - 2022 Data In Motion and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Data In Motion - initial API and implementation
+ *     Stefan Bishof - API and implementation
+ *     Tim Ward - implementation
+ */
+package org.gecko.rest.jersey.factories;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.glassfish.jersey.server.ContainerRequest;
+
+/**
+ * The prototype resource instances, that were provided for one request. It is kept as a property of the Jersey request,
+ * so that the container can mark the instances as completed, when the response was committed or failed, or when the
+ * asynchronous processing finished. Only completed instances can be released by the {@link ResourceInstanceReaper}.
+ * @author agent
+ * @since 18.10.2026
+ */
+public final class RequestInstances {
+
+	/** Request property, that holds the instances of the request */
+	public static final String REQUEST_PROPERTY = RequestInstances.class.getName();
+	private final List<Runnable> completions = new ArrayList<>(2);
+	private boolean completed = false;
+
+	private RequestInstances() {
+	}
+
+	/**
+	 * Adds an instance to the request
+	 * @param request the Jersey request
+	 * @param completion marks the instance as completed
+	 */
+	static void add(ContainerRequest request, Runnable completion) {
+		Object value = request.getProperty(REQUEST_PROPERTY);
+		RequestInstances instances;
+		if (value instanceof RequestInstances) {
+			instances = (RequestInstances) value;
+		} else {
+			instances = new RequestInstances();
+			request.setProperty(REQUEST_PROPERTY, instances);
+		}
+		instances.add(completion);
+	}
+
+	/**
+	 * Marks the instances of a request as completed
+	 * @param value the value of the request property {@link #REQUEST_PROPERTY}, can be <code>null</code>
+	 */
+	public static void complete(Object value) {
+		if (value instanceof RequestInstances) {
+			((RequestInstances) value).complete();
+		}
+	}
+
+	private void add(Runnable completion) {
+		synchronized (completions) {
+			if (!completed) {
+				completions.add(completion);
+				return;
+			}
+		}
+		// the request already finished
+		completion.run();
+	}
+
+	private void complete() {
+		List<Runnable> pending;
+		synchronized (completions) {
+			if (completed) {
+				return;
+			}
+			completed = true;
+			pending = new ArrayList<>(completions);
+			completions.clear();
+		}
+		pending.forEach(Runnable::run);
+	}
+
+}
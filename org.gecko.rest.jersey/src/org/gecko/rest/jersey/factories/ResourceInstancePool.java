@@ -0,0 +1,210 @@
+/**
+ * Copyright (c) 2012 - 2022 Data In Motion and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Data In Motion - initial API and implementation
+ *     Stefan Bishof - API and implementation
+ *     Tim Ward - implementation
+ */
+package org.gecko.rest.jersey.factories;
+
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Bounded pool of idle resource instances. The most recently returned instance is borrowed first.
+ * Instances, that were idle longer than the idle timeout, are released, when the pool is used the next time
+ * or when {@link #evictExpired()} is called.
+ * Instances, that do not fit into the pool, are released immediately.
+ * @param <T> the type of the instances
+ * @author agent
+ * @since 18.10.2026
+ */
+public class ResourceInstancePool<T> {
+
+	private static final Logger logger = Logger.getLogger("jersey.resourcePool");
+	private final Deque<IdleInstance<T>> idle = new ConcurrentLinkedDeque<>();
+	private final AtomicInteger idleCount = new AtomicInteger();
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong evictions = new AtomicLong();
+	private final int maxIdle;
+	private final long idleTimeout;
+	private final Consumer<T> releaser;
+	private volatile boolean closed = false;
+
+	/**
+	 * Creates a new instance.
+	 * @param maxIdle the maximum number of idle instances
+	 * @param idleTimeout the time in milliseconds, an instance stays idle, before it is released. 0 or less keeps the instances
+	 * @param releaser releases an instance, that leaves the pool
+	 */
+	public ResourceInstancePool(int maxIdle, long idleTimeout, Consumer<T> releaser) {
+		this.maxIdle = maxIdle;
+		this.idleTimeout = idleTimeout <= 0 ? 0 : TimeUnit.MILLISECONDS.toNanos(idleTimeout);
+		this.releaser = releaser;
+	}
+
+	/**
+	 * Borrows an idle instance
+	 * @return the instance or <code>null</code>, if a new instance has to be created
+	 */
+	public T borrow() {
+		long now = System.nanoTime();
+		evictExpired(now);
+		IdleInstance<T> entry = idle.pollFirst();
+		if (entry == null) {
+			misses.incrementAndGet();
+			return null;
+		}
+		idleCount.decrementAndGet();
+		hits.incrementAndGet();
+		return entry.instance;
+	}
+
+	/**
+	 * Returns a borrowed or new instance. If the pool is full or closed, the instance is released
+	 * @param instance the instance
+	 */
+	public void giveBack(T instance) {
+		if (instance == null) {
+			return;
+		}
+		long now = System.nanoTime();
+		evictExpired(now);
+		if (closed) {
+			release(instance);
+			return;
+		}
+		if (idleCount.incrementAndGet() > maxIdle) {
+			idleCount.decrementAndGet();
+			release(instance);
+			return;
+		}
+		idle.offerFirst(new IdleInstance<>(instance, now));
+		// the pool may have been closed meanwhile
+		if (closed) {
+			clear();
+		}
+	}
+
+	/**
+	 * Releases the instances, that were idle longer than the idle timeout
+	 * @return the number of released instances
+	 */
+	public int evictExpired() {
+		return evictExpired(System.nanoTime());
+	}
+
+	/**
+	 * Closes the pool and releases all idle instances. Instances, that are given back later, are released immediately
+	 */
+	public void close() {
+		closed = true;
+		clear();
+	}
+
+	/**
+	 * Returns the number of borrows, that were served by an idle instance
+	 * @return the number of hits
+	 */
+	public long getHits() {
+		return hits.get();
+	}
+
+	/**
+	 * Returns the number of borrows, that required a new instance
+	 * @return the number of misses
+	 */
+	public long getMisses() {
+		return misses.get();
+	}
+
+	/**
+	 * Returns the number of instances, that were released because of the idle timeout
+	 * @return the number of evictions
+	 */
+	public long getEvictions() {
+		return evictions.get();
+	}
+
+	/**
+	 * Returns the current number of idle instances
+	 * @return the number of idle instances
+	 */
+	public int getIdleCount() {
+		return Math.max(0, idleCount.get());
+	}
+
+	/**
+	 * Returns the maximum number of idle instances
+	 * @return the maximum number of idle instances
+	 */
+	public int getMaxIdle() {
+		return maxIdle;
+	}
+
+	/**
+	 * Releases the oldest instances, that exceeded the idle timeout
+	 * @param now the current time in nanoseconds
+	 */
+	private int evictExpired(long now) {
+		if (idleTimeout == 0) {
+			return 0;
+		}
+		int count = 0;
+		IdleInstance<T> oldest;
+		while ((oldest = idle.peekLast()) != null && now - oldest.since > idleTimeout) {
+			if (idle.removeLastOccurrence(oldest)) {
+				idleCount.decrementAndGet();
+				evictions.incrementAndGet();
+				release(oldest.instance);
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private void clear() {
+		IdleInstance<T> entry;
+		while ((entry = idle.pollFirst()) != null) {
+			idleCount.decrementAndGet();
+			release(entry.instance);
+		}
+	}
+
+	private void release(T instance) {
+		try {
+			releaser.accept(instance);
+		} catch (Exception e) {
+			logger.log(Level.FINE, "Cannot release the pooled instance " + instance, e);
+		}
+	}
+
+	/**
+	 * An idle instance with the time, it was returned
+	 */
+	private static class IdleInstance<T> {
+
+		private final T instance;
+		private final long since;
+
+		IdleInstance(T instance, long since) {
+			this.instance = instance;
+			this.since = since;
+		}
+
+	}
+
+}
@@ -0,0 +1,177 @@
+/**
+ * Copyright (c) 2012 - 2022 Data In Motion and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Data In Motion - initial API and implementation
+ *     Stefan Bishof - API and implementation
+ *     Tim Ward - implementation
+ */
+package org.gecko.rest.jersey.factories;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * Keeps the resource instance factories of a runtime, to report the number of live resource instances and to release
+ * the instances, that were not disposed by Jersey after their request finished.
+ * The container marks the instances of a request as completed, when the response is committed or failed, or when the
+ * asynchronous processing completed or timed out. An instance is considered as leaked, when it is still live the maximum age
+ * after this mark. Instances of running requests, e.g. long polling or server sent events, are never released.
+ * The check runs in the background, every half of the maximum age, and also releases the pooled instances, that exceeded
+ * their idle timeout. With a maximum age of 0, there is no check.
+ * @author agent
+ * @since 18.10.2026
+ */
+public class ResourceInstanceReaper {
+
+	private static final Logger logger = Logger.getLogger("jersey.resourceFactory");
+	private final Set<JerseyResourceInstanceFactory<?>> factories = ConcurrentHashMap.newKeySet();
+	private final AtomicLong reaped = new AtomicLong();
+	private long maxAge = 0;
+	private ScheduledExecutorService scheduler;
+	private ScheduledFuture<?> sweep;
+	private volatile Runnable sweepListener;
+
+	/**
+	 * Adds a factory. Disposed factories are removed
+	 * @param factory the factory
+	 */
+	public void register(JerseyResourceInstanceFactory<?> factory) {
+		factories.removeIf(JerseyResourceInstanceFactory::isDisposed);
+		if (factory != null) {
+			factories.add(factory);
+			factory.setTrackRequests(getMaxAge() > 0);
+		}
+	}
+
+	/**
+	 * Sets a listener, that is called after each check, e.g. to publish the instance counts
+	 * @param sweepListener the listener or <code>null</code>
+	 */
+	public void setSweepListener(Runnable sweepListener) {
+		this.sweepListener = sweepListener;
+	}
+
+	/**
+	 * Sets the maximum age and (re-)schedules the check
+	 * @param maxAge the time in milliseconds, after which a live instance is released, 0 disables the release
+	 */
+	public synchronized void setMaxAge(long maxAge) {
+		long age = Math.max(0, maxAge);
+		if (age == this.maxAge) {
+			return;
+		}
+		this.maxAge = age;
+		factories.forEach((f)->f.setTrackRequests(age > 0));
+		if (sweep != null) {
+			sweep.cancel(false);
+			sweep = null;
+		}
+		if (age == 0) {
+			shutdownScheduler();
+			return;
+		}
+		if (scheduler == null) {
+			scheduler = Executors.newSingleThreadScheduledExecutor((r)->{
+				Thread thread = new Thread(r, "JaxRsWhiteboardReaper");
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		long period = Math.max(1, age / 2);
+		sweep = scheduler.scheduleWithFixedDelay(this::reap, period, period, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Returns the maximum age
+	 * @return the maximum age in milliseconds, 0 if disabled
+	 */
+	public synchronized long getMaxAge() {
+		return maxAge;
+	}
+
+	/**
+	 * Releases the completed instances, that exceeded the maximum age, and the expired pooled instances.
+	 * Removes the disposed factories
+	 * @return the number of released live instances
+	 */
+	public int reap() {
+		long age = getMaxAge();
+		int count = 0;
+		for (JerseyResourceInstanceFactory<?> factory : factories) {
+			if (factory.isDisposed()) {
+				factories.remove(factory);
+			} else {
+				if (age > 0) {
+					count += factory.reap(TimeUnit.MILLISECONDS.toNanos(age));
+				}
+				factory.evictIdle();
+			}
+		}
+		if (count > 0) {
+			reaped.addAndGet(count);
+			int released = count;
+			logger.warning(()->"Released " + released + " resource instances, that were not disposed within " + age + " ms after their request");
+		}
+		Runnable listener = sweepListener;
+		if (listener != null) {
+			listener.run();
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the number of live resource instances of all factories
+	 * @return the number of live instances
+	 */
+	public int getLiveInstanceCount() {
+		int count = 0;
+		for (JerseyResourceInstanceFactory<?> factory : factories) {
+			if (!factory.isDisposed()) {
+				count += factory.getCacheInstanceCount();
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the number of instances, that were released, because they exceeded the maximum age
+	 * @return the number of released instances
+	 */
+	public long getReapedCount() {
+		return reaped.get();
+	}
+
+	/**
+	 * Stops the check and forgets all factories
+	 */
+	public synchronized void close() {
+		if (sweep != null) {
+			sweep.cancel(false);
+			sweep = null;
+		}
+		maxAge = 0;
+		shutdownScheduler();
+		factories.clear();
+		sweepListener = null;
+	}
+
+	private void shutdownScheduler() {
+		if (scheduler != null) {
+			scheduler.shutdown();
+			scheduler = null;
+		}
+	}
+
+}
@@ -45,6 +45,29 @@ public class JerseyHelper {
 		return value == null ? defaultValue : (T)value;
 	}
 
+	/**
+	 * Returns the property as long value. Numbers and their {@link String} representation are supported.
+	 * If the property is not available or cannot be parsed, the default value will be returned.
+	 * @param context the component context
+	 * @param key the properties key
+	 * @param defaultValue the default value
+	 * @return the value or defaultValue
+	 */
+	public static long getLongPropertyWithDefault(ComponentContext context, String key, long defaultValue) {
+		Object value = getPropertyWithDefault(context, key, null);
+		if (value instanceof Number) {
+			return ((Number) value).longValue();
+		}
+		if (value != null) {
+			try {
+				return Long.parseLong(value.toString().trim());
+			} catch (NumberFormatException e) {
+				return defaultValue;
+			}
+		}
+		return defaultValue;
+	}
+
 	/**
 	 * Returns <code>true</code>, if the application does not contain any resources or extensions
 	 * @param application the application to check
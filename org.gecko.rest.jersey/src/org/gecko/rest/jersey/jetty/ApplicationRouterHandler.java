@@ -0,0 +1,211 @@
+/**
+ * Copyright (c) 2012 - 2022 Data In Motion and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Data In Motion - initial API and implementation
+ *     Stefan Bishof - API and implementation
+ *     Tim Ward - implementation
+ */
+package org.gecko.rest.jersey.jetty;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.jetty.server.Handler;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.handler.AbstractHandlerContainer;
+
+/**
+ * Jetty handler, that routes the requests to the handlers of the applications by the longest matching context path.
+ * The context paths are kept in a trie of path segments, so that a request is routed in constant time per segment
+ * of its path, independent of the number of applications. If the handler of the longest matching path does not handle
+ * the request, the handlers of the shorter matching paths are tried. The trie is updated in place, when applications
+ * are added or removed.
+ * @author agent
+ * @since 18.10.2026
+ */
+public class ApplicationRouterHandler extends AbstractHandlerContainer {
+
+	private final Node root = new Node(null);
+
+	/**
+	 * Adds the handler of an application. The handler is managed by this router, so that it is started and stopped with it.
+	 * If the router is already running, the handler has to be started by the caller.
+	 * @param contextPath the context path of the application, e.g. <code>/rest/app</code>
+	 * @param handler the handler
+	 * @param fallback <code>true</code>, if other handlers for the same context path are tried first, like for the default application
+	 */
+	public void addHandler(String contextPath, Handler handler, boolean fallback) {
+		if (handler.getServer() == null) {
+			handler.setServer(getServer());
+		}
+		synchronized (root) {
+			Node node = root;
+			for (String segment : split(contextPath)) {
+				node = node.children.computeIfAbsent(segment, Node::new);
+			}
+			if (fallback) {
+				node.handlers.add(handler);
+			} else {
+				node.handlers.add(0, handler);
+			}
+		}
+		addBean(handler, true);
+	}
+
+	/**
+	 * Removes the handler of an application. The handler is not stopped.
+	 * @param handler the handler to remove
+	 * @return <code>true</code>, if the handler was removed
+	 */
+	public boolean removeHandler(Handler handler) {
+		boolean removed;
+		synchronized (root) {
+			removed = remove(root, handler);
+		}
+		if (removed) {
+			removeBean(handler);
+		}
+		return removed;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.jetty.server.Handler#handle(java.lang.String, org.eclipse.jetty.server.Request, javax.servlet.http.HttpServletRequest, javax.servlet.http.HttpServletResponse)
+	 */
+	@Override
+	public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response)
+			throws IOException, ServletException {
+		if (!isStarted()) {
+			return;
+		}
+		// the nodes along the path of the target, that have handlers
+		Node[] matches = new Node[8];
+		int count = 0;
+		Node node = root;
+		int start = 0;
+		int length = target == null ? 0 : target.length();
+		while (node != null) {
+			if (!node.handlers.isEmpty()) {
+				if (count == matches.length) {
+					Node[] grown = new Node[count * 2];
+					System.arraycopy(matches, 0, grown, 0, count);
+					matches = grown;
+				}
+				matches[count++] = node;
+			}
+			while (start < length && target.charAt(start) == '/') {
+				start++;
+			}
+			if (start >= length || node.children.isEmpty()) {
+				break;
+			}
+			int end = target.indexOf('/', start);
+			end = end < 0 ? length : end;
+			node = node.children.get(target.substring(start, end));
+			start = end;
+		}
+		for (int i = count - 1; i >= 0; i--) {
+			for (Handler handler : matches[i].handlers) {
+				handler.handle(target, baseRequest, request, response);
+				if (baseRequest.isHandled()) {
+					return;
+				}
+			}
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.jetty.server.HandlerContainer#getHandlers()
+	 */
+	@Override
+	public Handler[] getHandlers() {
+		List<Handler> handlers = new ArrayList<>();
+		collect(root, handlers);
+		return handlers.toArray(new Handler[handlers.size()]);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.jetty.server.handler.AbstractHandlerContainer#expandChildren(java.util.List, java.lang.Class)
+	 */
+	@Override
+	protected void expandChildren(List<Handler> list, Class<?> byClass) {
+		for (Handler handler : getHandlers()) {
+			expandHandler(handler, list, byClass);
+		}
+	}
+
+	private void collect(Node node, List<Handler> handlers) {
+		handlers.addAll(node.handlers);
+		node.children.values().forEach((c)->collect(c, handlers));
+	}
+
+	/**
+	 * Removes the handler from the sub tree and prunes the empty nodes. Must be called holding the root monitor
+	 * @param node the node
+	 * @param handler the handler to remove
+	 * @return <code>true</code>, if the handler was found
+	 */
+	private boolean remove(Node node, Handler handler) {
+		if (node.handlers.remove(handler)) {
+			return true;
+		}
+		for (Node child : node.children.values()) {
+			if (remove(child, handler)) {
+				if (child.handlers.isEmpty() && child.children.isEmpty()) {
+					node.children.remove(child.segment);
+				}
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the segments of a path
+	 * @param path the path, can be <code>null</code>
+	 * @return the non empty segments
+	 */
+	static List<String> split(String path) {
+		List<String> segments = new ArrayList<>();
+		if (path != null) {
+			for (String segment : path.split("/")) {
+				if (!segment.isEmpty()) {
+					segments.add(segment);
+				}
+			}
+		}
+		return segments;
+	}
+
+	/**
+	 * A path segment with the handlers of the applications with this context path
+	 */
+	private static class Node {
+
+		private final String segment;
+		private final Map<String, Node> children = new ConcurrentHashMap<>();
+		private final List<Handler> handlers = new CopyOnWriteArrayList<>();
+
+		Node(String segment) {
+			this.segment = segment;
+		}
+
+	}
+
+}
@@ -0,0 +1,349 @@
+/**
+ * Copyright (c) 2012 - 2022 Data In Motion and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Data In Motion - initial API and implementation
+ *     Stefan Bishof - API and implementation
+ *     Tim Ward - implementation
+ */
+package org.gecko.rest.jersey.jetty;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.security.Principal;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.ws.rs.core.SecurityContext;
+
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.gecko.rest.jersey.runtime.servlet.WhiteboardServletContainer;
+import org.glassfish.jersey.internal.MapPropertiesDelegate;
+import org.glassfish.jersey.server.ContainerException;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.spi.ContainerResponseWriter;
+
+/**
+ * Jetty {@link org.eclipse.jetty.server.Handler}, that passes the requests of an application directly to the Jersey
+ * application handler of a {@link WhiteboardServletContainer} in native mode. In contrast to a servlet context handler,
+ * there is no servlet holder, session handler or filter chain and the requests are not adapted by the Jersey servlet layer.
+ * This is similar to the Jersey Jetty container.
+ * @author agent
+ * @since 18.10.2026
+ */
+public class JerseyJettyHandler extends AbstractHandler {
+
+	private static final Logger logger = Logger.getLogger("jersey.jettyHandler");
+	private final WhiteboardServletContainer container;
+	private final String contextPath;
+	private final String basePath;
+	private final boolean shared;
+
+	/**
+	 * Creates a new instance.
+	 * @param container the container, that is initialized in native mode, when the handler starts
+	 * @param contextPath the context path of the application, e.g. <code>/rest/app</code>
+	 */
+	public JerseyJettyHandler(WhiteboardServletContainer container, String contextPath) {
+		this(container, contextPath, contextPath, false);
+	}
+
+	/**
+	 * Creates a handler for an application, that is served by a container of several applications. The resources of the
+	 * application are registered below its path in the container. The container is neither initialized nor destroyed by the handler.
+	 * @param container the shared container, that is initialized in native mode
+	 * @param contextPath the context path of the application, e.g. <code>/rest/app</code>
+	 * @param basePath the context path of the container, e.g. <code>/rest</code>
+	 */
+	public JerseyJettyHandler(WhiteboardServletContainer container, String contextPath, String basePath) {
+		this(container, contextPath, basePath, true);
+	}
+
+	private JerseyJettyHandler(WhiteboardServletContainer container, String contextPath, String basePath, boolean shared) {
+		this.container = container;
+		this.contextPath = contextPath == null || "/".equals(contextPath) ? "" : contextPath;
+		this.basePath = basePath == null || "/".equals(basePath) ? "" : basePath;
+		this.shared = shared;
+	}
+
+	/**
+	 * Returns the container
+	 * @return the container
+	 */
+	public WhiteboardServletContainer getContainer() {
+		return container;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.jetty.server.handler.AbstractHandler#doStart()
+	 */
+	@Override
+	protected void doStart() throws Exception {
+		if (!shared) {
+			container.initNative();
+		}
+		super.doStart();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.jetty.server.handler.AbstractHandler#doStop()
+	 */
+	@Override
+	protected void doStop() throws Exception {
+		super.doStop();
+		if (!shared) {
+			container.destroy();
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.jetty.server.Handler#handle(java.lang.String, org.eclipse.jetty.server.Request, javax.servlet.http.HttpServletRequest, javax.servlet.http.HttpServletResponse)
+	 */
+	@Override
+	public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response)
+			throws IOException, ServletException {
+		if (baseRequest.isHandled() || !matches(target)) {
+			return;
+		}
+		baseRequest.setHandled(true);
+		String authority = request.getScheme() + "://" + request.getServerName() + ":" + request.getServerPort();
+		URI baseUri = URI.create(authority + basePath + "/");
+		String query = request.getQueryString();
+		URI requestUri = URI.create(authority + request.getRequestURI() + (query == null ? "" : "?" + query));
+		ContainerRequest containerRequest = new ContainerRequest(baseUri, requestUri, request.getMethod(),
+				new JettySecurityContext(request), new MapPropertiesDelegate(), null);
+		containerRequest.setEntityStream(request.getInputStream());
+		Enumeration<String> names = request.getHeaderNames();
+		while (names.hasMoreElements()) {
+			String name = names.nextElement();
+			Enumeration<String> values = request.getHeaders(name);
+			while (values.hasMoreElements()) {
+				containerRequest.header(name, values.nextElement());
+			}
+		}
+		containerRequest.setWriter(new JettyResponseWriter(request, response));
+		if (!container.handle(containerRequest)) {
+			response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+		}
+	}
+
+	/**
+	 * Returns <code>true</code>, if the target belongs to the context path of the application
+	 * @param target the request path
+	 * @return <code>true</code>, if the request is handled by this handler
+	 */
+	boolean matches(String target) {
+		if (contextPath.isEmpty()) {
+			return true;
+		}
+		return target.startsWith(contextPath) && (target.length() == contextPath.length() || target.charAt(contextPath.length()) == '/');
+	}
+
+	/**
+	 * Writes the Jersey response to the Jetty response
+	 */
+	private static class JettyResponseWriter implements ContainerResponseWriter {
+
+		private final HttpServletRequest request;
+		private final HttpServletResponse response;
+		private volatile AsyncContext asyncContext;
+
+		JettyResponseWriter(HttpServletRequest request, HttpServletResponse response) {
+			this.request = request;
+			this.response = response;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.glassfish.jersey.server.spi.ContainerResponseWriter#writeResponseStatusAndHeaders(long, org.glassfish.jersey.server.ContainerResponse)
+		 */
+		@Override
+		public OutputStream writeResponseStatusAndHeaders(long contentLength, ContainerResponse context) throws ContainerException {
+			response.setStatus(context.getStatus());
+			if (contentLength != -1) {
+				response.setContentLengthLong(contentLength);
+			}
+			for (Map.Entry<String, List<String>> header : context.getStringHeaders().entrySet()) {
+				for (String value : header.getValue()) {
+					response.addHeader(header.getKey(), value);
+				}
+			}
+			try {
+				return response.getOutputStream();
+			} catch (IOException e) {
+				throw new ContainerException("Cannot get the output stream of the response", e);
+			}
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.glassfish.jersey.server.spi.ContainerResponseWriter#suspend(long, java.util.concurrent.TimeUnit, org.glassfish.jersey.server.spi.ContainerResponseWriter.TimeoutHandler)
+		 */
+		@Override
+		public boolean suspend(long timeOut, TimeUnit timeUnit, TimeoutHandler timeoutHandler) {
+			if (asyncContext != null) {
+				return false;
+			}
+			asyncContext = request.startAsync();
+			asyncContext.setTimeout(timeOut <= 0 ? 0 : timeUnit.toMillis(timeOut));
+			asyncContext.addListener(new AsyncListener() {
+
+				@Override
+				public void onTimeout(AsyncEvent event) throws IOException {
+					timeoutHandler.onTimeout(JettyResponseWriter.this);
+				}
+
+				@Override
+				public void onStartAsync(AsyncEvent event) throws IOException {
+				}
+
+				@Override
+				public void onError(AsyncEvent event) throws IOException {
+				}
+
+				@Override
+				public void onComplete(AsyncEvent event) throws IOException {
+				}
+
+			});
+			return true;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.glassfish.jersey.server.spi.ContainerResponseWriter#setSuspendTimeout(long, java.util.concurrent.TimeUnit)
+		 */
+		@Override
+		public void setSuspendTimeout(long timeOut, TimeUnit timeUnit) throws IllegalStateException {
+			if (asyncContext == null) {
+				throw new IllegalStateException("The request is not suspended");
+			}
+			asyncContext.setTimeout(timeOut <= 0 ? 0 : timeUnit.toMillis(timeOut));
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.glassfish.jersey.server.spi.ContainerResponseWriter#commit()
+		 */
+		@Override
+		public void commit() {
+			try {
+				response.flushBuffer();
+			} catch (IOException e) {
+				logger.log(Level.FINE, "Cannot flush the response", e);
+			} finally {
+				complete();
+			}
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.glassfish.jersey.server.spi.ContainerResponseWriter#failure(java.lang.Throwable)
+		 */
+		@Override
+		public void failure(Throwable error) {
+			logger.log(Level.SEVERE, "Error handling a request", error);
+			try {
+				if (!response.isCommitted()) {
+					response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+				}
+			} catch (IOException | IllegalStateException e) {
+				logger.log(Level.FINE, "Cannot send the error response", e);
+			} finally {
+				complete();
+			}
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.glassfish.jersey.server.spi.ContainerResponseWriter#enableResponseBuffering()
+		 */
+		@Override
+		public boolean enableResponseBuffering() {
+			return false;
+		}
+
+		private void complete() {
+			AsyncContext context = asyncContext;
+			if (context != null) {
+				try {
+					context.complete();
+				} catch (IllegalStateException e) {
+					logger.log(Level.FINE, "The asynchronous request was already completed", e);
+				}
+			}
+		}
+
+	}
+
+	/**
+	 * Security context of a Jetty request
+	 */
+	private static class JettySecurityContext implements SecurityContext {
+
+		private final HttpServletRequest request;
+
+		JettySecurityContext(HttpServletRequest request) {
+			this.request = request;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see javax.ws.rs.core.SecurityContext#getUserPrincipal()
+		 */
+		@Override
+		public Principal getUserPrincipal() {
+			return request.getUserPrincipal();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see javax.ws.rs.core.SecurityContext#isUserInRole(java.lang.String)
+		 */
+		@Override
+		public boolean isUserInRole(String role) {
+			return request.isUserInRole(role);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see javax.ws.rs.core.SecurityContext#isSecure()
+		 */
+		@Override
+		public boolean isSecure() {
+			return request.isSecure();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see javax.ws.rs.core.SecurityContext#getAuthenticationScheme()
+		 */
+		@Override
+		public String getAuthenticationScheme() {
+			return request.getAuthType();
+		}
+
+	}
+
+}
@@ -23,7 +23,8 @@ import org.eclipse.jetty.util.component.LifeCycle.Listener;
 import org.gecko.rest.jersey.runtime.JerseyServiceRuntime;
 
 /**
- * Runnable to start a Jetty server in a different thread
+ * Runnable to start a Jetty server. The start is signalled through the life cycle of the server.
+ * The server keeps running on its own thread pool, after this runnable returned.
  * 
  * @author Stefan Bischof, Mark Hoffmann
  * @since 12.07.2017
@@ -52,6 +53,7 @@ public class JettyServerRunnable implements Runnable {
 		if (server == null) {
 			throwable = new RuntimeException("No server available to start");
 			state = JerseyServiceRuntime.State.EXCEPTION;
+			awaitStart.countDown();
 			return;
 		}
 		try {
@@ -91,15 +93,15 @@ public class JettyServerRunnable implements Runnable {
 					logger.info("lifeCycleFailure");
 					state = JerseyServiceRuntime.State.EXCEPTION;
 					JettyServerRunnable.this.throwable = throwable;
+					awaitStart.countDown();
 				}
 			});
 			server.start();
-			server.join();
 		} catch (Exception e) {
 
 			throwable = new RuntimeException("Error starting Jersey server on port " + port, e);
 			state = JerseyServiceRuntime.State.EXCEPTION;
-		} finally {
+			awaitStart.countDown();
 			server.destroy();
 		}
 	}
@@ -129,7 +131,7 @@ public class JettyServerRunnable implements Runnable {
 			if (!started) {
 				logger.info("Starting Jersey server - not startet properly in estimated time");
 			}
-			return started;
+			return started && JerseyServiceRuntime.State.STARTED.equals(state);
 		} catch (InterruptedException e) {
 			if (JerseyServiceRuntime.State.STARTED.equals(state)) {
 				// InterruptedException did not hit the jettyServerRunnable
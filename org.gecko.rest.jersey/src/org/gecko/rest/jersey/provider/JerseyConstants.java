@@ -32,11 +32,66 @@ public interface JerseyConstants {
 	public static final String JERSEY_WHITEBOARD_NAME = "jersey.jaxrs.whiteboard.name";
 	public static final String JERSEY_STRICT_MODE = "jersey.jaxrs.whiteboard.strict";
 	public static final Object JERSEY_DISABLE_SESSION = "jersey.disable.sessions";
+	/** How the standalone runtime passes the requests to Jersey, {@link #CONTAINER_MODE_SERVLET} or {@link #CONTAINER_MODE_NATIVE} */
+	public static final String JERSEY_CONTAINER_MODE = "jersey.container.mode";
+	/** Each application is a servlet in its own Jetty servlet context */
+	public static final String CONTAINER_MODE_SERVLET = "servlet";
+	/** Each application is a plain Jetty handler, that passes the requests directly to Jersey */
+	public static final String CONTAINER_MODE_NATIVE = "native";
+	/** In native mode, applications with only whiteboard resources and the same extensions share one Jersey container */
+	public static final String JERSEY_CONSOLIDATE_APPLICATIONS = "jersey.consolidate.applications";
+	/** Time in milliseconds without further service changes, before a dispatch is executed. 0 dispatches each change immediately */
+	public static final String JERSEY_DISPATCH_QUIET_PERIOD = "jersey.dispatch.quiet.period";
+	/** Maximum time in milliseconds, a change is delayed by the quiet period */
+	public static final String JERSEY_DISPATCH_MAX_DELAY = "jersey.dispatch.max.delay";
+	/** Dispatches the changes on a dedicated thread, instead of the thread, that registered the service */
+	public static final String JERSEY_DISPATCH_THREAD = "jersey.dispatch.thread";
+	/** Maximum number of applications, that are registered or reloaded concurrently at the end of a dispatch */
+	public static final String JERSEY_DISPATCH_PARALLELISM = "jersey.dispatch.parallelism";
+	/** Holds back the dispatch during the start of a bundle, to dispatch all its services at once */
+	public static final String JERSEY_DISPATCH_BUNDLE_BATCHING = "jersey.dispatch.bundle.batching";
+	/** Maximum time in milliseconds, a starting bundle holds back the dispatch */
+	public static final String JERSEY_DISPATCH_BUNDLE_TIMEOUT = "jersey.dispatch.bundle.timeout";
+	/** LDAP filter for a {@link org.osgi.service.condition.Condition} service, the initial dispatch waits for */
+	public static final String JERSEY_DISPATCH_BOOT_CONDITION = "jersey.dispatch.boot.condition";
+	/** Time in milliseconds without further whiteboard service changes, the initial dispatch waits for */
+	public static final String JERSEY_DISPATCH_BOOT_QUIET_PERIOD = "jersey.dispatch.boot.quiet.period";
+	/** Maximum time in milliseconds, the initial dispatch is held back */
+	public static final String JERSEY_DISPATCH_BOOT_TIMEOUT = "jersey.dispatch.boot.timeout";
+	/** Builds the new Jersey container of a reloaded application on a background thread, while the previous one keeps serving */
+	public static final String JERSEY_RELOAD_BACKGROUND = "jersey.reload.background";
+	/** HTTP methods of the resource methods, that are called to warm up a reloaded application, before it takes traffic */
+	public static final String JERSEY_RELOAD_WARMUP_METHODS = "jersey.reload.warmup.methods";
+	/** Number of times, each warm-up request is sent */
+	public static final String JERSEY_RELOAD_WARMUP_ROUNDS = "jersey.reload.warmup.rounds";
+	/** Maximum time in milliseconds for all warm-up requests of a reload */
+	public static final String JERSEY_RELOAD_WARMUP_TIMEOUT = "jersey.reload.warmup.timeout";
+	/** Calls the resource methods using generated invoker classes instead of reflection */
+	public static final String JERSEY_INVOKER_GENERATED = "jersey.invoker.generated";
+	/** Service property of a prototype resource, that keeps up to this number of released instances for reuse */
+	public static final String JERSEY_RESOURCE_POOL_SIZE = "jersey.resource.pool.size";
+	/** Service property of a prototype resource, time in milliseconds, a pooled instance stays idle, before it is released */
+	public static final String JERSEY_RESOURCE_POOL_IDLE_TIMEOUT = "jersey.resource.pool.idle.timeout";
+	/** Time in milliseconds after the end of its request, after which a prototype resource instance, that was not disposed, is released. 0 never releases them */
+	public static final String JERSEY_RESOURCE_REAPER_AGE = "jersey.resource.reaper.age";
+	/** Runtime service property with the number of live prototype resource instances, updated with the runtime DTO and by the reaper */
+	public static final String JERSEY_RESOURCE_INSTANCES_LIVE = "jersey.resource.instances.live";
+	/** Runtime service property with the number of prototype resource instances, that were released by the reaper */
+	public static final String JERSEY_RESOURCE_INSTANCES_REAPED = "jersey.resource.instances.reaped";
 	
 	public static final Integer WHITEBOARD_DEFAULT_PORT = Integer.valueOf(8181);
 	public static final String WHITEBOARD_DEFAULT_CONTEXT_PATH = "/rest";
 	public static final String WHITEBOARD_DEFAULT_HOST = "localhost";
 	public static final String WHITEBOARD_DEFAULT_SCHEMA = "http";
 	public static final String WHITEBOARD_DEFAULT_NAME = "Jersey REST";
+	public static final String WHITEBOARD_DEFAULT_CONTAINER_MODE = CONTAINER_MODE_SERVLET;
+	public static final long WHITEBOARD_DEFAULT_DISPATCH_QUIET_PERIOD = 0;
+	public static final long WHITEBOARD_DEFAULT_DISPATCH_MAX_DELAY = 1000;
+	public static final long WHITEBOARD_DEFAULT_DISPATCH_BUNDLE_TIMEOUT = 10000;
+	public static final long WHITEBOARD_DEFAULT_DISPATCH_BOOT_TIMEOUT = 60000;
+	public static final long WHITEBOARD_DEFAULT_DISPATCH_PARALLELISM = 1;
+	public static final long WHITEBOARD_DEFAULT_RELOAD_WARMUP_ROUNDS = 10;
+	public static final long WHITEBOARD_DEFAULT_RELOAD_WARMUP_TIMEOUT = 5000;
+	public static final long WHITEBOARD_DEFAULT_RESOURCE_POOL_IDLE_TIMEOUT = 60000;
 
 }
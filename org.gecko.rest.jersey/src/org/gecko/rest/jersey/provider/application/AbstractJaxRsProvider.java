@@ -41,7 +41,7 @@ import org.osgi.service.jaxrs.whiteboard.JaxrsWhiteboardConstants;
 public abstract class AbstractJaxRsProvider<T> implements JaxRsProvider, JaxRsConstants {
 
 	private static final Logger logger = Logger.getLogger("jersey.abstractProvider");
-	private final Map<String, Object> properties;
+	private Map<String, Object> properties;
 	private String name;
 	private String id;
 	private Long serviceId;
@@ -56,7 +56,24 @@ public abstract class AbstractJaxRsProvider<T> implements JaxRsProvider, JaxRsCo
 		this.providerObject = providerObject;
 		validateProperties();
 	}
-	
+
+	/**
+	 * Creates a copy of the given provider. The already validated properties and parsed filters are reused,
+	 * so that the properties are not validated again.
+	 * @param source the provider to copy
+	 */
+	protected AbstractJaxRsProvider(AbstractJaxRsProvider<T> source) {
+		this.properties = source.properties;
+		this.providerObject = source.providerObject;
+		this.name = source.name;
+		this.id = source.id;
+		this.serviceId = source.serviceId;
+		this.serviceRank = source.serviceRank;
+		this.status = source.status;
+		this.whiteboardTargetFilter = source.whiteboardTargetFilter;
+		this.extensionFilters = source.extensionFilters;
+	}
+
 	/* 
 	 * (non-Javadoc)
 	 * @see org.gecko.rest.jersey.provider.application.JaxRsProvider#getId()
@@ -217,6 +234,29 @@ public abstract class AbstractJaxRsProvider<T> implements JaxRsProvider, JaxRsCo
 		return providerName;
 	}
 
+	/**
+	 * Replaces the service properties without validating them again. This must only be used, if the new properties
+	 * differ in the service ranking or in properties, that are not validated by the provider.
+	 * @param properties the new service properties
+	 */
+	protected void updateProperties(Map<String, Object> properties) {
+		this.properties = properties == null ? Collections.emptyMap() : properties;
+		serviceRank = getServiceRanking(this.properties);
+	}
+
+	/**
+	 * Returns the service ranking from the properties
+	 * @param properties the service properties
+	 * @return the service ranking or 0
+	 */
+	private Integer getServiceRanking(Map<String, Object> properties) {
+		Object sr = properties.get(Constants.SERVICE_RANKING);
+		if (sr != null && sr instanceof Integer) {
+			return (Integer)sr;
+		}
+		return Integer.valueOf(0);
+	}
+
 	/**
 	 * Validates all properties which are usually the service properties. 
 	 * It starts with the name and serviceId and delegates to custom implementations
@@ -229,12 +269,7 @@ public abstract class AbstractJaxRsProvider<T> implements JaxRsProvider, JaxRsCo
 		}
 		id = getProviderId();
 		name = getProviderName();
-		Object sr = properties.get(Constants.SERVICE_RANKING);
-		if (sr != null && sr instanceof Integer) {
-			serviceRank = (Integer)sr;
-		} else {
-			serviceRank = Integer.valueOf(0);
-		}
+		serviceRank = getServiceRanking(properties);
 		if (serviceId == null) {
 			serviceId = (Long) properties.get(ComponentConstants.COMPONENT_ID);
 		}
@@ -0,0 +1,193 @@
+/**
+ * Copyright (c) 2012 - 2022 Data In Motion and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Data In Motion - initial API and implementation
+ *     Stefan Bishof - API and implementation
+ *     Tim Ward - implementation
+ */
+package org.gecko.rest.jersey.provider.application;
+
+import java.util.Map;
+
+import javax.ws.rs.core.Application;
+
+import org.osgi.framework.ServiceObjects;
+
+/**
+ * A single change of an application, resource or extension, that is applied together with other changes
+ * using {@link JaxRsWhiteboardDispatcher#apply(java.util.Collection)}
+ * @author agent
+ * @since 18.10.2026
+ */
+public final class JaxRsWhiteboardChange {
+
+	/**
+	 * The kind of service, that is changed
+	 */
+	public enum Kind {
+		APPLICATION,
+		RESOURCE,
+		EXTENSION
+	}
+
+	/**
+	 * The action to be done for the service
+	 */
+	public enum Action {
+		ADD,
+		UPDATE,
+		REMOVE
+	}
+
+	private final Kind kind;
+	private final Action action;
+	private final Application application;
+	private final ServiceObjects<?> serviceObjects;
+	private final Map<String, Object> properties;
+
+	private JaxRsWhiteboardChange(Kind kind, Action action, Application application, ServiceObjects<?> serviceObjects, Map<String, Object> properties) {
+		if (properties == null) {
+			throw new IllegalArgumentException("The service properties of a change must not be null");
+		}
+		this.kind = kind;
+		this.action = action;
+		this.application = application;
+		this.serviceObjects = serviceObjects;
+		this.properties = properties;
+	}
+
+	/**
+	 * Creates a change, that adds an application
+	 * @param application the application
+	 * @param properties the service properties
+	 * @return the change
+	 */
+	public static JaxRsWhiteboardChange addApplication(Application application, Map<String, Object> properties) {
+		return new JaxRsWhiteboardChange(Kind.APPLICATION, Action.ADD, application, null, properties);
+	}
+
+	/**
+	 * Creates a change, that updates the properties of an application
+	 * @param application the application
+	 * @param properties the modified service properties
+	 * @return the change
+	 */
+	public static JaxRsWhiteboardChange updateApplication(Application application, Map<String, Object> properties) {
+		return new JaxRsWhiteboardChange(Kind.APPLICATION, Action.UPDATE, application, null, properties);
+	}
+
+	/**
+	 * Creates a change, that removes an application
+	 * @param application the application
+	 * @param properties the service properties
+	 * @return the change
+	 */
+	public static JaxRsWhiteboardChange removeApplication(Application application, Map<String, Object> properties) {
+		return new JaxRsWhiteboardChange(Kind.APPLICATION, Action.REMOVE, application, null, properties);
+	}
+
+	/**
+	 * Creates a change, that adds a resource
+	 * @param serviceObjects the service objects of the resource
+	 * @param properties the service properties
+	 * @return the change
+	 */
+	public static JaxRsWhiteboardChange addResource(ServiceObjects<?> serviceObjects, Map<String, Object> properties) {
+		return new JaxRsWhiteboardChange(Kind.RESOURCE, Action.ADD, null, serviceObjects, properties);
+	}
+
+	/**
+	 * Creates a change, that updates the properties of a resource
+	 * @param serviceObjects the service objects of the resource
+	 * @param properties the modified service properties
+	 * @return the change
+	 */
+	public static JaxRsWhiteboardChange updateResource(ServiceObjects<?> serviceObjects, Map<String, Object> properties) {
+		return new JaxRsWhiteboardChange(Kind.RESOURCE, Action.UPDATE, null, serviceObjects, properties);
+	}
+
+	/**
+	 * Creates a change, that removes a resource
+	 * @param properties the service properties
+	 * @return the change
+	 */
+	public static JaxRsWhiteboardChange removeResource(Map<String, Object> properties) {
+		return new JaxRsWhiteboardChange(Kind.RESOURCE, Action.REMOVE, null, null, properties);
+	}
+
+	/**
+	 * Creates a change, that adds an extension
+	 * @param serviceObjects the service objects of the extension
+	 * @param properties the service properties
+	 * @return the change
+	 */
+	public static JaxRsWhiteboardChange addExtension(ServiceObjects<?> serviceObjects, Map<String, Object> properties) {
+		return new JaxRsWhiteboardChange(Kind.EXTENSION, Action.ADD, null, serviceObjects, properties);
+	}
+
+	/**
+	 * Creates a change, that updates the properties of an extension
+	 * @param serviceObjects the service objects of the extension
+	 * @param properties the modified service properties
+	 * @return the change
+	 */
+	public static JaxRsWhiteboardChange updateExtension(ServiceObjects<?> serviceObjects, Map<String, Object> properties) {
+		return new JaxRsWhiteboardChange(Kind.EXTENSION, Action.UPDATE, null, serviceObjects, properties);
+	}
+
+	/**
+	 * Creates a change, that removes an extension
+	 * @param properties the service properties
+	 * @return the change
+	 */
+	public static JaxRsWhiteboardChange removeExtension(Map<String, Object> properties) {
+		return new JaxRsWhiteboardChange(Kind.EXTENSION, Action.REMOVE, null, null, properties);
+	}
+
+	/**
+	 * Returns the kind of the changed service
+	 * @return the kind
+	 */
+	public Kind getKind() {
+		return kind;
+	}
+
+	/**
+	 * Returns the action for the service
+	 * @return the action
+	 */
+	public Action getAction() {
+		return action;
+	}
+
+	/**
+	 * Returns the application of an application change
+	 * @return the application or <code>null</code>
+	 */
+	public Application getApplication() {
+		return application;
+	}
+
+	/**
+	 * Returns the service objects of an added or updated resource or extension
+	 * @return the service objects or <code>null</code>
+	 */
+	public ServiceObjects<?> getServiceObjects() {
+		return serviceObjects;
+	}
+
+	/**
+	 * Returns the service properties
+	 * @return the service properties
+	 */
+	public Map<String, Object> getProperties() {
+		return properties;
+	}
+
+}
@@ -13,6 +13,7 @@
  */
 package org.gecko.rest.jersey.provider.application;
 
+import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
 
@@ -21,6 +22,7 @@ import javax.ws.rs.core.Application;
 import org.gecko.rest.jersey.provider.whiteboard.JaxRsWhiteboardProvider;
 import org.osgi.framework.ServiceObjects;
 import org.osgi.framework.ServiceReference;
+import org.osgi.service.jaxrs.runtime.dto.BaseDTO;
 
 /**
  * Dispatcher that handles the dynamic adding and removing of resources, extension and applications, that are
@@ -47,6 +49,43 @@ public interface JaxRsWhiteboardDispatcher {
 	 */
 	public void batchDispatch();
 	
+	/**
+	 * Sets the time window to coalesce changes into one dispatch. A change is dispatched, after no further change
+	 * arrived during the quiet period, but at latest after the maximum delay since the first pending change.
+	 * A quiet period of 0 dispatches each change immediately.
+	 * @param quietPeriod the quiet period in milliseconds
+	 * @param maxDelay the maximum delay in milliseconds
+	 */
+	public void setDispatchWindow(long quietPeriod, long maxDelay);
+	
+	/**
+	 * Enables dispatching on a dedicated thread. Changes are then only recorded by the caller and
+	 * dispatched asynchronously. Changes, that arrive during a running dispatch, are collapsed into the next one.
+	 * @param dispatcherThread <code>true</code> to dispatch on a dedicated thread
+	 */
+	public void setDispatcherThread(boolean dispatcherThread);
+	
+	/**
+	 * Sets the number of applications, that are registered or reloaded concurrently at the end of a dispatch.
+	 * A parallelism of 1 registers and reloads them one after another.
+	 * @param parallelism the maximum number of concurrent application rebuilds
+	 */
+	public void setApplicationParallelism(int parallelism);
+	
+	/**
+	 * Holds back the dispatch of changes, until the hold is released or the timeout is reached.
+	 * Changes, that arrive during a hold, are dispatched together, when the last hold is released.
+	 * @param key the key of the hold
+	 * @param timeout the time in milliseconds, after that the hold is released automatically
+	 */
+	public void holdDispatch(String key, long timeout);
+	
+	/**
+	 * Releases the hold with the given key. 
+	 * @param key the key of the hold
+	 */
+	public void releaseDispatch(String key);
+	
 	/**
 	 * Sets a whiteboard instance
 	 * @param whiteboard the whiteboard to set
@@ -84,6 +123,14 @@ public interface JaxRsWhiteboardDispatcher {
 	 */
 	public void addApplication(Application application, Map<String, Object> properties);
 	
+	/**
+	 * Updates an application with modified service properties. Depending on the modified properties, the application
+	 * is either updated in place or removed and added again
+	 * @param application the {@link Application}
+	 * @param properties the modified service properties
+	 */
+	public void updateApplication(Application application, Map<String, Object> properties);
+	
 	/**
 	 * Removes an application
 	 * @param application the {@link Application}
@@ -97,6 +144,14 @@ public interface JaxRsWhiteboardDispatcher {
 	 */
 	public void addResource(ServiceObjects<?> appServiceObject, Map<String, Object> properties);
 	
+	/**
+	 * Updates a resource with modified service properties. Depending on the modified properties, the resource
+	 * is either updated in place or replaced
+	 * @param appServiceObject the {@link ServiceObjects} of the Resource
+	 * @param properties the modified service properties
+	 */
+	public void updateResource(ServiceObjects<?> appServiceObject, Map<String, Object> properties);
+	
 	/**
 	 * Removes a resource
 	 * @param ref the {@link ServiceReference} of the Resource
@@ -109,12 +164,29 @@ public interface JaxRsWhiteboardDispatcher {
 	 */
 	public void addExtension(ServiceObjects<?> appServiceObject, Map<String, Object> properties);
 
+	/**
+	 * Updates an extension with modified service properties. Depending on the modified properties, the extension
+	 * is either updated in place or replaced
+	 * @param appServiceObject the {@link ServiceObjects} of the Extension
+	 * @param properties the modified service properties
+	 */
+	public void updateExtension(ServiceObjects<?> appServiceObject, Map<String, Object> properties);
+
 	/**
 	 * Removes an extension
 	 * @param ref the {@link ServiceReference} of the Resource
 	 */
 	public void removeExtension(Map<String, Object> properties);
 	
+	/**
+	 * Applies all changes together. The changes are validated and dispatched in one pass, so that each application
+	 * is registered or reloaded at most once. If the dispatching is not active, the changes are only recorded. If the dispatch
+	 * is held, the changes are dispatched, when the hold is released, and no failures are returned.
+	 * @param changes the changes to apply in the given order
+	 * @return the failure DTOs of the added or updated services, that failed, never <code>null</code>
+	 */
+	public Map<JaxRsWhiteboardChange, BaseDTO> apply(Collection<JaxRsWhiteboardChange> changes);
+	
 	/**
 	 * Activates dispatching
 	 */
@@ -93,6 +93,18 @@ public interface JaxRsWhiteboardProvider {
 	 * @return <code>true</code>, if the given application was already registered
 	 */
 	public boolean isRegistered(JaxRsApplicationProvider provider);
+
+	/**
+	 * Starts a group of application changes, that may be executed concurrently. The runtime DTO and the change count
+	 * are not updated, until the group is finished by {@link #endUpdate()}. Groups can be nested.
+	 */
+	public void beginUpdate();
+
+	/**
+	 * Finishes a group of application changes and updates the runtime DTO and the change count once,
+	 * if something changed within the group
+	 */
+	public void endUpdate();
 	
 
 
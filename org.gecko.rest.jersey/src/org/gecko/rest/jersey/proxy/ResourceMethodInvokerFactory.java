@@ -0,0 +1,194 @@
+/**
+ * Copyright (c) 2012 - 2022 Data In Motion and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Data In Motion - initial API and implementation
+ *     Stefan Bishof - API and implementation
+ *     Tim Ward - implementation
+ */
+package org.gecko.rest.jersey.proxy;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+/**
+ * This class is used to generate invokers for resource methods.
+ *
+ * The invoker will:
+ *
+ * * Implement {@link BiFunction}, taking the resource instance and the argument array
+ * * Cast the instance and unbox the arguments to the exact parameter types
+ * * Call the resource method directly, instead of using reflection
+ * * Box the result, <code>void</code> methods return <code>null</code>
+ *
+ * Only interfaces of the JDK are referenced, so that the class can be defined by a class loader, that has the
+ * class loader of the resource as parent.
+ * @author agent
+ * @since 18.10.2026
+ */
+public class ResourceMethodInvokerFactory {
+
+	private static final String OBJECT_INTERNAL_NAME = Type.getInternalName(Object.class);
+	private static final String APPLY_DESCRIPTOR = Type.getMethodDescriptor(Type.getType(Object.class), Type.getType(Object.class), Type.getType(Object.class));
+	private static final AtomicLong COUNTER = new AtomicLong();
+
+	/**
+	 * Returns <code>true</code>, if an invoker can be generated for the method. This is the case for public instance
+	 * methods, whose declaring class and signature types are public
+	 * @param method the method
+	 * @return <code>true</code>, if the method is supported
+	 */
+	public static boolean isSupported(Method method) {
+		if (method == null || Modifier.isStatic(method.getModifiers()) || !Modifier.isPublic(method.getModifiers())) {
+			return false;
+		}
+		if (method.getDeclaringClass().getClassLoader() == null || !isPublic(method.getDeclaringClass()) || !isPublic(method.getReturnType())) {
+			return false;
+		}
+		for (Class<?> parameterType : method.getParameterTypes()) {
+			if (!isPublic(parameterType)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns a new unique class name for an invoker of the method
+	 * @param method the method
+	 * @return the fully qualified class name
+	 */
+	public static String getClassName(Method method) {
+		return String.format("org.gecko.rest.jersey.proxy.Invoker_%s_%s_%d", method.getDeclaringClass().getSimpleName(),
+				method.getName(), COUNTER.incrementAndGet());
+	}
+
+	/**
+	 * Generates the invoker class
+	 * @param className the fully qualified name of the class to generate
+	 * @param method the method to call, must be supported
+	 * @return the class bytes
+	 */
+	public static byte[] generateClass(String className, Method method) {
+		if (!isSupported(method)) {
+			throw new IllegalArgumentException("Cannot generate an invoker for method " + method);
+		}
+		Class<?> owner = method.getDeclaringClass();
+		String ownerName = Type.getInternalName(owner);
+		String internalName = className.replace('.', '/');
+		ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+		cw.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SUPER, internalName,
+				null, OBJECT_INTERNAL_NAME, new String[] {Type.getInternalName(BiFunction.class)});
+
+		MethodVisitor constructor = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+		constructor.visitCode();
+		constructor.visitVarInsn(Opcodes.ALOAD, 0);
+		constructor.visitMethodInsn(Opcodes.INVOKESPECIAL, OBJECT_INTERNAL_NAME, "<init>", "()V", false);
+		constructor.visitInsn(Opcodes.RETURN);
+		constructor.visitMaxs(0, 0);
+		constructor.visitEnd();
+
+		MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "apply", APPLY_DESCRIPTOR, null, null);
+		mv.visitCode();
+		mv.visitVarInsn(Opcodes.ALOAD, 1);
+		mv.visitTypeInsn(Opcodes.CHECKCAST, ownerName);
+		Class<?>[] parameterTypes = method.getParameterTypes();
+		if (parameterTypes.length > 0) {
+			mv.visitVarInsn(Opcodes.ALOAD, 2);
+			mv.visitTypeInsn(Opcodes.CHECKCAST, "[Ljava/lang/Object;");
+			mv.visitVarInsn(Opcodes.ASTORE, 3);
+		}
+		for (int i = 0; i < parameterTypes.length; i++) {
+			mv.visitVarInsn(Opcodes.ALOAD, 3);
+			mv.visitLdcInsn(Integer.valueOf(i));
+			mv.visitInsn(Opcodes.AALOAD);
+			unbox(mv, parameterTypes[i]);
+		}
+		if (owner.isInterface()) {
+			mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, ownerName, method.getName(), Type.getMethodDescriptor(method), true);
+		} else {
+			mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, ownerName, method.getName(), Type.getMethodDescriptor(method), false);
+		}
+		Class<?> returnType = method.getReturnType();
+		if (returnType == Void.TYPE) {
+			mv.visitInsn(Opcodes.ACONST_NULL);
+		} else if (returnType.isPrimitive()) {
+			Type wrapper = Type.getType(wrapperOf(returnType));
+			mv.visitMethodInsn(Opcodes.INVOKESTATIC, wrapper.getInternalName(), "valueOf",
+					Type.getMethodDescriptor(wrapper, Type.getType(returnType)), false);
+		}
+		mv.visitInsn(Opcodes.ARETURN);
+		mv.visitMaxs(0, 0);
+		mv.visitEnd();
+
+		cw.visitEnd();
+		return cw.toByteArray();
+	}
+
+	/**
+	 * Casts the {@link Object} on the stack to the parameter type and unboxes primitives
+	 * @param mv the method visitor
+	 * @param type the parameter type
+	 */
+	private static void unbox(MethodVisitor mv, Class<?> type) {
+		if (type == Object.class) {
+			return;
+		}
+		if (!type.isPrimitive()) {
+			mv.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(type));
+			return;
+		}
+		String wrapper = Type.getInternalName(wrapperOf(type));
+		mv.visitTypeInsn(Opcodes.CHECKCAST, wrapper);
+		mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, wrapper, type.getName() + "Value",
+				Type.getMethodDescriptor(Type.getType(type)), false);
+	}
+
+	private static Class<?> wrapperOf(Class<?> type) {
+		if (type == boolean.class) {
+			return Boolean.class;
+		} else if (type == byte.class) {
+			return Byte.class;
+		} else if (type == char.class) {
+			return Character.class;
+		} else if (type == short.class) {
+			return Short.class;
+		} else if (type == int.class) {
+			return Integer.class;
+		} else if (type == long.class) {
+			return Long.class;
+		} else if (type == float.class) {
+			return Float.class;
+		} else {
+			return Double.class;
+		}
+	}
+
+	private static boolean isPublic(Class<?> type) {
+		while (type.isArray()) {
+			type = type.getComponentType();
+		}
+		if (type.isPrimitive()) {
+			return true;
+		}
+		for (Class<?> c = type; c != null; c = c.getEnclosingClass()) {
+			if (!Modifier.isPublic(c.getModifiers())) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
@@ -16,25 +16,29 @@ package org.gecko.rest.jersey.runtime;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.eclipse.jetty.server.Handler;
 import org.eclipse.jetty.server.Server;
-import org.eclipse.jetty.server.handler.HandlerList;
 import org.eclipse.jetty.server.session.SessionHandler;
 import org.eclipse.jetty.servlet.ServletContextHandler;
 import org.eclipse.jetty.servlet.ServletHolder;
 import org.gecko.rest.jersey.annotations.RequireJersey;
 import org.gecko.rest.jersey.helper.JaxRsHelper;
 import org.gecko.rest.jersey.helper.JerseyHelper;
+import org.gecko.rest.jersey.jetty.ApplicationRouterHandler;
+import org.gecko.rest.jersey.jetty.JerseyJettyHandler;
 import org.gecko.rest.jersey.jetty.JettyServerRunnable;
 import org.gecko.rest.jersey.provider.JerseyConstants;
 import org.gecko.rest.jersey.provider.application.JaxRsApplicationProvider;
 import org.gecko.rest.jersey.runtime.common.AbstractJerseyServiceRuntime;
 import org.gecko.rest.jersey.runtime.common.ResourceConfigWrapper;
+import org.gecko.rest.jersey.runtime.servlet.ConsolidatedApplicationGroup;
 import org.gecko.rest.jersey.runtime.servlet.WhiteboardServletContainer;
 import org.glassfish.jersey.server.ResourceConfig;
 import org.glassfish.jersey.servlet.ServletContainer;
@@ -62,9 +66,16 @@ public class JerseyServiceRuntime extends AbstractJerseyServiceRuntime {
 	private volatile Server jettyServer;
 	private Integer port = JerseyConstants.WHITEBOARD_DEFAULT_PORT;
 	private String contextPath = JerseyConstants.WHITEBOARD_DEFAULT_CONTEXT_PATH;
+	private boolean nativeMode = false;
+	private boolean consolidate = false;
 	private Logger logger = Logger.getLogger("jaxRs.serviceRuntime");
-	private final Map<String, ServletContextHandler> handlerMap = new HashMap<>();
-	private final HandlerList handlers = new HandlerList();
+	// applications may be registered concurrently by the dispatcher
+	private final Map<String, Handler> handlerMap = new ConcurrentHashMap<>();
+	// routes the requests by the longest matching application path
+	private final ApplicationRouterHandler handlers = new ApplicationRouterHandler();
+	// the applications, that share a Jersey container in native mode, guarded by the group list
+	private final List<ConsolidatedApplicationGroup> consolidatedGroups = new ArrayList<>();
+	private final Map<String, ConsolidatedApplicationGroup> consolidatedMembers = new HashMap<>();
 
 	/*
 	 * (non-Javadoc)
@@ -87,16 +98,19 @@ public class JerseyServiceRuntime extends AbstractJerseyServiceRuntime {
 	public void doModified(ComponentContext ctx) throws ConfigurationException {
 		Integer oldPort = port;
 		String oldContextPath = contextPath;
+		boolean oldNativeMode = nativeMode;
+		boolean oldConsolidate = consolidate;
 		updateProperties(ctx);
 		boolean portChanged = !this.port.equals(oldPort);
 		boolean pathChanged = !this.contextPath.equals(oldContextPath);
+		boolean modeChanged = nativeMode != oldNativeMode || consolidate != oldConsolidate;
 
-		if (!pathChanged && !portChanged) {
+		if (!pathChanged && !portChanged && !modeChanged) {
 			return;
 		}
 		// if port changed, both parts need to be restarted, no matter, if the context
 		// path has changed
-		if (portChanged || pathChanged) {
+		if (portChanged || pathChanged || modeChanged) {
 			
 			applicationContainerMap.values().forEach(ap -> new ArrayList<ServletContainer>(ap.getServletContainers()).forEach(ap::removeServletContainer));
 			
@@ -179,15 +193,15 @@ public class JerseyServiceRuntime extends AbstractJerseyServiceRuntime {
 					+ applicationProvider.getId());
 		}
 		applicationProvider.getServletContainers().add(container);
+		if (nativeMode) {
+			startNativeHandler(applicationProvider, container, path);
+			return;
+		}
 		ServletHolder servlet = new ServletHolder(container);
 		servlet.setAsyncSupported(true);
 		ServletContextHandler handler = createContext(path);
 		handler.addServlet(servlet, "/");
-		if (applicationProvider.isDefault()) {
-			handlers.addHandler(handler);
-		} else {
-			handlers.prependHandler(handler);
-		}
+		handlers.addHandler(handler.getContextPath(), handler, applicationProvider.isDefault());
 		try {
 			handler.start();
 		} catch (Exception e) {
@@ -204,6 +218,9 @@ public class JerseyServiceRuntime extends AbstractJerseyServiceRuntime {
 	 */
 	@Override
 	protected void doRegisterServletContext(JaxRsApplicationProvider applicationProvider, String path) {
+		if (nativeMode && consolidate && registerConsolidated(applicationProvider, path)) {
+			return;
+		}
 		ResourceConfigWrapper config = createResourceConfig(applicationProvider);
 		WhiteboardServletContainer container = new WhiteboardServletContainer(config, applicationProvider);
 		if (!applicationProvider.getServletContainers().isEmpty()) {
@@ -211,6 +228,10 @@ public class JerseyServiceRuntime extends AbstractJerseyServiceRuntime {
 					+ applicationProvider.getId());
 		}
 		applicationProvider.getServletContainers().add(container);
+		if (nativeMode) {
+			startNativeHandler(applicationProvider, container, path);
+			return;
+		}
 		ServletHolder servlet = new ServletHolder(container);
 		servlet.setAsyncSupported(true);
 		ServletContextHandler handler = createContext(path);
@@ -218,11 +239,7 @@ public class JerseyServiceRuntime extends AbstractJerseyServiceRuntime {
 //		ServletHolder sh = new ServletHolder(s);
 //		handler.addServlet(sh, "/bla");
 		handler.addServlet(servlet, "/*");
-		if (applicationProvider.isDefault()) {
-			handlers.addHandler(handler);
-		} else {
-			handlers.prependHandler(handler);
-		}
+		handlers.addHandler(handler.getContextPath(), handler, applicationProvider.isDefault());
 		try {
 			handler.start();
 		} catch (Exception e) {
@@ -230,9 +247,117 @@ public class JerseyServiceRuntime extends AbstractJerseyServiceRuntime {
 		}
 	}
 
+	/**
+	 * Adds and starts a Jetty handler, that passes the requests of the application directly to Jersey
+	 * @param applicationProvider the application provider
+	 * @param container the container of the application
+	 * @param path the application path
+	 */
+	private void startNativeHandler(JaxRsApplicationProvider applicationProvider, WhiteboardServletContainer container, String path) {
+		String ctxPath = getContextPath(path);
+		JerseyJettyHandler handler = new JerseyJettyHandler(container, ctxPath);
+		handler.setServer(jettyServer);
+		handlerMap.putIfAbsent(path, handler);
+		handlers.addHandler(ctxPath, handler, applicationProvider.isDefault());
+		try {
+			handler.start();
+		} catch (Exception e) {
+			logger.log(Level.SEVERE, "Cannot start native Jersey handler for context: " + path, e);
+		}
+	}
+
+	/**
+	 * Adds the application to a group of applications, that share a Jersey container, and starts a Jetty handler for it
+	 * @param applicationProvider the application provider
+	 * @param path the application path
+	 * @return <code>false</code>, if the application cannot be consolidated
+	 */
+	private boolean registerConsolidated(JaxRsApplicationProvider applicationProvider, String path) {
+		String key = ConsolidatedApplicationGroup.getKey(applicationProvider);
+		if (key == null) {
+			return false;
+		}
+		ConsolidatedApplicationGroup group;
+		synchronized (consolidatedGroups) {
+			group = consolidatedGroups.stream().filter(g -> g.accepts(applicationProvider)).findFirst().orElse(null);
+			if (group == null) {
+				group = new ConsolidatedApplicationGroup(key);
+				consolidatedGroups.add(group);
+			}
+			group.put(applicationProvider);
+			consolidatedMembers.put(applicationProvider.getId(), group);
+			ResourceConfigWrapper config = createConsolidatedResourceConfig(group.getMembers());
+			if (group.getContainer() == null) {
+				WhiteboardServletContainer container = new WhiteboardServletContainer(config, null);
+				container.initNative();
+				group.setContainer(container);
+			} else {
+				reloadServletContainer(group.getContainer(), config, null);
+			}
+		}
+		logger.fine("Serve application " + applicationProvider.getId() + " with " + group.getMembers().size() + " consolidated applications");
+		String ctxPath = getContextPath(path);
+		JerseyJettyHandler handler = new JerseyJettyHandler(group.getContainer(), ctxPath, getContextPath(null));
+		handler.setServer(jettyServer);
+		handlerMap.putIfAbsent(path, handler);
+		handlers.addHandler(ctxPath, handler, applicationProvider.isDefault());
+		try {
+			handler.start();
+		} catch (Exception e) {
+			logger.log(Level.SEVERE, "Cannot start native Jersey handler for context: " + path, e);
+		}
+		return true;
+	}
+
+	/**
+	 * Removes the application from its group. The container of the group is rebuilt without it or destroyed, if the group is empty
+	 * @param applicationProvider the application provider
+	 * @return <code>false</code>, if the application was not consolidated
+	 */
+	private boolean unregisterConsolidated(JaxRsApplicationProvider applicationProvider) {
+		synchronized (consolidatedGroups) {
+			ConsolidatedApplicationGroup group = consolidatedMembers.remove(applicationProvider.getId());
+			if (group == null) {
+				return false;
+			}
+			group.remove(applicationProvider.getId());
+			if (group.isEmpty()) {
+				consolidatedGroups.remove(group);
+				group.getContainer().destroy();
+			} else {
+				reloadServletContainer(group.getContainer(), createConsolidatedResourceConfig(group.getMembers()), null);
+			}
+			return true;
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.gecko.rest.jersey.runtime.common.AbstractJerseyServiceRuntime#reloadServletContainers(org.gecko.rest.jersey.provider.application.JaxRsApplicationProvider)
+	 */
+	@Override
+	protected void reloadServletContainers(JaxRsApplicationProvider provider) {
+		synchronized (consolidatedGroups) {
+			ConsolidatedApplicationGroup group = consolidatedMembers.get(provider.getId());
+			if (group == null) {
+				super.reloadServletContainers(provider);
+				return;
+			}
+			if (group.accepts(provider)) {
+				group.put(provider);
+				reloadServletContainer(group.getContainer(), createConsolidatedResourceConfig(group.getMembers()), null);
+				return;
+			}
+		}
+		// the content does not fit to the group anymore
+		doUnregisterApplication(provider);
+		doRegisterServletContext(provider, provider.getPath());
+	}
+
 	@Override
 	protected void doUnregisterApplication(JaxRsApplicationProvider applicationProvider) {
 		removeContextHandler(applicationProvider.getPath());
+		unregisterConsolidated(applicationProvider);
 	}
 
 	/*
@@ -254,6 +379,10 @@ public class JerseyServiceRuntime extends AbstractJerseyServiceRuntime {
 		if (uri.getPath() != null) {
 			contextPath = uri.getPath();
 		}
+		String mode = JerseyHelper.getPropertyWithDefault(ctx, JerseyConstants.JERSEY_CONTAINER_MODE, JerseyConstants.WHITEBOARD_DEFAULT_CONTAINER_MODE);
+		nativeMode = JerseyConstants.CONTAINER_MODE_NATIVE.equalsIgnoreCase(mode);
+		Object consolidateApplications = JerseyHelper.getPropertyWithDefault(ctx, JerseyConstants.JERSEY_CONSOLIDATE_APPLICATIONS, Boolean.FALSE);
+		consolidate = Boolean.parseBoolean(consolidateApplications.toString());
 	}
 	
 	private String getContextPath(String path) {
@@ -278,9 +407,7 @@ public class JerseyServiceRuntime extends AbstractJerseyServiceRuntime {
 		}
 		contextHandler.setServer(jettyServer);
 		contextHandler.setContextPath(ctxPath);
-		if (!handlerMap.containsKey(path)) {
-			handlerMap.put(path, contextHandler);
-		}
+		handlerMap.putIfAbsent(path, contextHandler);
 		logger.fine("Created white-board server context handler for context: " + path);
 		return contextHandler;
 	}
@@ -289,7 +416,7 @@ public class JerseyServiceRuntime extends AbstractJerseyServiceRuntime {
 	 * Stopps the Jetty context handler for the given context path;
 	 */
 	private void removeContextHandler(String path) {
-		ServletContextHandler handler = handlerMap.remove(path);
+		Handler handler = handlerMap.remove(path);
 		if (handler == null) {
 			logger.log(Level.WARNING, "Try to stop Jetty context handler for path " + path + ", but there is none");
 			return;
@@ -310,6 +437,11 @@ public class JerseyServiceRuntime extends AbstractJerseyServiceRuntime {
 	
 	private void stopContextHandlers() {
 		handlerMap.keySet().forEach(this::removeContextHandler);
+		synchronized (consolidatedGroups) {
+			consolidatedGroups.forEach(group -> group.getContainer().destroy());
+			consolidatedGroups.clear();
+			consolidatedMembers.clear();
+		}
 	}
 
 	/**
@@ -338,7 +470,8 @@ public class JerseyServiceRuntime extends AbstractJerseyServiceRuntime {
 
 			JettyServerRunnable jettyServerRunnable = new JettyServerRunnable(jettyServer, port);
 
-			Executors.newSingleThreadExecutor().submit(jettyServerRunnable);
+			// Jetty starts synchronously and serves on its own thread pool, so no additional thread is needed
+			jettyServerRunnable.run();
 			if (jettyServerRunnable.isStarted(5, TimeUnit.SECONDS)) {
 
 				logger.info("Started JaxRs white-board server for port: " + port + " and context: " + contextPath);
@@ -30,7 +30,10 @@ import org.gecko.rest.jersey.helper.JerseyHelper;
 import org.gecko.rest.jersey.provider.JerseyConstants;
 import org.gecko.rest.jersey.provider.application.JaxRsWhiteboardDispatcher;
 import org.gecko.rest.jersey.provider.whiteboard.JaxRsWhiteboardProvider;
+import org.gecko.rest.jersey.runtime.dispatcher.BootDispatchHold;
+import org.gecko.rest.jersey.runtime.dispatcher.BundleDispatchBatcher;
 import org.gecko.rest.jersey.runtime.dispatcher.JerseyWhiteboardDispatcher;
+import org.osgi.framework.InvalidSyntaxException;
 import org.osgi.framework.ServiceObjects;
 import org.osgi.framework.ServiceReference;
 import org.osgi.service.cm.ConfigurationException;
@@ -66,6 +69,15 @@ public class JerseyWhiteboardComponent {
 	
 	protected volatile JaxRsWhiteboardProvider whiteboard;
 	
+	private volatile BundleDispatchBatcher bundleBatcher;
+	private volatile boolean bundleBatching = false;
+	private volatile long bundleBatchingTimeout = JerseyConstants.WHITEBOARD_DEFAULT_DISPATCH_BUNDLE_TIMEOUT;
+	private volatile long bundleBatchingSettlePeriod = JerseyConstants.WHITEBOARD_DEFAULT_DISPATCH_QUIET_PERIOD;
+	private volatile BootDispatchHold bootHold;
+	private volatile String bootCondition;
+	private volatile long bootQuietPeriod = 0;
+	private volatile long bootTimeout = JerseyConstants.WHITEBOARD_DEFAULT_DISPATCH_BOOT_TIMEOUT;
+	
 	/**
 	 * Called on component activation
 	 * @param componentContext the component context
@@ -83,7 +95,9 @@ public class JerseyWhiteboardComponent {
 		whiteboard.initialize(componentContext);
 //		dispatcher.setBatchMode(true);
 		dispatcher.setWhiteboardProvider(whiteboard);
+		startBootHold(componentContext);
 		dispatcher.dispatch();
+		updateBundleBatching(componentContext);
 		whiteboard.startup();
 	}
 
@@ -96,6 +110,7 @@ public class JerseyWhiteboardComponent {
 	public void modified(ComponentContext context) throws ConfigurationException {
 		updateProperties(context);
 		dispatcher.dispatch();
+		updateBundleBatching(context);
 		whiteboard.modified(context);
 	}
 
@@ -105,6 +120,8 @@ public class JerseyWhiteboardComponent {
 	 */
 	@Deactivate
 	public void deactivate(ComponentContext context) {
+		stopBundleBatching();
+		stopBootHold();
 		if (dispatcher != null) {
 			dispatcher.deactivate();
 		}
@@ -131,8 +148,7 @@ public class JerseyWhiteboardComponent {
 	 * @param properties the service properties
 	 */
 	public void updatedApplication(Application application, Map<String, Object> properties) {
-		dispatcher.removeApplication(application, properties);
-		dispatcher.addApplication(application, properties);
+		dispatcher.updateApplication(application, properties);
 	}
 	
 	/**
@@ -147,14 +163,15 @@ public class JerseyWhiteboardComponent {
 	@Reference(service = AnyService.class, target = "(" + JAX_RS_EXTENSION
 			+ "=true)", cardinality = MULTIPLE, policy = DYNAMIC)
 	public void bindJaxRsExtension(ServiceReference<Object> jaxRsExtensionSR, Map<String, Object> properties) {
-
-		updatedJaxRsExtension(jaxRsExtensionSR, properties);
+		logger.fine("Handle extension " + jaxRsExtensionSR + " properties: " + properties);
+		ServiceObjects<?> so = getServiceObjects(jaxRsExtensionSR);
+		dispatcher.addExtension(so, properties);
 	}
 
 	public void updatedJaxRsExtension(ServiceReference<Object> jaxRsExtensionSR, Map<String, Object> properties) {
 		logger.fine("Handle extension " + jaxRsExtensionSR + " properties: " + properties);
 		ServiceObjects<?> so = getServiceObjects(jaxRsExtensionSR);
-		dispatcher.addExtension(so, properties);
+		dispatcher.updateExtension(so, properties);
 
 	}
 
@@ -165,13 +182,15 @@ public class JerseyWhiteboardComponent {
 	@Reference(service = AnyService.class, target = "(" + JAX_RS_RESOURCE
 			+ "=true)", cardinality = MULTIPLE, policy = DYNAMIC)
 	public void bindJaxRsResource(ServiceReference<Object> jaxRsExtensionSR, Map<String, Object> properties) {
-		updatedJaxRsResource(jaxRsExtensionSR, properties);
+		logger.fine("Handle resource " + jaxRsExtensionSR + " properties: " + properties);
+		ServiceObjects<?> so = getServiceObjects(jaxRsExtensionSR);
+		dispatcher.addResource(so, properties);
 	}
 
 	public void updatedJaxRsResource(ServiceReference<Object> jaxRsResourceSR, Map<String, Object> properties) {
 		logger.fine("Handle resource " + jaxRsResourceSR + " properties: " + properties);
 		ServiceObjects<?> so = getServiceObjects(jaxRsResourceSR);
-		dispatcher.addResource(so, properties);
+		dispatcher.updateResource(so, properties);
 
 	}
 
@@ -194,6 +213,70 @@ public class JerseyWhiteboardComponent {
 				throw new ConfigurationException(JAX_RS_NAME, "No name was defined for the whiteboard");
 			}
 		}
+		long quietPeriod = JerseyHelper.getLongPropertyWithDefault(ctx, JerseyConstants.JERSEY_DISPATCH_QUIET_PERIOD, JerseyConstants.WHITEBOARD_DEFAULT_DISPATCH_QUIET_PERIOD);
+		long maxDelay = JerseyHelper.getLongPropertyWithDefault(ctx, JerseyConstants.JERSEY_DISPATCH_MAX_DELAY, JerseyConstants.WHITEBOARD_DEFAULT_DISPATCH_MAX_DELAY);
+		dispatcher.setDispatchWindow(quietPeriod, maxDelay);
+		bundleBatchingSettlePeriod = quietPeriod;
+		Object dispatcherThread = JerseyHelper.getPropertyWithDefault(ctx, JerseyConstants.JERSEY_DISPATCH_THREAD, Boolean.FALSE);
+		dispatcher.setDispatcherThread(Boolean.parseBoolean(dispatcherThread.toString()));
+		long parallelism = JerseyHelper.getLongPropertyWithDefault(ctx, JerseyConstants.JERSEY_DISPATCH_PARALLELISM, JerseyConstants.WHITEBOARD_DEFAULT_DISPATCH_PARALLELISM);
+		dispatcher.setApplicationParallelism((int) Math.min(parallelism, Runtime.getRuntime().availableProcessors()));
+		Object batching = JerseyHelper.getPropertyWithDefault(ctx, JerseyConstants.JERSEY_DISPATCH_BUNDLE_BATCHING, Boolean.FALSE);
+		bundleBatching = Boolean.parseBoolean(batching.toString());
+		bundleBatchingTimeout = JerseyHelper.getLongPropertyWithDefault(ctx, JerseyConstants.JERSEY_DISPATCH_BUNDLE_TIMEOUT, JerseyConstants.WHITEBOARD_DEFAULT_DISPATCH_BUNDLE_TIMEOUT);
+		bootCondition = JerseyHelper.getPropertyWithDefault(ctx, JerseyConstants.JERSEY_DISPATCH_BOOT_CONDITION, null);
+		bootQuietPeriod = JerseyHelper.getLongPropertyWithDefault(ctx, JerseyConstants.JERSEY_DISPATCH_BOOT_QUIET_PERIOD, 0);
+		bootTimeout = JerseyHelper.getLongPropertyWithDefault(ctx, JerseyConstants.JERSEY_DISPATCH_BOOT_TIMEOUT, JerseyConstants.WHITEBOARD_DEFAULT_DISPATCH_BOOT_TIMEOUT);
+	}
+	
+	/**
+	 * Starts or stops the grouping of the service changes of starting bundles, depending on the configuration
+	 * @param ctx the component context
+	 */
+	protected void updateBundleBatching(ComponentContext ctx) {
+		stopBundleBatching();
+		if (bundleBatching) {
+			bundleBatcher = new BundleDispatchBatcher(ctx.getBundleContext(), dispatcher, bundleBatchingSettlePeriod, bundleBatchingTimeout);
+			bundleBatcher.open();
+		}
+	}
+	
+	/**
+	 * Stops the grouping of the service changes of starting bundles
+	 */
+	protected void stopBundleBatching() {
+		if (bundleBatcher != null) {
+			bundleBatcher.close();
+			bundleBatcher = null;
+		}
+	}
+	
+	/**
+	 * Holds back the initial dispatch until the configured condition and quiet period are satisfied
+	 * @param ctx the component context
+	 * @throws ConfigurationException if the condition filter is invalid
+	 */
+	protected void startBootHold(ComponentContext ctx) throws ConfigurationException {
+		stopBootHold();
+		if (bootCondition != null || bootQuietPeriod > 0) {
+			bootHold = new BootDispatchHold(ctx.getBundleContext(), dispatcher, bootCondition, bootQuietPeriod, bootTimeout);
+			try {
+				bootHold.open();
+			} catch (InvalidSyntaxException e) {
+				bootHold = null;
+				throw new ConfigurationException(JerseyConstants.JERSEY_DISPATCH_BOOT_CONDITION, "The boot condition filter is invalid", e);
+			}
+		}
+	}
+	
+	/**
+	 * Stops waiting for the initial dispatch and releases its hold
+	 */
+	protected void stopBootHold() {
+		if (bootHold != null) {
+			bootHold.close();
+			bootHold = null;
+		}
 	}
 	
 	protected ServiceObjects<?> getServiceObjects(ServiceReference<?> reference) {
@@ -44,7 +44,7 @@ public class JerseyApplication extends Application {
 	private volatile Map<String, JaxRsApplicationContentProvider> contentProviders = new ConcurrentHashMap<>();
 	private final String applicationName;
 	private final Logger log = Logger.getLogger("jersey.application");
-	private Map<String, Object> properties;
+	private volatile Map<String, Object> properties;
 	private Application sourceApplication;
 	private WhiteboardFeature whiteboardFeature;
 
@@ -55,6 +55,15 @@ public class JerseyApplication extends Application {
 	public JerseyApplication(String applicationName, Application sourceApplication, Map<String, Object> additionalProperites) {
 		this.applicationName = applicationName;
 		this.sourceApplication = sourceApplication;
+		updateServiceProperties(additionalProperites);
+	}
+
+	/**
+	 * Updates the service properties, that are provided to the application. Running application containers
+	 * get the new properties, when they are reloaded.
+	 * @param additionalProperites the service properties of the application
+	 */
+	public void updateServiceProperties(Map<String, Object> additionalProperites) {
 		Map<String, Object> props = new HashMap<String, Object>();
 		if(additionalProperites != null) {
 			props.put(JaxrsWhiteboardConstants.JAX_RS_APPLICATION_SERVICE_PROPERTIES, additionalProperites);
@@ -19,6 +19,7 @@ import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.gecko.rest.jersey.factories.InjectionPlan;
 import org.gecko.rest.jersey.provider.application.AbstractJaxRsProvider;
 import org.gecko.rest.jersey.provider.application.JaxRsApplicationContentProvider;
 import org.gecko.rest.jersey.provider.application.JaxRsApplicationProvider;
@@ -44,9 +45,25 @@ public class JerseyApplicationContentProvider<T> extends AbstractJaxRsProvider<S
 	private Class<? extends Object> clazz;
 
 	public JerseyApplicationContentProvider(ServiceObjects<T> serviceObjects, Map<String, Object> properties) {
+		this(serviceObjects, properties, null);
+	}
+
+	/**
+	 * Creates a new instance, that looks up the implementation class in the given cache first
+	 * @param serviceObjects the service objects
+	 * @param properties the service properties
+	 * @param metadataCache the cache of the implementation classes or <code>null</code>
+	 */
+	public JerseyApplicationContentProvider(ServiceObjects<T> serviceObjects, Map<String, Object> properties, ProviderMetadataCache metadataCache) {
 		super(serviceObjects, properties);
 		serviceObjects = getProviderObject();
 		if(serviceObjects != null) {
+			clazz = metadataCache == null ? null : metadataCache.getImplementationClass(getServiceId(), serviceObjects.getServiceReference());
+			if (clazz != null) {
+				// the class is already known for this service, no need to instantiate it
+				InjectionPlan.forClass(clazz);
+				return;
+			}
 			T service = null;
 			try {
 				service = serviceObjects.getService();
@@ -57,6 +74,11 @@ public class JerseyApplicationContentProvider<T> extends AbstractJaxRsProvider<S
 			// if this is called while a service gets unregistered, the ServiceObjects returns null as a Service 
 			if(service != null) {
 				clazz = service.getClass();
+				if (metadataCache != null) {
+					metadataCache.putImplementationClass(getServiceId(), serviceObjects.getServiceReference(), clazz);
+				}
+				// analyze the injection points once, instead of on each request
+				InjectionPlan.forClass(clazz);
 				try {
 					//For some reason we had some explainable situation when this has produced an 
 					//IllegalArgumentException which should be impossible according to the javadoc and they way 
@@ -75,6 +97,16 @@ public class JerseyApplicationContentProvider<T> extends AbstractJaxRsProvider<S
 		}
 	}
 
+	/**
+	 * Creates a copy of the given provider, that reuses its metadata without getting the service again
+	 * @param source the provider to copy
+	 */
+	protected JerseyApplicationContentProvider(JerseyApplicationContentProvider<T> source) {
+		super(source);
+		this.applicationFilter = source.applicationFilter;
+		this.clazz = source.clazz;
+	}
+
 	/**
 	 * Returns <code>true</code>, if this resource is a singleton service
 	 * @return <code>true</code>, if this resource is a singleton service
@@ -95,6 +127,15 @@ public class JerseyApplicationContentProvider<T> extends AbstractJaxRsProvider<S
 		return super.clone();
 	}
 	
+	/* 
+	 * (non-Javadoc)
+	 * @see org.gecko.rest.jersey.provider.application.AbstractJaxRsProvider#updateProperties(java.util.Map)
+	 */
+	@Override
+	public void updateProperties(Map<String, Object> properties) {
+		super.updateProperties(properties);
+	}
+	
 	/* 
 	 * (non-Javadoc)
 	 * @see org.gecko.rest.jersey.provider.JaxRsRandEProvider#getObjectClass()
@@ -15,9 +15,12 @@ package org.gecko.rest.jersey.runtime.application;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -32,6 +35,7 @@ import org.gecko.rest.jersey.provider.application.JaxRsApplicationProvider;
 import org.gecko.rest.jersey.provider.application.JaxRsExtensionProvider;
 import org.gecko.rest.jersey.provider.application.JaxRsResourceProvider;
 import org.glassfish.jersey.servlet.ServletContainer;
+import org.osgi.framework.Constants;
 import org.osgi.service.jaxrs.runtime.dto.BaseApplicationDTO;
 import org.osgi.service.jaxrs.runtime.dto.DTOConstants;
 import org.osgi.service.jaxrs.runtime.dto.FailedApplicationDTO;
@@ -354,6 +358,40 @@ public class JerseyApplicationProvider extends AbstractJaxRsProvider<Application
 	public void updateStatus(int newStatus) {
 		super.updateStatus(newStatus);
 	}
+	
+	/* 
+	 * (non-Javadoc)
+	 * @see org.gecko.rest.jersey.provider.application.AbstractJaxRsProvider#updateProperties(java.util.Map)
+	 */
+	@Override
+	public void updateProperties(Map<String, Object> properties) {
+		boolean modified = isModified(getProviderProperties(), properties == null ? Collections.emptyMap() : properties);
+		super.updateProperties(properties);
+		if (wrappedApplication != null) {
+			wrappedApplication.updateServiceProperties(properties);
+		}
+		if (modified) {
+			// the application gets its service properties, so the container has to be reloaded
+			changed = true;
+		}
+	}
+
+	/**
+	 * Returns <code>true</code>, if a property other than the service ranking differs
+	 * @param oldProperties the previous properties
+	 * @param newProperties the modified properties
+	 * @return <code>true</code>, if the application has to be reloaded
+	 */
+	private boolean isModified(Map<String, Object> oldProperties, Map<String, Object> newProperties) {
+		Set<String> keys = new HashSet<>(oldProperties.keySet());
+		keys.addAll(newProperties.keySet());
+		for (String key : keys) {
+			if (!Constants.SERVICE_RANKING.equals(key) && !Objects.deepEquals(oldProperties.get(key), newProperties.get(key))) {
+				return true;
+			}
+		}
+		return false;
+	}
 
 
 }
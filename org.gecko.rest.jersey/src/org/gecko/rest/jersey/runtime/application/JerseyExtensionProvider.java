@@ -36,6 +36,7 @@ import javax.ws.rs.ext.ReaderInterceptor;
 import javax.ws.rs.ext.WriterInterceptor;
 
 import org.gecko.rest.jersey.dto.DTOConverter;
+import org.gecko.rest.jersey.factories.InjectionPlan;
 import org.gecko.rest.jersey.provider.application.JaxRsExtensionProvider;
 import org.gecko.rest.jersey.proxy.ExtensionProxyFactory;
 import org.glassfish.jersey.internal.inject.InjectionManager;
@@ -54,30 +55,49 @@ import org.osgi.service.jaxrs.whiteboard.JaxrsWhiteboardConstants;
  */
 public class JerseyExtensionProvider<T> extends JerseyApplicationContentProvider<T> implements JaxRsExtensionProvider {
 
-	private static final List<String> POSSIBLE_INTERFACES = Arrays.asList(new String[] {
-		ContainerRequestFilter.class.getName(),
-		ContainerResponseFilter.class.getName(),
-		ReaderInterceptor.class.getName(),
-		WriterInterceptor.class.getName(),
-		MessageBodyReader.class.getName(),
-		MessageBodyWriter.class.getName(),
-		ContextResolver.class.getName(),
-		ExceptionMapper.class.getName(),
-		ParamConverterProvider.class.getName(),
-		Feature.class.getName(),
-		DynamicFeature.class.getName()
-	});
+	private static final Map<String, Class<?>> POSSIBLE_INTERFACES = Arrays.asList(new Class<?>[] {
+		ContainerRequestFilter.class,
+		ContainerResponseFilter.class,
+		ReaderInterceptor.class,
+		WriterInterceptor.class,
+		MessageBodyReader.class,
+		MessageBodyWriter.class,
+		ContextResolver.class,
+		ExceptionMapper.class,
+		ParamConverterProvider.class,
+		Feature.class,
+		DynamicFeature.class
+	}).stream().collect(toMap(Class::getName, Function.identity()));
 	
 	private Class<?>[] contracts = null;
 	
 	private ClassLoader proxyClassLoader = null;
 	
 	public JerseyExtensionProvider(ServiceObjects<T> serviceObjects, Map<String, Object> properties) {
-		super(serviceObjects, properties);
+		this(serviceObjects, properties, null);
+	}
+
+	/**
+	 * Creates a new instance, that looks up the implementation class in the given cache first
+	 * @param serviceObjects the service objects
+	 * @param properties the service properties
+	 * @param metadataCache the cache of the implementation classes or <code>null</code>
+	 */
+	public JerseyExtensionProvider(ServiceObjects<T> serviceObjects, Map<String, Object> properties, ProviderMetadataCache metadataCache) {
+		super(serviceObjects, properties, metadataCache);
 		checkExtensionProperty(properties);
 		extractContracts(properties);
 		
 	}
+
+	/**
+	 * Creates a copy of the given provider, that reuses its metadata without getting the service again
+	 * @param source the provider to copy
+	 */
+	protected JerseyExtensionProvider(JerseyExtensionProvider<T> source) {
+		super(source);
+		this.contracts = source.contracts;
+	}
 	
 	/**
 	 * If the ExtensionProvider does not advertise the property osgi.jaxrs.extension as true then it is not a 
@@ -98,12 +118,9 @@ public class JerseyExtensionProvider<T> extends JerseyApplicationContentProvider
 		String[] objectClasses = (String[]) properties.get(Constants.OBJECTCLASS);
 		List<Class<?>> possibleContracts = new ArrayList<>(objectClasses.length);
 		for (String objectClass : objectClasses) {
-			if(POSSIBLE_INTERFACES.contains(objectClass)) {
-				try {
-					possibleContracts.add(Class.forName(objectClass));
-				} catch (ClassNotFoundException e) {
-					e.printStackTrace();
-				}
+			Class<?> contract = POSSIBLE_INTERFACES.get(objectClass);
+			if(contract != null) {
+				possibleContracts.add(contract);
 			} 
 		}
 		if(!possibleContracts.isEmpty()) {
@@ -152,7 +169,7 @@ public class JerseyExtensionProvider<T> extends JerseyApplicationContentProvider
 	 */
 	@Override
 	public Object clone() throws CloneNotSupportedException {
-		return new JerseyExtensionProvider<T>(getProviderObject(), getProviderProperties());
+		return new JerseyExtensionProvider<T>(this);
 	}
 	
 	/**
@@ -175,7 +192,7 @@ public class JerseyExtensionProvider<T> extends JerseyApplicationContentProvider
 	@Override
 	public JaxRsExtension getExtension(InjectionManager injectionManager) {
 		T service = getProviderObject().getService();
-		injectionManager.inject(service);
+		InjectionPlan.inject(service, injectionManager);
 		return new JerseyExtension(service);
 	}
 	
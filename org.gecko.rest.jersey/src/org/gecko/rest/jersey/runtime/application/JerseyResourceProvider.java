@@ -34,6 +34,24 @@ public class JerseyResourceProvider<T extends Object> extends JerseyApplicationC
 		super(serviceObjects, properties);
 	}
 
+	/**
+	 * Creates a new instance, that looks up the implementation class in the given cache first
+	 * @param serviceObjects the service objects
+	 * @param properties the service properties
+	 * @param metadataCache the cache of the implementation classes or <code>null</code>
+	 */
+	public JerseyResourceProvider(ServiceObjects<T> serviceObjects, Map<String, Object> properties, ProviderMetadataCache metadataCache) {
+		super(serviceObjects, properties, metadataCache);
+	}
+
+	/**
+	 * Creates a copy of the given provider, that reuses its metadata without getting the service again
+	 * @param source the provider to copy
+	 */
+	protected JerseyResourceProvider(JerseyResourceProvider<T> source) {
+		super(source);
+	}
+
 	/* 
 	 * (non-Javadoc)
 	 * @see org.gecko.rest.jersey.provider.JaxRsResourceProvider#isResource()
@@ -63,7 +81,7 @@ public class JerseyResourceProvider<T extends Object> extends JerseyApplicationC
 	 */
 	@Override
 	public Object clone() throws CloneNotSupportedException {
-		return new JerseyResourceProvider<T>(getProviderObject(), getProviderProperties());
+		return new JerseyResourceProvider<T>(this);
 	}
 	
 	/**
@@ -0,0 +1,92 @@
+/**
+ * Copyright (c) 2012 - 2022 Data In Motion and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Data In Motion - initial API and implementation
+ *     Stefan Bishof - API and implementation
+ *     Tim Ward - implementation
+ */
+package org.gecko.rest.jersey.runtime.application;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.osgi.framework.ServiceReference;
+
+/**
+ * Cache for the implementation classes of resource and extension services, keyed by the service id.
+ * The implementation class of a service registration never changes. So the service has only to be instantiated
+ * once to learn its class, instead of each time a provider is created for it. An entry is only used for the
+ * same {@link ServiceReference}, it was created for. Entries have to be removed, when the service is unregistered.
+ * Each dispatcher has its own cache, that is cleared, when the dispatcher is deactivated.
+ * @author agent
+ * @since 18.10.2026
+ */
+public class ProviderMetadataCache {
+
+	private final Map<Long, Metadata> metadata = new ConcurrentHashMap<>();
+
+	/**
+	 * Returns the cached implementation class of the service
+	 * @param serviceId the service id, can be <code>null</code>
+	 * @param reference the service reference, can be <code>null</code>
+	 * @return the implementation class or <code>null</code>, if it is not cached
+	 */
+	public Class<?> getImplementationClass(Long serviceId, ServiceReference<?> reference) {
+		if (serviceId == null || reference == null) {
+			return null;
+		}
+		Metadata entry = metadata.get(serviceId);
+		return entry != null && entry.reference.equals(reference) ? entry.implementationClass : null;
+	}
+
+	/**
+	 * Caches the implementation class of the service
+	 * @param serviceId the service id, can be <code>null</code>
+	 * @param reference the service reference, can be <code>null</code>
+	 * @param clazz the implementation class
+	 */
+	public void putImplementationClass(Long serviceId, ServiceReference<?> reference, Class<?> clazz) {
+		if (serviceId != null && reference != null && clazz != null) {
+			metadata.put(serviceId, new Metadata(reference, clazz));
+		}
+	}
+
+	/**
+	 * Removes the cached metadata of the service
+	 * @param serviceId the service id, can be <code>null</code>
+	 */
+	public void remove(Long serviceId) {
+		if (serviceId != null) {
+			metadata.remove(serviceId);
+		}
+	}
+
+	/**
+	 * Removes all cached metadata
+	 */
+	public void clear() {
+		metadata.clear();
+	}
+
+	/**
+	 * Cached metadata of a service registration
+	 */
+	private static class Metadata {
+
+		private final ServiceReference<?> reference;
+		private final Class<?> implementationClass;
+
+		Metadata(ServiceReference<?> reference, Class<?> implementationClass) {
+			this.reference = reference;
+			this.implementationClass = implementationClass;
+		}
+
+	}
+
+}
@@ -18,6 +18,8 @@ import static org.osgi.service.jaxrs.runtime.JaxrsServiceRuntimeConstants.JAX_RS
 import static org.osgi.service.jaxrs.whiteboard.JaxrsWhiteboardConstants.JAX_RS_NAME;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Dictionary;
 import java.util.Enumeration;
 import java.util.HashMap;
@@ -28,6 +30,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
@@ -35,10 +39,12 @@ import java.util.logging.Logger;
 
 import javax.ws.rs.core.Application;
 
+import org.gecko.rest.jersey.binder.GeneratedInvokerBinder;
 import org.gecko.rest.jersey.binder.PrototypeServiceBinder;
 import org.gecko.rest.jersey.dto.DTOConverter;
 import org.gecko.rest.jersey.factories.InjectableFactory;
 import org.gecko.rest.jersey.factories.JerseyResourceInstanceFactory;
+import org.gecko.rest.jersey.factories.ResourceInstanceReaper;
 import org.gecko.rest.jersey.helper.JerseyHelper;
 import org.gecko.rest.jersey.provider.JerseyConstants;
 import org.gecko.rest.jersey.provider.application.JaxRsApplicationProvider;
@@ -46,9 +52,13 @@ import org.gecko.rest.jersey.provider.application.JaxRsExtensionProvider;
 import org.gecko.rest.jersey.provider.application.JaxRsResourceProvider;
 import org.gecko.rest.jersey.provider.whiteboard.JaxRsWhiteboardProvider;
 import org.gecko.rest.jersey.runtime.application.JerseyApplication;
+import org.gecko.rest.jersey.runtime.application.feature.WhiteboardFeature;
+import org.gecko.rest.jersey.runtime.servlet.ConsolidatedApplicationGroup;
+import org.gecko.rest.jersey.runtime.servlet.ReloadWarmup;
 import org.gecko.rest.jersey.runtime.servlet.WhiteboardServletContainer;
 import org.glassfish.jersey.server.ResourceConfig;
 import org.glassfish.jersey.server.ServerProperties;
+import org.glassfish.jersey.server.model.Resource;
 import org.glassfish.jersey.servlet.ServletContainer;
 import org.osgi.framework.ServiceReference;
 import org.osgi.framework.ServiceRegistration;
@@ -88,6 +98,23 @@ public abstract class AbstractJerseyServiceRuntime implements JaxrsServiceRuntim
 	private Logger logger = Logger.getLogger("jaxRs.serviceRuntime");
 	private ServiceRegistration<JaxrsServiceRuntime> regJaxrsServiceRuntime;
 	private AtomicLong changeCount = new AtomicLong();
+	// grouping of application changes, guarded by this
+	private int updateDepth = 0;
+	private boolean pendingRuntimeUpdate = false;
+	// reload configuration
+	private volatile boolean backgroundReload = false;
+	private volatile Set<String> warmupMethods = Collections.emptySet();
+	private volatile int warmupRounds = 0;
+	private volatile long warmupTimeout = 0;
+	private ExecutorService reloadExecutor;
+	// resource method invocation
+	private volatile boolean generatedInvokers = false;
+	// live prototype resource instances
+	private final ResourceInstanceReaper instanceReaper = new ResourceInstanceReaper();
+	// guards the update of the runtime service properties
+	private final Object propertiesMonitor = new Object();
+	private int publishedLiveInstances = 0;
+	private long publishedReapedInstances = 0;
 
 	/* 
 	 * (non-Javadoc)
@@ -107,6 +134,7 @@ public abstract class AbstractJerseyServiceRuntime implements JaxrsServiceRuntim
 	@Override
 	public void initialize(ComponentContext context) throws ConfigurationException {
 		this.context = context;
+		instanceReaper.setSweepListener(this::updateInstanceCounts);
 		updateProperties(context);
 		doInitialize(context);
 		
@@ -119,7 +147,10 @@ public abstract class AbstractJerseyServiceRuntime implements JaxrsServiceRuntim
 	@Override
 	public void startup() {
 		doStartup();
-		Dictionary<String, Object> properties = getRuntimePropertiesWithNewChangeCount();
+		Dictionary<String, Object> properties;
+		synchronized (propertiesMonitor) {
+			properties = getRuntimePropertiesWithNewChangeCount();
+		}
 		String[] service = new String[] {JaxrsServiceRuntime.class.getName(), JaxRsWhiteboardProvider.class.getName()};
 		try {
 
@@ -140,18 +171,55 @@ public abstract class AbstractJerseyServiceRuntime implements JaxrsServiceRuntim
 	 * @return the properties that can be assigned to the changecount
 	 */
 	private Dictionary<String, Object> getRuntimePropertiesWithNewChangeCount() {
+		return getRuntimeProperties(changeCount.incrementAndGet());
+	}
+
+	/**
+	 * Merges all available properties and adds the given changecount and the resource instance counts
+	 * @param count the changecount
+	 * @return the properties of the runtime
+	 */
+	private Dictionary<String, Object> getRuntimeProperties(long count) {
 		Dictionary<String, Object> properties = new Hashtable<>();
 		getProperties().entrySet().forEach(e -> properties.put(e.getKey(), e.getValue()));
 		properties.put(JAX_RS_SERVICE_ENDPOINT, getURLs(context));
 		properties.put(JAX_RS_NAME, name);
-		properties.put(SERVICE_CHANGECOUNT, changeCount.incrementAndGet());
+		publishedLiveInstances = instanceReaper.getLiveInstanceCount();
+		publishedReapedInstances = instanceReaper.getReapedCount();
+		properties.put(JerseyConstants.JERSEY_RESOURCE_INSTANCES_LIVE, publishedLiveInstances);
+		properties.put(JerseyConstants.JERSEY_RESOURCE_INSTANCES_REAPED, publishedReapedInstances);
+		properties.put(SERVICE_CHANGECOUNT, count);
 		return properties;
 	}
+
+	/**
+	 * Publishes the resource instance counts, if they changed since the last update of the runtime properties.
+	 * The changecount is kept, because the DTOs did not change
+	 */
+	private void updateInstanceCounts() {
+		synchronized (propertiesMonitor) {
+			if (regJaxrsServiceRuntime == null || 
+					(publishedLiveInstances == instanceReaper.getLiveInstanceCount() && publishedReapedInstances == instanceReaper.getReapedCount())) {
+				return;
+			}
+			try {
+				regJaxrsServiceRuntime.setProperties(getRuntimeProperties(changeCount.get()));
+			} catch (IllegalStateException e) {
+				// the runtime was unregistered meanwhile
+			}
+		}
+	}
 	
 	/**
 	 * Updates the properties and the changecount of the registered Runtime
 	 */
 	private void updateRuntimeDtoAndChangeCount() {
+		synchronized (this) {
+			if (updateDepth > 0) {
+				pendingRuntimeUpdate = true;
+				return;
+			}
+		}
 					updateRuntimeDTO();
 			//151.2.1 The JAX-RS Service Runtime Service 
 			/*
@@ -168,9 +236,11 @@ public abstract class AbstractJerseyServiceRuntime implements JaxrsServiceRuntim
 
 
 	private void updateChangeCount() {
-		Dictionary<String, Object> properties = getRuntimePropertiesWithNewChangeCount();
-		if(regJaxrsServiceRuntime!=null) {
-			regJaxrsServiceRuntime.setProperties(properties);
+		synchronized (propertiesMonitor) {
+			Dictionary<String, Object> properties = getRuntimePropertiesWithNewChangeCount();
+			if(regJaxrsServiceRuntime!=null) {
+				regJaxrsServiceRuntime.setProperties(properties);
+			}
 		}
 
 	}
@@ -212,6 +282,13 @@ public abstract class AbstractJerseyServiceRuntime implements JaxrsServiceRuntim
 				logger.log(Level.SEVERE, "Error unregsitering JaxRsRuntime", ise);
 			}
 		}
+		synchronized (this) {
+			if (reloadExecutor != null) {
+				reloadExecutor.shutdown();
+				reloadExecutor = null;
+			}
+		}
+		instanceReaper.close();
 		doTeardown();
 	}
 
@@ -359,29 +436,87 @@ public abstract class AbstractJerseyServiceRuntime implements JaxrsServiceRuntim
 			registerApplication(applicationProvider);
 		} else {
 			applicationContainerMap.put(applicationProvider.getId(), applicationProvider);
-			List<ServletContainer> servletContainers = provider.getServletContainers();
-			if(servletContainers.isEmpty()) {
-				logger.log(Level.INFO, "-- No servlet container is available to reload " + applicationProvider.getName());
-			} else {
-				logger.log(Level.FINE, "Reload servlet container for application " + applicationProvider.getName());
-				
-				List<ServletContainer> copyList = new ArrayList<>(servletContainers);
-				
-				copyList.forEach(servletContainer -> {
-					try{
-						ResourceConfigWrapper config = createResourceConfig(provider);
-						
-						((WhiteboardServletContainer) servletContainer).reloadWrapper(config);
-					} catch(Exception e) {
-						//We cant't check if the surrounding container is started, so we have to do it this way
-						logger.log(Level.WARNING, "Jetty servlet context handler is not started yet", e);
-					}
-				});
-			}
+			reloadServletContainers(provider);
 			//App Properties could be changed
 			updateRuntimeDtoAndChangeCount();
 		}
 	}
+
+	/**
+	 * Reloads the servlet containers of a registered application with a new configuration
+	 * @param provider the registered application provider
+	 */
+	protected void reloadServletContainers(JaxRsApplicationProvider provider) {
+		List<ServletContainer> servletContainers = provider.getServletContainers();
+		if(servletContainers.isEmpty()) {
+			logger.log(Level.INFO, "-- No servlet container is available to reload " + provider.getName());
+		} else {
+			logger.log(Level.FINE, "Reload servlet container for application " + provider.getName());
+			
+			List<ServletContainer> copyList = new ArrayList<>(servletContainers);
+			ReloadWarmup warmup = createWarmup(provider);
+			
+			copyList.forEach(servletContainer -> {
+				try{
+					ResourceConfigWrapper config = createResourceConfig(provider);
+					reloadServletContainer((WhiteboardServletContainer) servletContainer, config, warmup);
+				} catch(Exception e) {
+					//We cant't check if the surrounding container is started, so we have to do it this way
+					logger.log(Level.WARNING, "Jetty servlet context handler is not started yet", e);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Reloads a container, on a background thread, if configured
+	 * @param container the container
+	 * @param config the new configuration
+	 * @param warmup the warm-up or <code>null</code>
+	 */
+	protected void reloadServletContainer(WhiteboardServletContainer container, ResourceConfigWrapper config, ReloadWarmup warmup) {
+		if (backgroundReload) {
+			container.reloadWrapper(config, warmup, getReloadExecutor());
+		} else {
+			container.reloadWrapper(config, warmup);
+		}
+	}
+	
+	/**
+	 * Creates the warm-up requests for the reload of the application, if a warm-up is configured
+	 * @param provider the application provider
+	 * @return the warm-up or <code>null</code>
+	 */
+	private ReloadWarmup createWarmup(JaxRsApplicationProvider provider) {
+		if (warmupMethods.isEmpty() || warmupRounds <= 0) {
+			return null;
+		}
+		BaseApplicationDTO dto = provider.getApplicationDTO();
+		return dto instanceof ApplicationDTO ? ReloadWarmup.forApplication((ApplicationDTO) dto, warmupMethods, warmupRounds, warmupTimeout) : null;
+	}
+
+	/**
+	 * Returns the reaper of the prototype resource instances, e.g. to monitor the number of live instances
+	 * @return the reaper
+	 */
+	public ResourceInstanceReaper getResourceInstanceReaper() {
+		return instanceReaper;
+	}
+
+	/**
+	 * Returns the executor for background reloads
+	 * @return the executor
+	 */
+	private synchronized ExecutorService getReloadExecutor() {
+		if (reloadExecutor == null) {
+			reloadExecutor = Executors.newCachedThreadPool((r)->{
+				Thread thread = new Thread(r, "JaxRsWhiteboardReload-" + name);
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+		return reloadExecutor;
+	}
 	
 	/* 
 	 * (non-Javadoc)
@@ -395,6 +530,30 @@ public abstract class AbstractJerseyServiceRuntime implements JaxrsServiceRuntim
 		return applicationContainerMap.containsKey(provider.getId());
 	}
 
+	/* 
+	 * (non-Javadoc)
+	 * @see org.gecko.rest.jersey.provider.whiteboard.JaxRsWhiteboardProvider#beginUpdate()
+	 */
+	@Override
+	public synchronized void beginUpdate() {
+		updateDepth++;
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see org.gecko.rest.jersey.provider.whiteboard.JaxRsWhiteboardProvider#endUpdate()
+	 */
+	@Override
+	public void endUpdate() {
+		synchronized (this) {
+			if (updateDepth == 0 || --updateDepth > 0 || !pendingRuntimeUpdate) {
+				return;
+			}
+			pendingRuntimeUpdate = false;
+		}
+		updateRuntimeDtoAndChangeCount();
+	}
+
 	/* 
 	 * (non-Javadoc)
 	 * @see org.gecko.rest.jersey.provider.whiteboard.JaxRsWhiteboardProvider#getName()
@@ -451,6 +610,70 @@ public abstract class AbstractJerseyServiceRuntime implements JaxrsServiceRuntim
 		PrototypeServiceBinder resBinder = new PrototypeServiceBinder();
 		AtomicBoolean resRegistered = new AtomicBoolean(false);
 		
+		registerResourceFactories(applicationProvider, wrapper, resBinder, resRegistered);
+		if (resRegistered.get()) {
+			config.register(resBinder);
+		}
+		if (generatedInvokers) {
+			config.register(new GeneratedInvokerBinder());
+		}
+		return wrapper;
+	}
+
+	/**
+	 * Creates one {@link ResourceConfig} for applications, that share a Jersey container. The resources of each application
+	 * are registered as child resources of its base path. All applications have the same extensions, so that the extensions
+	 * of the first application are registered for all of them.
+	 * @param applicationProviders the JaxRs application providers
+	 * @return the configuration
+	 * @see ConsolidatedApplicationGroup
+	 */
+	protected ResourceConfigWrapper createConsolidatedResourceConfig(Collection<JaxRsApplicationProvider> applicationProviders) {
+		ResourceConfigWrapper wrapper = new ResourceConfigWrapper();
+		ResourceConfig config = new ResourceConfig();
+		config.property(ServerProperties.RESOURCE_VALIDATION_IGNORE_ERRORS, Boolean.TRUE);
+		wrapper.config = config;
+		
+		PrototypeServiceBinder resBinder = new PrototypeServiceBinder();
+		AtomicBoolean resRegistered = new AtomicBoolean(false);
+		boolean extensionsRegistered = false;
+		for (JaxRsApplicationProvider applicationProvider : applicationProviders) {
+			Application application = applicationProvider.getJaxRsApplication();
+			if (application instanceof JerseyApplication) {
+				((JerseyApplication) application).resetForReload();
+			}
+			if (!extensionsRegistered) {
+				// the singleton resources are served by the factories. All members have the same singleton scoped extensions,
+				// see ConsolidatedApplicationGroup#getKey, so that the feature of the first member serves all of them
+				application.getSingletons().stream().filter(WhiteboardFeature.class::isInstance).forEach(config::register);
+				extensionsRegistered = true;
+			}
+			Resource.Builder base = Resource.builder(ConsolidatedApplicationGroup.getBasePath(applicationProvider.getPath()));
+			applicationProvider.getContentProviers().stream()
+				.filter(JaxRsResourceProvider.class::isInstance)
+				.map(provider -> Resource.from(provider.getObjectClass()))
+				.filter(resource -> resource != null && resource.getPath() != null)
+				.forEach(base::addChildResource);
+			config.registerResources(base.build());
+			registerResourceFactories(applicationProvider, wrapper, resBinder, resRegistered);
+		}
+		if (resRegistered.get()) {
+			config.register(resBinder);
+		}
+		if (generatedInvokers) {
+			config.register(new GeneratedInvokerBinder());
+		}
+		return wrapper;
+	}
+
+	/**
+	 * Registers the factories for the resource services of the application
+	 * @param applicationProvider the JaxRs application provider
+	 * @param wrapper the configuration wrapper, that keeps the factories
+	 * @param resBinder the binder for the factories
+	 * @param resRegistered set to <code>true</code>, if a factory was registered
+	 */
+	private void registerResourceFactories(JaxRsApplicationProvider applicationProvider, ResourceConfigWrapper wrapper, PrototypeServiceBinder resBinder, AtomicBoolean resRegistered) {
 		applicationProvider.getContentProviers().stream().sorted().forEach(provider -> {					
 			logger.info("Register prototype provider for classes " + provider.getObjectClass() + " in the application " + applicationProvider.getId());
 			logger.info("Register prototype provider for name " + provider.getName() + " id " + provider.getId() + " rank " + provider.getServiceRank());
@@ -460,17 +683,15 @@ public abstract class AbstractJerseyServiceRuntime implements JaxrsServiceRuntim
 			InjectableFactory<?> factory = null;
 			if(provider instanceof JaxRsResourceProvider) {
 				resRegistered.set(true);
-				factory = new JerseyResourceInstanceFactory<>(provider);
-				resBinder.register(provider.getObjectClass(), factory);
+				JerseyResourceInstanceFactory<?> resourceFactory = new JerseyResourceInstanceFactory<>(provider);
+				instanceReaper.register(resourceFactory);
+				resBinder.register(provider.getObjectClass(), resourceFactory);
+				factory = resourceFactory;
 			}
 			if(factory != null) {
 				wrapper.factories.add(factory);
 			}
 		});
-		if (resRegistered.get()) {
-			config.register(resBinder);
-		}
-		return wrapper;
 	}
 
 	/**
@@ -489,6 +710,14 @@ public abstract class AbstractJerseyServiceRuntime implements JaxrsServiceRuntim
 				throw new ConfigurationException(JAX_RS_NAME, "No name was defined for the whiteboard");
 			}
 		}
+		Object background = JerseyHelper.getPropertyWithDefault(ctx, JerseyConstants.JERSEY_RELOAD_BACKGROUND, Boolean.FALSE);
+		backgroundReload = Boolean.parseBoolean(background.toString());
+		warmupMethods = ReloadWarmup.parseMethods(JerseyHelper.getPropertyWithDefault(ctx, JerseyConstants.JERSEY_RELOAD_WARMUP_METHODS, null));
+		warmupRounds = (int) JerseyHelper.getLongPropertyWithDefault(ctx, JerseyConstants.JERSEY_RELOAD_WARMUP_ROUNDS, JerseyConstants.WHITEBOARD_DEFAULT_RELOAD_WARMUP_ROUNDS);
+		warmupTimeout = JerseyHelper.getLongPropertyWithDefault(ctx, JerseyConstants.JERSEY_RELOAD_WARMUP_TIMEOUT, JerseyConstants.WHITEBOARD_DEFAULT_RELOAD_WARMUP_TIMEOUT);
+		Object invokers = JerseyHelper.getPropertyWithDefault(ctx, JerseyConstants.JERSEY_INVOKER_GENERATED, Boolean.FALSE);
+		generatedInvokers = Boolean.parseBoolean(invokers.toString());
+		instanceReaper.setMaxAge(JerseyHelper.getLongPropertyWithDefault(ctx, JerseyConstants.JERSEY_RESOURCE_REAPER_AGE, 0));
 		doUpdateProperties(ctx);
 		updateRuntimeDtoAndChangeCount();
 	}
@@ -17,6 +17,7 @@ import java.util.LinkedList;
 import java.util.List;
 
 import org.gecko.rest.jersey.factories.InjectableFactory;
+import org.gecko.rest.jersey.factories.JerseyResourceInstanceFactory;
 import org.glassfish.jersey.internal.inject.InjectionManager;
 import org.glassfish.jersey.server.ApplicationHandler;
 import org.glassfish.jersey.server.ResourceConfig;
@@ -40,4 +41,15 @@ public class ResourceConfigWrapper {
 		factories.forEach(f -> f.setInjectionManager(manager));
 	}
 	
+	/**
+	 * Releases the resource instances, that are still held by the factories
+	 */
+	public void dispose() {
+		factories.forEach(f -> {
+			if (f instanceof JerseyResourceInstanceFactory<?>) {
+				((JerseyResourceInstanceFactory<?>) f).dispose();
+			}
+		});
+	}
+	
 }
@@ -0,0 +1,124 @@
+/**
+ * Copyright (c) 2012 - 2022 Data In Motion and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Data In Motion - initial API and implementation
+ *     Stefan Bishof - API and implementation
+ *     Tim Ward - implementation
+ */
+package org.gecko.rest.jersey.runtime.dispatcher;
+
+import static org.osgi.service.jaxrs.whiteboard.JaxrsWhiteboardConstants.JAX_RS_APPLICATION_SELECT;
+import static org.osgi.service.jaxrs.whiteboard.JaxrsWhiteboardConstants.JAX_RS_NAME;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.gecko.rest.jersey.provider.application.JaxRsApplicationContentProvider;
+import org.gecko.rest.jersey.provider.application.JaxRsApplicationProvider;
+
+/**
+ * Index over the application names, to resolve simple application select filters like
+ * <code>(osgi.jaxrs.name=myApp)</code> with a hash lookup instead of a filter evaluation against each application.
+ * Content with any other application select filter may match every application and needs the full evaluation.
+ * In addition the index knows the applications, that currently hold a content, so that the content only needs to be removed from them.
+ * @author agent
+ * @since 18.10.2026
+ */
+public class ApplicationSelectIndex {
+
+	private static final Pattern NAME_SELECT_PATTERN = Pattern.compile("^\\(" + Pattern.quote(JAX_RS_NAME) + "=([^\\s()*\\\\]+)\\)$");
+	private final Map<String, Set<JaxRsApplicationProvider>> applicationsByName = new HashMap<>();
+	private final Set<JaxRsApplicationProvider> unindexedApplications = new LinkedHashSet<>();
+	private final Map<String, Set<JaxRsApplicationProvider>> contentOwners = new HashMap<>();
+
+	/**
+	 * Creates a new instance.
+	 * @param candidates the applications to index
+	 */
+	public ApplicationSelectIndex(Collection<JaxRsApplicationProvider> candidates) {
+		this(candidates, Collections.emptyList());
+	}
+
+	/**
+	 * Creates a new instance.
+	 * @param candidates the applications to index by name
+	 * @param applications all applications, whose current content is indexed
+	 */
+	public ApplicationSelectIndex(Collection<JaxRsApplicationProvider> candidates, Collection<JaxRsApplicationProvider> applications) {
+		candidates.forEach((app)->{
+			Object name = app.getApplicationProperties().get(JAX_RS_NAME);
+			if (name instanceof String) {
+				applicationsByName.computeIfAbsent((String) name, (n)->new LinkedHashSet<>()).add(app);
+			} else if (name != null) {
+				unindexedApplications.add(app);
+			}
+		});
+		applications.forEach((app)->{
+			Collection<JaxRsApplicationContentProvider> content = app.getContentProviers();
+			if (content != null) {
+				content.forEach((c)->contentOwners.computeIfAbsent(c.getId(), (id)->new LinkedHashSet<>()).add(app));
+			}
+		});
+	}
+
+	/**
+	 * Returns the candidate applications, that may be selected by a simple application select filter. These are the
+	 * applications with the given name and the ones, whose name is not a String. All other candidates can not be selected for sure.
+	 * The returned applications still have to be checked with {@link JaxRsApplicationContentProvider#canHandleApplication(JaxRsApplicationProvider)}.
+	 * @param selectedName the application name selected by the content, see {@link #getSelectedName(JaxRsApplicationContentProvider)}
+	 * @return the applications, that may match, never <code>null</code>
+	 */
+	public Set<JaxRsApplicationProvider> getApplications(String selectedName) {
+		Set<JaxRsApplicationProvider> named = applicationsByName.get(selectedName);
+		if (unindexedApplications.isEmpty()) {
+			return named == null ? Collections.emptySet() : named;
+		}
+		Set<JaxRsApplicationProvider> result = new LinkedHashSet<>(unindexedApplications);
+		if (named != null) {
+			result.addAll(named);
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the applications, that held the content, when the index was created
+	 * @param content the content provider
+	 * @return the applications, that contain a content with the same id, never <code>null</code>
+	 */
+	public Set<JaxRsApplicationProvider> getOwners(JaxRsApplicationContentProvider content) {
+		if (content == null) {
+			return Collections.emptySet();
+		}
+		return contentOwners.getOrDefault(content.getId(), Collections.emptySet());
+	}
+
+	/**
+	 * Returns the application name of a simple <code>(osgi.jaxrs.name=...)</code> application select filter
+	 * @param content the content provider
+	 * @return the selected name or <code>null</code>, if there is no such simple filter
+	 */
+	public static String getSelectedName(JaxRsApplicationContentProvider content) {
+		if (content == null || content.getProviderProperties() == null) {
+			return null;
+		}
+		Object select = content.getProviderProperties().get(JAX_RS_APPLICATION_SELECT);
+		if (!(select instanceof String)) {
+			return null;
+		}
+		Matcher matcher = NAME_SELECT_PATTERN.matcher((String) select);
+		return matcher.matches() ? matcher.group(1) : null;
+	}
+
+}
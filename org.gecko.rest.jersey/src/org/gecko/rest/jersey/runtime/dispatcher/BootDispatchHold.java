@@ -0,0 +1,199 @@
+/**
+ * Copyright (c) 2012 - 2022 Data In Motion and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Data In Motion - initial API and implementation
+ *     Stefan Bishof - API and implementation
+ *     Tim Ward - implementation
+ */
+package org.gecko.rest.jersey.runtime.dispatcher;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.gecko.rest.jersey.provider.application.JaxRsWhiteboardDispatcher;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.Filter;
+import org.osgi.framework.InvalidSyntaxException;
+import org.osgi.framework.ServiceEvent;
+import org.osgi.framework.ServiceListener;
+import org.osgi.framework.ServiceReference;
+import org.osgi.service.condition.Condition;
+import org.osgi.service.jaxrs.whiteboard.JaxrsWhiteboardConstants;
+import org.osgi.util.tracker.ServiceTracker;
+import org.osgi.util.tracker.ServiceTrackerCustomizer;
+
+/**
+ * Holds back the initial dispatch of the whiteboard, until the system is ready. All applications, resources and extensions,
+ * that are registered during the startup, are then dispatched at once.
+ * The hold is released, when a {@link Condition} service matching the configured filter is available and no whiteboard
+ * service changed for the configured quiet period. The hold is released after the timeout in any case.
+ * @author agent
+ * @since 18.10.2026
+ */
+public class BootDispatchHold implements ServiceListener {
+
+	static final String HOLD_KEY = "boot";
+	private static final String WHITEBOARD_SERVICE_FILTER = "(|(" + JaxrsWhiteboardConstants.JAX_RS_RESOURCE + "=true)("
+			+ JaxrsWhiteboardConstants.JAX_RS_EXTENSION + "=true)(" + JaxrsWhiteboardConstants.JAX_RS_APPLICATION_BASE + "=*))";
+	private static final Logger logger = Logger.getLogger("jersey.dispatcher");
+	private final BundleContext context;
+	private final JaxRsWhiteboardDispatcher dispatcher;
+	private final String conditionFilter;
+	private final long quietPeriod;
+	private final long timeout;
+	private ServiceTracker<Condition, ServiceReference<Condition>> conditionTracker;
+	private ScheduledExecutorService scheduler;
+	private ScheduledFuture<?> quietTimer;
+	private boolean conditionSatisfied;
+	private boolean quiet;
+	private boolean released;
+
+	/**
+	 * Creates a new instance.
+	 * @param context the {@link BundleContext} to listen at
+	 * @param dispatcher the dispatcher to hold
+	 * @param conditionFilter the LDAP filter for the {@link Condition} service or <code>null</code>
+	 * @param quietPeriod the time in milliseconds without whiteboard service changes or 0
+	 * @param timeout the maximum time in milliseconds, the initial dispatch is held
+	 */
+	public BootDispatchHold(BundleContext context, JaxRsWhiteboardDispatcher dispatcher, String conditionFilter, long quietPeriod, long timeout) {
+		this.context = context;
+		this.dispatcher = dispatcher;
+		this.conditionFilter = conditionFilter;
+		this.quietPeriod = quietPeriod;
+		this.timeout = timeout;
+	}
+
+	/**
+	 * Holds the dispatch and starts waiting for the condition and the quiet period
+	 * @throws InvalidSyntaxException if the condition filter is invalid
+	 */
+	public void open() throws InvalidSyntaxException {
+		Filter filter = conditionFilter == null ? null :
+			context.createFilter("(&(objectClass=" + Condition.class.getName() + ")" + conditionFilter + ")");
+		logger.fine(()->"Holding the initial dispatch for at most " + timeout + " ms");
+		dispatcher.holdDispatch(HOLD_KEY, timeout);
+		synchronized (this) {
+			conditionSatisfied = filter == null;
+			quiet = quietPeriod <= 0;
+			if (!quiet) {
+				scheduler = Executors.newSingleThreadScheduledExecutor((r)->{
+					Thread thread = new Thread(r, "JaxRsWhiteboardBootHold");
+					thread.setDaemon(true);
+					return thread;
+				});
+				context.addServiceListener(this, WHITEBOARD_SERVICE_FILTER);
+				scheduleQuietPeriod();
+			}
+		}
+		if (filter != null) {
+			conditionTracker = new ServiceTracker<>(context, filter, new ServiceTrackerCustomizer<Condition, ServiceReference<Condition>>() {
+
+				@Override
+				public ServiceReference<Condition> addingService(ServiceReference<Condition> reference) {
+					conditionSatisfied();
+					return reference;
+				}
+
+				@Override
+				public void modifiedService(ServiceReference<Condition> reference, ServiceReference<Condition> service) {
+				}
+
+				@Override
+				public void removedService(ServiceReference<Condition> reference, ServiceReference<Condition> service) {
+				}
+
+			});
+			conditionTracker.open();
+		}
+		checkRelease();
+	}
+
+	/**
+	 * Stops waiting and releases the hold, if it is still active
+	 */
+	public void close() {
+		if (conditionTracker != null) {
+			conditionTracker.close();
+			conditionTracker = null;
+		}
+		synchronized (this) {
+			conditionSatisfied = true;
+			quiet = true;
+		}
+		checkRelease();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.osgi.framework.ServiceListener#serviceChanged(org.osgi.framework.ServiceEvent)
+	 */
+	@Override
+	public synchronized void serviceChanged(ServiceEvent event) {
+		if (!released) {
+			scheduleQuietPeriod();
+		}
+	}
+
+	/**
+	 * Marks the condition as satisfied
+	 */
+	void conditionSatisfied() {
+		synchronized (this) {
+			conditionSatisfied = true;
+		}
+		checkRelease();
+	}
+
+	/**
+	 * (Re-)starts the quiet period. Must be called holding the monitor
+	 */
+	private void scheduleQuietPeriod() {
+		if (quietTimer != null) {
+			quietTimer.cancel(false);
+		}
+		quietTimer = scheduler.schedule(()->{
+			synchronized (BootDispatchHold.this) {
+				quiet = true;
+			}
+			checkRelease();
+		}, quietPeriod, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Releases the hold, if the condition is satisfied and the quiet period elapsed
+	 */
+	private void checkRelease() {
+		synchronized (this) {
+			if (released || !conditionSatisfied || !quiet) {
+				return;
+			}
+			released = true;
+			if (scheduler != null) {
+				try {
+					context.removeServiceListener(this);
+				} catch (IllegalStateException e) {
+					logger.log(Level.FINE, "Bundle context is not valid anymore, listener is already removed", e);
+				}
+				if (quietTimer != null) {
+					quietTimer.cancel(false);
+				}
+				scheduler.shutdown();
+				scheduler = null;
+			}
+		}
+		logger.fine("Releasing the initial dispatch");
+		dispatcher.releaseDispatch(HOLD_KEY);
+	}
+
+}
@@ -0,0 +1,199 @@
+/**
+ * Copyright (c) 2012 - 2022 Data In Motion and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Data In Motion - initial API and implementation
+ *     Stefan Bishof - API and implementation
+ *     Tim Ward - implementation
+ */
+package org.gecko.rest.jersey.runtime.dispatcher;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.gecko.rest.jersey.provider.application.JaxRsWhiteboardDispatcher;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.BundleEvent;
+import org.osgi.framework.ServiceEvent;
+import org.osgi.framework.ServiceListener;
+import org.osgi.framework.ServiceReference;
+import org.osgi.framework.SynchronousBundleListener;
+
+/**
+ * Groups the service changes of a starting bundle into one dispatch. The dispatch is held back from the
+ * STARTING event of a bundle. Declarative services implementations may register the components of the bundle
+ * only in their own listener for the STARTED event, so that the hold is kept after the STARTED event, until the
+ * bundle did not register or modify a service for the settle period. All resources, extensions and applications,
+ * that are registered by the bundle in the meantime, are then dispatched at once. The hold is released, when the
+ * bundle is stopped or failed to start, and after the timeout in any case.
+ * @author agent
+ * @since 18.10.2026
+ */
+public class BundleDispatchBatcher implements SynchronousBundleListener, ServiceListener {
+
+	/** Settle period in milliseconds, if the dispatch has no quiet period */
+	public static final long DEFAULT_SETTLE_PERIOD = 100;
+	private static final Logger logger = Logger.getLogger("jersey.dispatcher");
+	private final BundleContext context;
+	private final JaxRsWhiteboardDispatcher dispatcher;
+	private final long settlePeriod;
+	private final long timeout;
+	// the holds by key, with the time in nanoseconds, when the hold expires
+	private final Map<String, Long> holds = new ConcurrentHashMap<>();
+	// the pending releases of the started bundles by key
+	private final Map<String, ScheduledFuture<?>> settling = new ConcurrentHashMap<>();
+	private volatile ScheduledExecutorService scheduler;
+
+	/**
+	 * Creates a new instance.
+	 * @param context the {@link BundleContext} to listen at
+	 * @param dispatcher the dispatcher to hold
+	 * @param quietPeriod the quiet period of the dispatch in milliseconds, that is used as settle period after the start.
+	 * With 0, the {@link #DEFAULT_SETTLE_PERIOD} is used
+	 * @param timeout the maximum time in milliseconds, a starting bundle holds the dispatch
+	 */
+	public BundleDispatchBatcher(BundleContext context, JaxRsWhiteboardDispatcher dispatcher, long quietPeriod, long timeout) {
+		this.context = context;
+		this.dispatcher = dispatcher;
+		this.settlePeriod = quietPeriod > 0 ? quietPeriod : DEFAULT_SETTLE_PERIOD;
+		this.timeout = timeout;
+	}
+
+	/**
+	 * Starts listening for bundle and service events
+	 */
+	public void open() {
+		scheduler = Executors.newSingleThreadScheduledExecutor((r)->{
+			Thread thread = new Thread(r, "JaxRsWhiteboardBundleBatcher");
+			thread.setDaemon(true);
+			return thread;
+		});
+		context.addServiceListener(this);
+		context.addBundleListener(this);
+	}
+
+	/**
+	 * Stops listening for bundle and service events and releases all holds of this batcher
+	 */
+	public void close() {
+		try {
+			context.removeBundleListener(this);
+			context.removeServiceListener(this);
+		} catch (IllegalStateException e) {
+			logger.log(Level.FINE, "Bundle context is not valid anymore, listener is already removed", e);
+		}
+		ScheduledExecutorService s = scheduler;
+		scheduler = null;
+		if (s != null) {
+			s.shutdownNow();
+		}
+		holds.keySet().forEach(this::release);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.osgi.framework.BundleListener#bundleChanged(org.osgi.framework.BundleEvent)
+	 */
+	@Override
+	public void bundleChanged(BundleEvent event) {
+		Bundle bundle = event.getBundle();
+		String key = getKey(bundle);
+		switch (event.getType()) {
+		case BundleEvent.STARTING:
+			logger.fine(()->"Holding dispatch for starting bundle " + bundle.getSymbolicName());
+			holds.put(key, Long.valueOf(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout)));
+			dispatcher.holdDispatch(key, timeout);
+			break;
+		case BundleEvent.STARTED:
+			scheduleRelease(key);
+			break;
+		case BundleEvent.STOPPING:
+		case BundleEvent.STOPPED:
+			release(key);
+			break;
+		default:
+			break;
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.osgi.framework.ServiceListener#serviceChanged(org.osgi.framework.ServiceEvent)
+	 */
+	@Override
+	public void serviceChanged(ServiceEvent event) {
+		if (settling.isEmpty() || event.getType() == ServiceEvent.UNREGISTERING) {
+			return;
+		}
+		ServiceReference<?> reference = event.getServiceReference();
+		Bundle bundle = reference == null ? null : reference.getBundle();
+		if (bundle == null) {
+			return;
+		}
+		String key = getKey(bundle);
+		if (settling.containsKey(key)) {
+			// the bundle is still registering its services
+			scheduleRelease(key);
+		}
+	}
+
+	/**
+	 * (Re-)schedules the release of a started bundle after the settle period, but not after the timeout of its hold
+	 * @param key the hold key
+	 */
+	private void scheduleRelease(String key) {
+		Long expiry = holds.get(key);
+		ScheduledExecutorService s = scheduler;
+		if (expiry == null) {
+			return;
+		}
+		long delay = Math.min(TimeUnit.MILLISECONDS.toNanos(settlePeriod), expiry.longValue() - System.nanoTime());
+		if (s == null || delay <= 0) {
+			release(key);
+			return;
+		}
+		settling.compute(key, (k, pending)->{
+			if (pending != null) {
+				pending.cancel(false);
+			}
+			try {
+				return s.schedule(()->release(k), delay, TimeUnit.NANOSECONDS);
+			} catch (RuntimeException e) {
+				// the batcher was closed meanwhile, it releases the holds
+				return null;
+			}
+		});
+	}
+
+	/**
+	 * Releases the hold for the given key
+	 * @param key the hold key
+	 */
+	private void release(String key) {
+		ScheduledFuture<?> pending = settling.remove(key);
+		if (pending != null) {
+			pending.cancel(false);
+		}
+		if (holds.remove(key) != null) {
+			logger.fine(()->"Releasing dispatch for bundle " + key);
+			dispatcher.releaseDispatch(key);
+		}
+	}
+
+	private String getKey(Bundle bundle) {
+		return "bundle-" + bundle.getBundleId();
+	}
+
+}
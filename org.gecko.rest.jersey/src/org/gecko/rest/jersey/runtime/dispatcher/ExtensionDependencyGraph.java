@@ -0,0 +1,281 @@
+/**
+ * Copyright (c) 2012 - 2022 Data In Motion and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Data In Motion - initial API and implementation
+ *     Stefan Bishof - API and implementation
+ *     Tim Ward - implementation
+ */
+package org.gecko.rest.jersey.runtime.dispatcher;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.gecko.rest.jersey.provider.application.JaxRsApplicationProvider;
+import org.gecko.rest.jersey.provider.application.JaxRsExtensionProvider;
+import org.gecko.rest.jersey.provider.application.JaxRsProvider;
+import org.osgi.framework.Filter;
+
+/**
+ * Dependency graph of applications, resources and extensions, based on their <code>osgi.jaxrs.extension.select</code> filters.
+ * The graph is kept between the dispatches. The result of each filter against a supplying extension or application is remembered,
+ * until one of both services changes. So a changed extension only causes the filters of its dependents to be evaluated again.
+ * The extensions of an application are resolved with a worklist: an extension, that looses its last supplier for a filter,
+ * fails and is propagated to the extensions, that depend on it.
+ * This class is not thread safe, it is used within the dispatcher lock.
+ * @author agent
+ * @since 18.10.2026
+ */
+public class ExtensionDependencyGraph {
+
+	private final Map<String, Node> nodes = new HashMap<>();
+	// supplier id to the ids of the nodes, that remembered a filter result for that supplier
+	private final Map<String, Set<String>> supplierUsers = new HashMap<>();
+
+	/**
+	 * Result of the resolution of an application
+	 */
+	public static class Resolution {
+
+		private final boolean applicationFailed;
+		private final List<JaxRsExtensionProvider> failedExtensions;
+
+		Resolution(boolean applicationFailed, List<JaxRsExtensionProvider> failedExtensions) {
+			this.applicationFailed = applicationFailed;
+			this.failedExtensions = failedExtensions;
+		}
+
+		/**
+		 * Returns <code>true</code>, if the application requires an extension, that is not available
+		 * @return <code>true</code>, if the application fails
+		 */
+		public boolean isApplicationFailed() {
+			return applicationFailed;
+		}
+
+		/**
+		 * Returns the extensions, that have to be removed from the application. If the application failed, these are all extensions
+		 * @return the failed extensions
+		 */
+		public List<JaxRsExtensionProvider> getFailedExtensions() {
+			return failedExtensions;
+		}
+
+	}
+
+	/**
+	 * Node of the graph with the filters of the service and the remembered filter results per supplier
+	 */
+	private static class Node {
+
+		private final JaxRsProvider provider;
+		private final List<Filter> filters;
+		private final Map<String, Boolean[]> results = new HashMap<>();
+
+		Node(JaxRsProvider provider) {
+			this.provider = provider;
+			List<Filter> extensionFilters = provider.requiresExtensions() ? provider.getExtensionFilters() : null;
+			this.filters = extensionFilters == null ? Collections.emptyList() : extensionFilters;
+		}
+
+	}
+
+	/**
+	 * Edge from an extension filter to one of its suppliers
+	 */
+	private static class Dependency {
+
+		private final JaxRsExtensionProvider extension;
+		private final int filterIndex;
+
+		Dependency(JaxRsExtensionProvider extension, int filterIndex) {
+			this.extension = extension;
+			this.filterIndex = filterIndex;
+		}
+
+	}
+
+	/**
+	 * Resolves the extension dependencies of an application. Extensions, whose filters are not satisfied
+	 * by the remaining extensions, the application or the whiteboard, fail. If the application itself requires an
+	 * extension, that is not available, the application and all its extensions fail.
+	 * @param application the application
+	 * @param extensions the extensions of the application
+	 * @param whiteboardProperties the properties of the whiteboard
+	 * @return the resolution result
+	 */
+	public Resolution resolveApplication(JaxRsApplicationProvider application, Collection<JaxRsExtensionProvider> extensions, Map<String, Object> whiteboardProperties) {
+		Node applicationNode = getNode(application);
+		Map<String, JaxRsExtensionProvider> alive = new LinkedHashMap<>();
+		extensions.forEach((e)->alive.put(e.getId(), e));
+		Map<String, int[]> supplierCounts = new HashMap<>();
+		Map<String, List<Dependency>> dependents = new HashMap<>();
+		Deque<JaxRsExtensionProvider> worklist = new ArrayDeque<>();
+
+		for (JaxRsExtensionProvider extension : extensions) {
+			Node node = getNode(extension);
+			if (node.filters.isEmpty()) {
+				continue;
+			}
+			int[] counts = new int[node.filters.size()];
+			supplierCounts.put(extension.getId(), counts);
+			boolean failed = false;
+			for (int i = 0; i < counts.length; i++) {
+				Filter filter = node.filters.get(i);
+				if (matches(node, i, applicationNode) || filter.matches(whiteboardProperties)) {
+					counts[i] = -1;
+					continue;
+				}
+				for (JaxRsExtensionProvider supplier : extensions) {
+					if (matches(node, i, getNode(supplier))) {
+						counts[i]++;
+						dependents.computeIfAbsent(supplier.getId(), (k)->new ArrayList<>()).add(new Dependency(extension, i));
+					}
+				}
+				failed |= counts[i] == 0;
+			}
+			if (failed) {
+				worklist.add(extension);
+			}
+		}
+
+		List<JaxRsExtensionProvider> failedExtensions = new ArrayList<>();
+		while (!worklist.isEmpty()) {
+			JaxRsExtensionProvider extension = worklist.poll();
+			if (alive.remove(extension.getId()) == null) {
+				continue;
+			}
+			failedExtensions.add(extension);
+			for (Dependency dependency : dependents.getOrDefault(extension.getId(), Collections.emptyList())) {
+				String dependentId = dependency.extension.getId();
+				if (alive.containsKey(dependentId) && --supplierCounts.get(dependentId)[dependency.filterIndex] == 0) {
+					worklist.add(dependency.extension);
+				}
+			}
+		}
+
+		for (int i = 0; i < applicationNode.filters.size(); i++) {
+			if (!isSatisfied(applicationNode, i, alive.values(), null, whiteboardProperties)) {
+				return new Resolution(true, new ArrayList<>(extensions));
+			}
+		}
+		return new Resolution(false, failedExtensions);
+	}
+
+	/**
+	 * Returns <code>true</code>, if all extension filters of the given service are satisfied
+	 * by the extensions, the application or the whiteboard
+	 * @param provider the resource or extension
+	 * @param extensions the available extensions of the application
+	 * @param application the application
+	 * @param whiteboardProperties the properties of the whiteboard
+	 * @return <code>true</code>, if all requirements are satisfied
+	 */
+	public boolean isSatisfied(JaxRsProvider provider, Collection<JaxRsExtensionProvider> extensions, JaxRsApplicationProvider application, Map<String, Object> whiteboardProperties) {
+		Node node = getNode(provider);
+		for (int i = 0; i < node.filters.size(); i++) {
+			if (!isSatisfied(node, i, extensions, application, whiteboardProperties)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Removes the service with the given id and all filter results, that were remembered for it
+	 * @param id the service id
+	 */
+	public void remove(String id) {
+		nodes.remove(id);
+		Set<String> users = supplierUsers.remove(id);
+		if (users != null) {
+			users.forEach((user)->{
+				Node node = nodes.get(user);
+				if (node != null) {
+					node.results.remove(id);
+				}
+			});
+		}
+	}
+
+	/**
+	 * Removes all services
+	 */
+	public void clear() {
+		nodes.clear();
+		supplierUsers.clear();
+	}
+
+	/**
+	 * Returns <code>true</code>, if the filter with the given index is satisfied
+	 * @param node the dependent node
+	 * @param index the filter index
+	 * @param extensions the available extensions
+	 * @param application the application or <code>null</code>
+	 * @param whiteboardProperties the whiteboard properties
+	 * @return <code>true</code>, if the filter is satisfied
+	 */
+	private boolean isSatisfied(Node node, int index, Collection<JaxRsExtensionProvider> extensions, JaxRsApplicationProvider application, Map<String, Object> whiteboardProperties) {
+		for (JaxRsExtensionProvider extension : extensions) {
+			if (matches(node, index, getNode(extension))) {
+				return true;
+			}
+		}
+		if (application != null && matches(node, index, getNode(application))) {
+			return true;
+		}
+		return node.filters.get(index).matches(whiteboardProperties);
+	}
+
+	/**
+	 * Returns the remembered result of the filter with the given index against the supplier or evaluates it
+	 * @param dependent the dependent node
+	 * @param index the filter index
+	 * @param supplier the supplying node
+	 * @return <code>true</code>, if the filter matches the supplier properties
+	 */
+	private boolean matches(Node dependent, int index, Node supplier) {
+		String supplierId = supplier.provider.getId();
+		Boolean[] results = dependent.results.computeIfAbsent(supplierId, (k)->new Boolean[dependent.filters.size()]);
+		if (results[index] == null) {
+			Map<String, Object> properties = supplier.provider instanceof JaxRsExtensionProvider ?
+					((JaxRsExtensionProvider) supplier.provider).getProperties() : supplier.provider.getProviderProperties();
+			results[index] = dependent.filters.get(index).matches(properties);
+			supplierUsers.computeIfAbsent(supplierId, (k)->new HashSet<>()).add(dependent.provider.getId());
+		}
+		return results[index];
+	}
+
+	/**
+	 * Returns the node for the given service. A node of a previous instance of that service is replaced
+	 * and all remembered results for the old instance are dropped
+	 * @param provider the service
+	 * @return the node
+	 */
+	private Node getNode(JaxRsProvider provider) {
+		Node node = nodes.get(provider.getId());
+		if (node == null || node.provider != provider) {
+			if (node != null) {
+				remove(provider.getId());
+			}
+			node = new Node(provider);
+			nodes.put(provider.getId(), node);
+		}
+		return node;
+	}
+
+}
@@ -17,7 +17,9 @@ import static java.lang.Integer.MIN_VALUE;
 import static java.util.function.Predicate.not;
 import static org.osgi.framework.Constants.SERVICE_RANKING;
 import static org.osgi.service.jaxrs.whiteboard.JaxrsWhiteboardConstants.JAX_RS_APPLICATION_BASE;
+import static org.osgi.service.jaxrs.whiteboard.JaxrsWhiteboardConstants.JAX_RS_APPLICATION_SELECT;
 import static org.osgi.service.jaxrs.whiteboard.JaxrsWhiteboardConstants.JAX_RS_DEFAULT_APPLICATION;
+import static org.osgi.service.jaxrs.whiteboard.JaxrsWhiteboardConstants.JAX_RS_EXTENSION_SELECT;
 import static org.osgi.service.jaxrs.whiteboard.JaxrsWhiteboardConstants.JAX_RS_NAME;
 
 import java.util.ArrayList;
@@ -26,14 +28,21 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -48,15 +57,23 @@ import org.gecko.rest.jersey.provider.application.JaxRsApplicationProvider;
 import org.gecko.rest.jersey.provider.application.JaxRsExtensionProvider;
 import org.gecko.rest.jersey.provider.application.JaxRsProvider;
 import org.gecko.rest.jersey.provider.application.JaxRsResourceProvider;
+import org.gecko.rest.jersey.provider.application.JaxRsWhiteboardChange;
+import org.gecko.rest.jersey.provider.application.JaxRsWhiteboardChange.Action;
 import org.gecko.rest.jersey.provider.application.JaxRsWhiteboardDispatcher;
 import org.gecko.rest.jersey.provider.whiteboard.JaxRsWhiteboardProvider;
+import org.gecko.rest.jersey.runtime.application.JerseyApplicationContentProvider;
 import org.gecko.rest.jersey.runtime.application.JerseyApplicationProvider;
 import org.gecko.rest.jersey.runtime.application.JerseyExtensionProvider;
 import org.gecko.rest.jersey.runtime.application.JerseyResourceProvider;
+import org.gecko.rest.jersey.runtime.application.ProviderMetadataCache;
 import org.gecko.rest.jersey.runtime.common.AbstractJerseyServiceRuntime;
+import org.gecko.rest.jersey.runtime.dispatcher.ExtensionDependencyGraph.Resolution;
 import org.osgi.framework.Filter;
 import org.osgi.framework.ServiceObjects;
+import org.osgi.service.jaxrs.runtime.dto.BaseApplicationDTO;
+import org.osgi.service.jaxrs.runtime.dto.BaseDTO;
 import org.osgi.service.jaxrs.runtime.dto.DTOConstants;
+import org.osgi.service.jaxrs.runtime.dto.FailedApplicationDTO;
 import org.osgi.service.jaxrs.runtime.dto.FailedExtensionDTO;
 import org.osgi.service.jaxrs.runtime.dto.FailedResourceDTO;
 
@@ -106,9 +123,57 @@ public class JerseyWhiteboardDispatcher implements JaxRsWhiteboardDispatcher {
 	// The implicit default application, may be shadowed by a registered service
 	private final JaxRsApplicationProvider defaultProvider;
 
+	private static final String APPLICATION_PREFIX = "app-";
+	private static final String RESOURCE_PREFIX = "res-";
+	private static final String EXTENSION_PREFIX = "ext-";
 	private final ReentrantLock lock = new ReentrantLock();
 	private final AtomicBoolean lockedChange = new AtomicBoolean();
 	private volatile boolean batchMode = false;
+//	Dispatching on a dedicated thread. Each change requests a new generation, the thread dispatches the latest one
+	private volatile boolean dispatcherThread = false;
+	private final Object generationMonitor = new Object();
+	private long requestedGeneration = 0;
+	private long dispatchedGeneration = 0;
+	private Thread dispatchThread = null;
+	
+//	Delta tracking for the incremental reconciliation. Resources that changed since the last pass are collected
+//	and only those are re-assigned, as long as nothing else requires a reconciliation of the whole whiteboard
+	private final Set<String> changedContent = ConcurrentHashMap.newKeySet();
+	private final AtomicBoolean fullReconcile = new AtomicBoolean(true);
+	private volatile List<JaxRsApplicationProvider> lastApplicationCandidates = null;
+//	Clones of the content providers, that are reused as long as the cached provider did not change
+	private final Map<String, ContentClone> contentClones = new HashMap<>();
+//	Implementation classes of the resource and extension services, so that a service is instantiated only once to learn its class
+	private final ProviderMetadataCache metadataCache = new ProviderMetadataCache();
+//	Failures of the last pass, to be able to re-publish them after an incremental pass
+	private final Map<String, JaxRsProvider> lastFailures = new HashMap<>();
+	private final Map<String, Integer> lastFailureReasons = new HashMap<>();
+//	Ranked buckets of all known services by name and of the applications by their path, to detect conflicts
+	private final RankedIndex<JaxRsProvider> nameIndex = new RankedIndex<>(JaxRsProvider::getName);
+	private final RankedIndex<JaxRsApplicationProvider> pathIndex = new RankedIndex<>(JaxRsApplicationProvider::getPath);
+//	Extension select dependencies, that are kept between the dispatches
+	private final ExtensionDependencyGraph dependencyGraph = new ExtensionDependencyGraph();
+	// property updates, that do not require to replace the provider, applied at the beginning of the next pass
+	private final Map<String, Map<String, Object>> pendingPropertyUpdates = new ConcurrentHashMap<>();
+	// bulk apply
+	private final Object bulkMonitor = new Object();
+	private final AtomicInteger bulkApplies = new AtomicInteger();
+	private volatile Map<String, BaseDTO> failureCollector = null;
+	
+//	Coalescing of changes into one dispatch, a quiet period of 0 dispatches immediately
+	private final Object scheduleLock = new Object();
+	private volatile long quietPeriod = 0;
+	private volatile long maxDelay = 0;
+	private ScheduledExecutorService dispatchScheduler = null;
+	private ScheduledFuture<?> pendingDispatch = null;
+	private long firstPendingChange = 0;
+//	Holds, e.g. of starting bundles, that keep changes back from being dispatched 
+	private final Map<String, ScheduledFuture<?>> dispatchHolds = new HashMap<>();
+	private boolean heldChange = false;
+//	Concurrent registration and reload of the applications at the end of a pass, a parallelism of 1 publishes them one after another
+	private final Object poolMonitor = new Object();
+	private volatile int applicationParallelism = 1;
+	private ForkJoinPool applicationPool = null;
 
 
 	public JerseyWhiteboardDispatcher() {
@@ -116,6 +181,7 @@ public class JerseyWhiteboardDispatcher implements JaxRsWhiteboardDispatcher {
 				Map.of(JAX_RS_NAME, JAX_RS_DEFAULT_APPLICATION,
 						JAX_RS_APPLICATION_BASE, "/",
 						SERVICE_RANKING, MIN_VALUE));
+		indexApplication(defaultProvider);
 	}
 
 	/* (non-Javadoc)
@@ -134,6 +200,16 @@ public class JerseyWhiteboardDispatcher implements JaxRsWhiteboardDispatcher {
 		}
 	}
 	
+	/* 
+	 * (non-Javadoc)
+	 * @see org.gecko.rest.jersey.provider.application.JaxRsWhiteboardDispatcher#setDispatchWindow(long, long)
+	 */
+	@Override
+	public void setDispatchWindow(long quietPeriod, long maxDelay) {
+		this.quietPeriod = Math.max(0, quietPeriod);
+		this.maxDelay = Math.max(this.quietPeriod, maxDelay);
+	}
+	
 	/* 
 	 * (non-Javadoc)
 	 * @see org.gecko.rest.jersey.provider.application.JaxRsWhiteboardDispatcher#setWhiteboardProvider(org.gecko.rest.jersey.provider.whiteboard.JaxRsWhiteboardProvider)
@@ -190,12 +266,15 @@ public class JerseyWhiteboardDispatcher implements JaxRsWhiteboardDispatcher {
 		 * Section 151.6.1 The default application can be replaced, with another one using another base path
 		 */
 		String key = provider.getId();
+		pendingPropertyUpdates.remove(key);
 		if (!applicationProviderCache.containsKey(key)) {
 			logger.info("Adding Application with id " + provider.getName());
 			JaxRsApplicationProvider oldApp = applicationProviderCache.put(key, provider);
 			if (oldApp != null && !oldApp.equals(provider)) {
 				removedApplications.add(oldApp);
 			}
+			indexApplication(provider);
+			fullReconcile.set(true);
 			checkDispatch();
 		}
 	}
@@ -208,11 +287,16 @@ public class JerseyWhiteboardDispatcher implements JaxRsWhiteboardDispatcher {
 	public void removeApplication(Application application, Map<String, Object> properties) {
 		JaxRsApplicationProvider provider = new JerseyApplicationProvider(null, properties);
 		String key = provider.getId();
+		pendingPropertyUpdates.remove(key);
 		JaxRsApplicationProvider removed = applicationProviderCache.remove(key);
 		logger.fine("Removing Application with name " + provider.getName());
 		if (removed != null) {
 			logger.info("Removed Application with name " + provider.getName());
 			removedApplications.add(removed);
+			nameIndex.remove(APPLICATION_PREFIX + key);
+			pathIndex.remove(key);
+			dependencyGraph.remove(key);
+			fullReconcile.set(true);
 			checkDispatch();
 		} 
 	}
@@ -222,8 +306,9 @@ public class JerseyWhiteboardDispatcher implements JaxRsWhiteboardDispatcher {
 	 */
 	@Override
 	public void addResource(ServiceObjects<?> serviceObject, Map<String, Object> properties) {
-		JaxRsResourceProvider provider = new JerseyResourceProvider<>(serviceObject, properties);		
+		JaxRsResourceProvider provider = new JerseyResourceProvider<>(serviceObject, properties, metadataCache);		
 		String key = provider.getId();
+		pendingPropertyUpdates.remove(key);
 		if(serviceObject == null) {
 			logger.log(Level.WARNING, "Dispatcher cannot add resource with id: " + key + "!");
 			return;
@@ -233,18 +318,16 @@ public class JerseyWhiteboardDispatcher implements JaxRsWhiteboardDispatcher {
 				failedResources.put(provider.getId(), provider);
 			}			
 			if (isDispatching() && !batchMode) {
-				doDispatch();
+				checkDispatch();
 			}
 			else {
-				if(whiteboard instanceof AbstractJerseyServiceRuntime) {
-					AbstractJerseyServiceRuntime ajsr = (AbstractJerseyServiceRuntime) whiteboard;
-					ajsr.updateFailedContents(failedApplications, failedResources, failedExtensions);
-					reset(failedApplications, failedResources, failedExtensions);
-				}
+				reportFailures();
 			}
 		} else if (!resourceProviderCache.containsKey(key)) {
 			logger.info("Added resource " + key + " name: " + provider.getName());
 			resourceProviderCache.put(key, provider);
+			nameIndex.put(RESOURCE_PREFIX + key, provider);
+			changedContent.add(key);
 			checkDispatch();
 		} else {
 //			This is the case in which the resource service properties have been modified
@@ -252,6 +335,8 @@ public class JerseyWhiteboardDispatcher implements JaxRsWhiteboardDispatcher {
 			if (oldProvider != null && !oldProvider.equals(provider)) {
 				removedResources.add(oldProvider);
 			}
+			nameIndex.put(RESOURCE_PREFIX + key, provider);
+			changedContent.add(key);
 			checkDispatch();
 		}
 	}
@@ -263,10 +348,15 @@ public class JerseyWhiteboardDispatcher implements JaxRsWhiteboardDispatcher {
 	@Override
 	public void removeResource(Map<String, Object> properties) {
 		JaxRsResourceProvider provider = new JerseyResourceProvider<Object>(null, properties);
+		metadataCache.remove(provider.getServiceId());
 		String key = provider.getId();
+		pendingPropertyUpdates.remove(key);
 		JaxRsResourceProvider removed = resourceProviderCache.remove(key);
 		if (removed != null) {
 			removedResources.add(removed);
+			nameIndex.remove(RESOURCE_PREFIX + key);
+			dependencyGraph.remove(key);
+			changedContent.add(key);
 			checkDispatch();
 		}
 	}
@@ -277,25 +367,24 @@ public class JerseyWhiteboardDispatcher implements JaxRsWhiteboardDispatcher {
 	 */
 	@Override
 	public void addExtension(ServiceObjects<?> serviceObject, Map<String, Object> properties) {
-		JaxRsExtensionProvider provider = new JerseyExtensionProvider<>(serviceObject, properties);
+		JaxRsExtensionProvider provider = new JerseyExtensionProvider<>(serviceObject, properties, metadataCache);
 		String key = provider.getId();
+		pendingPropertyUpdates.remove(key);
 		if(provider.getExtensionDTO() instanceof FailedExtensionDTO) {
 			if(!failedExtensions.containsKey(provider.getId())) {
 				failedExtensions.put(provider.getId(), provider);
 			}			
 			if (isDispatching() && !batchMode) {
-				doDispatch();
+				checkDispatch();
 			}
 			else {
-				if(whiteboard instanceof AbstractJerseyServiceRuntime) {
-					AbstractJerseyServiceRuntime ajsr = (AbstractJerseyServiceRuntime) whiteboard;
-					ajsr.updateFailedContents(failedApplications, failedResources, failedExtensions);
-					reset(failedApplications, failedResources, failedExtensions);
-				}
+				reportFailures();
 			}
 		} else if (!extensionProviderCache.containsKey(key)) {
 			logger.info("Added extension " + key + " name: " + provider.getName());
 			extensionProviderCache.put(key, provider);
+			nameIndex.put(EXTENSION_PREFIX + key, provider);
+			fullReconcile.set(true);
 			checkDispatch();
 		} else {
 //			This is the case in which the extension service properties have been modified
@@ -303,6 +392,8 @@ public class JerseyWhiteboardDispatcher implements JaxRsWhiteboardDispatcher {
 			if (oldProvider != null && !oldProvider.equals(provider)) {
 				removedExtensions.add(oldProvider);
 			}
+			nameIndex.put(EXTENSION_PREFIX + key, provider);
+			fullReconcile.set(true);
 			checkDispatch();
 		}
 	}
@@ -314,16 +405,171 @@ public class JerseyWhiteboardDispatcher implements JaxRsWhiteboardDispatcher {
 	@Override
 	public void removeExtension(Map<String, Object> properties) {
 		JaxRsExtensionProvider provider = new JerseyExtensionProvider<Object>(null, properties);
+		metadataCache.remove(provider.getServiceId());
 		String key = provider.getId();
+		pendingPropertyUpdates.remove(key);
 		JaxRsExtensionProvider removed = extensionProviderCache.remove(key);
 		logger.fine("Remove extension " + key + " name: " + provider.getName());
 		if (removed != null) {
 			logger.info("Removed extension " + key + " name: " + provider.getName());
 			removedExtensions.add(removed);
+			nameIndex.remove(EXTENSION_PREFIX + key);
+			dependencyGraph.remove(key);
+			fullReconcile.set(true);
 			checkDispatch();
 		}
 	}
 
+	/* 
+	 * (non-Javadoc)
+	 * @see org.gecko.rest.jersey.provider.application.JaxRsWhiteboardDispatcher#updateApplication(javax.ws.rs.core.Application, java.util.Map)
+	 */
+	@Override
+	public void updateApplication(Application application, Map<String, Object> properties) {
+		String key = new JerseyApplicationProvider(null, properties).getId();
+		JaxRsApplicationProvider current = applicationProviderCache.get(key);
+		if (!(current instanceof JerseyApplicationProvider) || classifyUpdate(current, properties) == PropertyChange.STRUCTURAL) {
+			removeApplication(application, properties);
+			addApplication(application, properties);
+			return;
+		}
+		logger.fine("Updating properties of application " + current.getName() + " in place");
+		updateInPlace(key, properties);
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see org.gecko.rest.jersey.provider.application.JaxRsWhiteboardDispatcher#updateResource(org.osgi.framework.ServiceObjects, java.util.Map)
+	 */
+	@Override
+	public void updateResource(ServiceObjects<?> serviceObject, Map<String, Object> properties) {
+		String key = new JerseyResourceProvider<Object>(null, properties).getId();
+		JaxRsResourceProvider current = resourceProviderCache.get(key);
+		if (!(current instanceof JerseyResourceProvider) || classifyUpdate(current, properties) == PropertyChange.STRUCTURAL) {
+			addResource(serviceObject, properties);
+			return;
+		}
+		logger.fine("Updating properties of resource " + current.getName() + " in place");
+		updateInPlace(key, properties);
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see org.gecko.rest.jersey.provider.application.JaxRsWhiteboardDispatcher#updateExtension(org.osgi.framework.ServiceObjects, java.util.Map)
+	 */
+	@Override
+	public void updateExtension(ServiceObjects<?> serviceObject, Map<String, Object> properties) {
+		String key = new JerseyExtensionProvider<Object>(null, properties).getId();
+		JaxRsExtensionProvider current = extensionProviderCache.get(key);
+		if (!(current instanceof JerseyExtensionProvider) || classifyUpdate(current, properties) == PropertyChange.STRUCTURAL) {
+			addExtension(serviceObject, properties);
+			return;
+		}
+		logger.fine("Updating properties of extension " + current.getName() + " in place");
+		updateInPlace(key, properties);
+	}
+
+	/* 
+	 * (non-Javadoc)
+	 * @see org.gecko.rest.jersey.provider.application.JaxRsWhiteboardDispatcher#apply(java.util.Collection)
+	 */
+	@Override
+	public Map<JaxRsWhiteboardChange, BaseDTO> apply(Collection<JaxRsWhiteboardChange> changes) {
+		if (changes == null || changes.isEmpty()) {
+			return Collections.emptyMap();
+		}
+		Map<String, BaseDTO> failures = new ConcurrentHashMap<>();
+		synchronized (bulkMonitor) {
+			failureCollector = failures;
+			try {
+				// the single changes are only recorded, the dispatch is done once for all of them
+				bulkApplies.incrementAndGet();
+				try {
+					changes.forEach(this::applyChange);
+				} finally {
+					bulkApplies.decrementAndGet();
+				}
+				if (isDispatching() && !batchMode && !isHeld()) {
+					dispatchBulk();
+				}
+			} finally {
+				failureCollector = null;
+			}
+		}
+		Map<JaxRsWhiteboardChange, BaseDTO> result = new LinkedHashMap<>();
+		for (JaxRsWhiteboardChange change : changes) {
+			if (change.getAction() == Action.REMOVE) {
+				continue;
+			}
+			BaseDTO failure = failures.get(getChangeId(change));
+			if (failure != null) {
+				result.put(change, failure);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Applies a single change of a bulk apply
+	 * @param change the change
+	 */
+	private void applyChange(JaxRsWhiteboardChange change) {
+		Map<String, Object> properties = change.getProperties();
+		switch (change.getKind()) {
+		case APPLICATION:
+			switch (change.getAction()) {
+			case ADD:
+				addApplication(change.getApplication(), properties);
+				break;
+			case UPDATE:
+				updateApplication(change.getApplication(), properties);
+				break;
+			default:
+				removeApplication(change.getApplication(), properties);
+			}
+			break;
+		case RESOURCE:
+			switch (change.getAction()) {
+			case ADD:
+				addResource(change.getServiceObjects(), properties);
+				break;
+			case UPDATE:
+				updateResource(change.getServiceObjects(), properties);
+				break;
+			default:
+				removeResource(properties);
+			}
+			break;
+		default:
+			switch (change.getAction()) {
+			case ADD:
+				addExtension(change.getServiceObjects(), properties);
+				break;
+			case UPDATE:
+				updateExtension(change.getServiceObjects(), properties);
+				break;
+			default:
+				removeExtension(properties);
+			}
+		}
+	}
+
+	/**
+	 * Returns the provider id of the changed service
+	 * @param change the change
+	 * @return the provider id
+	 */
+	private String getChangeId(JaxRsWhiteboardChange change) {
+		switch (change.getKind()) {
+		case APPLICATION:
+			return new JerseyApplicationProvider(null, change.getProperties()).getId();
+		case RESOURCE:
+			return new JerseyResourceProvider<Object>(null, change.getProperties()).getId();
+		default:
+			return new JerseyExtensionProvider<Object>(null, change.getProperties()).getId();
+		}
+	}
+
 	/* 
 	 * (non-Javadoc)
 	 * @see org.gecko.rest.jersey.provider.application.JaxRsWhiteboardDispatcher#dispatch()
@@ -335,6 +581,12 @@ public class JerseyWhiteboardDispatcher implements JaxRsWhiteboardDispatcher {
 			throw new IllegalStateException("Dispatcher cannot be used without a whiteboard provider");
 		}
 		dispatching = true;
+		// the whiteboard properties may have changed, so everything has to be re-evaluated
+		fullReconcile.set(true);
+		if (isHeld()) {
+			// e.g. the boot hold, the dispatch is executed, when the last hold is released
+			return;
+		}
 		doDispatch();
 	}
 
@@ -345,6 +597,9 @@ public class JerseyWhiteboardDispatcher implements JaxRsWhiteboardDispatcher {
 		if (!isDispatching()) {
 			return;
 		}
+		stopScheduler();
+		stopDispatchThread();
+		stopApplicationPool();
 		try {
 			lock.tryLock(5, TimeUnit.SECONDS);
 			dispatching = false;
@@ -357,6 +612,18 @@ public class JerseyWhiteboardDispatcher implements JaxRsWhiteboardDispatcher {
 			applicationProviderCache.clear();
 			resourceProviderCache.clear();
 			extensionProviderCache.clear();
+			nameIndex.clear();
+			pathIndex.clear();
+			dependencyGraph.clear();
+			indexApplication(defaultProvider);
+			changedContent.clear();
+			pendingPropertyUpdates.clear();
+			contentClones.clear();
+			metadataCache.clear();
+			lastFailures.clear();
+			lastFailureReasons.clear();
+			lastApplicationCandidates = null;
+			fullReconcile.set(true);
 		} catch (InterruptedException e) {
 			logger.log(Level.SEVERE, "Interrupted deactivate call of the dispatcher", e);
 		} finally {
@@ -377,218 +644,903 @@ public class JerseyWhiteboardDispatcher implements JaxRsWhiteboardDispatcher {
 	 * Checks the execution of doDispatch, in case it is active
 	 */
 	private void checkDispatch() {
-		if (isDispatching() && !batchMode) {
+		if (isDispatching() && !batchMode && !isHeld()) {
+			if (quietPeriod > 0) {
+				scheduleDispatch();
+			} else {
+				doDispatch();
+			}
+		}
+	}
+	
+	/* 
+	 * (non-Javadoc)
+	 * @see org.gecko.rest.jersey.provider.application.JaxRsWhiteboardDispatcher#setDispatcherThread(boolean)
+	 */
+	@Override
+	public void setDispatcherThread(boolean dispatcherThread) {
+		this.dispatcherThread = dispatcherThread;
+		if (!dispatcherThread) {
+			stopDispatchThread();
+			// dispatch the generations, the thread did not process anymore
+			boolean pending;
+			synchronized (generationMonitor) {
+				pending = requestedGeneration != dispatchedGeneration;
+				dispatchedGeneration = requestedGeneration;
+			}
+			if (pending && isDispatching()) {
+				doDispatch();
+			}
+		}
+	}
+	
+	/* 
+	 * (non-Javadoc)
+	 * @see org.gecko.rest.jersey.provider.application.JaxRsWhiteboardDispatcher#holdDispatch(java.lang.String, long)
+	 */
+	@Override
+	public void holdDispatch(String key, long timeout) {
+		synchronized (scheduleLock) {
+			ScheduledFuture<?> expiry = getScheduler().schedule(()->{
+				logger.warning(()->"Dispatch hold " + key + " was released after the timeout of " + timeout + " ms");
+				releaseDispatch(key);
+			}, timeout, TimeUnit.MILLISECONDS);
+			ScheduledFuture<?> old = dispatchHolds.put(key, expiry);
+			if (old != null) {
+				old.cancel(false);
+			}
+		}
+	}
+	
+	/* 
+	 * (non-Javadoc)
+	 * @see org.gecko.rest.jersey.provider.application.JaxRsWhiteboardDispatcher#releaseDispatch(java.lang.String)
+	 */
+	@Override
+	public void releaseDispatch(String key) {
+		synchronized (scheduleLock) {
+			ScheduledFuture<?> expiry = dispatchHolds.remove(key);
+			if (expiry == null) {
+				return;
+			}
+			expiry.cancel(false);
+			if (!dispatchHolds.isEmpty() || !heldChange) {
+				return;
+			}
+			heldChange = false;
+		}
+		checkDispatch();
+	}
+	
+	/**
+	 * Returns <code>true</code>, if the dispatch is currently held. In that case the change is remembered
+	 * to be dispatched, when the last hold is released 
+	 * @return <code>true</code>, if the dispatch is held
+	 */
+	private boolean isHeld() {
+		if (bulkApplies.get() > 0) {
+			// the bulk apply dispatches itself
+			return true;
+		}
+		synchronized (scheduleLock) {
+			if (dispatchHolds.isEmpty()) {
+				return false;
+			}
+			heldChange = true;
+			return true;
+		}
+	}
+	
+	/**
+	 * Returns the scheduler for delayed dispatches and creates it, if necessary
+	 * @return the scheduler
+	 */
+	private ScheduledExecutorService getScheduler() {
+		synchronized (scheduleLock) {
+			if (dispatchScheduler == null) {
+				dispatchScheduler = Executors.newSingleThreadScheduledExecutor((r)->{
+					Thread t = new Thread(r, "JaxRsWhiteboardDispatcher");
+					t.setDaemon(true);
+					return t;
+				});
+			}
+			return dispatchScheduler;
+		}
+	}
+	
+	/**
+	 * Schedules a dispatch after the quiet period. Each new change postpones a pending dispatch,
+	 * until the maximum delay since the first pending change is reached.
+	 */
+	private void scheduleDispatch() {
+		synchronized (scheduleLock) {
+			long now = System.currentTimeMillis();
+			if (pendingDispatch == null) {
+				firstPendingChange = now;
+			} else {
+				pendingDispatch.cancel(false);
+			}
+			long delay = Math.min(quietPeriod, Math.max(0, firstPendingChange + maxDelay - now));
+			pendingDispatch = getScheduler().schedule(this::executeScheduledDispatch, delay, TimeUnit.MILLISECONDS);
+		}
+	}
+	
+	/**
+	 * Executes the scheduled dispatch. Changes arriving during the dispatch schedule a new one
+	 */
+	private void executeScheduledDispatch() {
+		synchronized (scheduleLock) {
+			pendingDispatch = null;
+		}
+		if (isDispatching()) {
 			doDispatch();
 		}
 	}
 	
 	/**
-	 * Does the dispatching work. We lock the dispatch work. If we dont get a lock, because there is currently work in progress,
+	 * Cancels a pending dispatch, drops all holds and stops the scheduler
+	 */
+	private void stopScheduler() {
+		synchronized (scheduleLock) {
+			if (pendingDispatch != null) {
+				pendingDispatch.cancel(false);
+				pendingDispatch = null;
+			}
+			dispatchHolds.values().forEach((expiry)->expiry.cancel(false));
+			dispatchHolds.clear();
+			heldChange = false;
+			if (dispatchScheduler != null) {
+				dispatchScheduler.shutdown();
+				dispatchScheduler = null;
+			}
+		}
+	}
+	
+	/**
+	 * Does the dispatching work. In case of a dispatcher thread, a new generation is requested and the
+	 * thread is notified. Otherwise we lock the dispatch work. If we dont get a lock, because there is currently work in progress,
 	 * we mark lockedChange so, that we know that there, is still work to do.
 	 */
 	private void doDispatch() {
-		if (lock.tryLock()) {			
-			Collection<JaxRsApplicationProvider> applications = new HashSet<>(applicationProviderCache.values());
-			Collection<JaxRsResourceProvider> resources = new HashSet<>(resourceProviderCache.values());
-			Collection<JaxRsExtensionProvider> extensions = new HashSet<>(extensionProviderCache.values());
-			Collection<JaxRsApplicationProvider> remApplications = getRemovedList(removedApplications);
-			Collection<JaxRsResourceProvider> remResources = getRemovedList(removedResources);
-			Collection<JaxRsExtensionProvider> remExtensions = getRemovedList(removedExtensions);
-			applications.add(defaultProvider);
-			try {				
+		if (dispatcherThread) {
+			requestDispatchGeneration();
+			return;
+		}
+		do {
+			if (!lock.tryLock()) {
+				lockedChange.compareAndSet(false, true);
+				return;
+			}
+			try {
+				runDispatch();
+			} finally {
+				lock.unlock();
+			}
+			// re-trigger, if there was a change during lock
+		} while (lockedChange.compareAndSet(true, false));
+	}
+	
+	/**
+	 * Dispatches the changes of a bulk apply and waits for the pass, so that the failures are collected. Changes of
+	 * other threads, that did not get the lock meanwhile, are dispatched afterwards, like in {@link #doDispatch()}.
+	 * In case of a dispatcher thread, a new generation is requested and we wait, until it was dispatched.
+	 */
+	private void dispatchBulk() {
+		if (dispatcherThread) {
+			synchronized (generationMonitor) {
+				requestDispatchGeneration();
+				long target = requestedGeneration;
+				while (dispatchThread != null && dispatchedGeneration < target) {
+					try {
+						generationMonitor.wait();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						return;
+					}
+				}
+			}
+			return;
+		}
+		lock.lock();
+		try {
+			runDispatch();
+		} finally {
+			lock.unlock();
+		}
+		if (lockedChange.compareAndSet(true, false)) {
+			doDispatch();
+		}
+	}
+	
+	/**
+	 * Executes one dispatch pass. The caller must hold the lock
+	 */
+	private void runDispatch() {
+		try {
+			boolean propertyUpdates = !pendingPropertyUpdates.isEmpty();
+			boolean reload = applyPropertyUpdates();
+			Collection<String> changed = getRemovedList(changedContent);
+			boolean full = fullReconcile.getAndSet(false);
+			if (propertyUpdates && !reload && !full && changed.isEmpty() && !hasPendingChanges()) {
+				// only properties changed, that are not relevant for the applications
+				return;
+			}
+			if (!full && canReconcileIncrementally(changed)) {
+				reconcileChanges(changed);
+			} else {
+				reconcileAll();
+			}
+		} catch (Exception e) {
+			logger.log(Level.SEVERE, "Cannot dispatch the whiteboard changes", e);
+		}
+	}
+	
+	/**
+	 * Requests a new dispatch generation and starts the dispatcher thread, if necessary
+	 */
+	private void requestDispatchGeneration() {
+		synchronized (generationMonitor) {
+			requestedGeneration++;
+			if (dispatchThread == null) {
+				dispatchThread = new Thread(this::processDispatchGenerations, "JaxRsWhiteboardDispatcher-Worker");
+				dispatchThread.setDaemon(true);
+				dispatchThread.start();
+			}
+			generationMonitor.notifyAll();
+		}
+	}
+	
+	/**
+	 * Loop of the dispatcher thread. All generations, that were requested during a pass, are collapsed into the next pass
+	 */
+	private void processDispatchGenerations() {
+		while (true) {
+			long target;
+			synchronized (generationMonitor) {
+				while (dispatchThread == Thread.currentThread() && requestedGeneration == dispatchedGeneration) {
+					try {
+						generationMonitor.wait();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						return;
+					}
+				}
+				if (dispatchThread != Thread.currentThread()) {
+					return;
+				}
+				target = requestedGeneration;
+			}
+			lock.lock();
+			try {
+				if (isDispatching()) {
+					runDispatch();
+				}
+			} finally {
+				lock.unlock();
+			}
+			synchronized (generationMonitor) {
+				dispatchedGeneration = target;
+				generationMonitor.notifyAll();
+			}
+		}
+	}
+	
+	/* 
+	 * (non-Javadoc)
+	 * @see org.gecko.rest.jersey.provider.application.JaxRsWhiteboardDispatcher#setApplicationParallelism(int)
+	 */
+	@Override
+	public void setApplicationParallelism(int parallelism) {
+		synchronized (poolMonitor) {
+			int newParallelism = Math.max(1, parallelism);
+			if (newParallelism != applicationParallelism) {
+				stopApplicationPool();
+				applicationParallelism = newParallelism;
+			}
+		}
+	}
+	
+	/**
+	 * Returns the pool for the concurrent publication of applications and creates it, if necessary
+	 * @return the pool or <code>null</code>, if the applications are published one after another
+	 */
+	private ForkJoinPool getApplicationPool() {
+		synchronized (poolMonitor) {
+			if (applicationParallelism <= 1) {
+				return null;
+			}
+			if (applicationPool == null) {
+				AtomicInteger count = new AtomicInteger();
+				applicationPool = new ForkJoinPool(applicationParallelism, (pool)->{
+					ForkJoinWorkerThread t = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+					t.setName("JaxRsWhiteboardPublisher-" + count.incrementAndGet());
+					t.setDaemon(true);
+					return t;
+				}, null, false);
+			}
+			return applicationPool;
+		}
+	}
+	
+	/**
+	 * Shuts the pool for the concurrent publication of applications down
+	 */
+	private void stopApplicationPool() {
+		synchronized (poolMonitor) {
+			if (applicationPool != null) {
+				applicationPool.shutdown();
+				applicationPool = null;
+			}
+		}
+	}
+	
+	/**
+	 * Stops the dispatcher thread and waits for the current pass to be finished
+	 */
+	private void stopDispatchThread() {
+		Thread thread;
+		synchronized (generationMonitor) {
+			thread = dispatchThread;
+			dispatchThread = null;
+			generationMonitor.notifyAll();
+		}
+		if (thread != null && thread != Thread.currentThread()) {
+			try {
+				thread.join(5000);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				logger.log(Level.WARNING, "Interrupted while waiting for the dispatcher thread", e);
+			}
+		}
+	}
+	
+	/**
+	 * Classifies the modified properties against the current properties of the provider or the properties of a pending update
+	 * @param current the current provider
+	 * @param properties the modified properties
+	 * @return the kind of the change
+	 */
+	private PropertyChange classifyUpdate(JaxRsProvider current, Map<String, Object> properties) {
+		Map<String, Object> previous = pendingPropertyUpdates.get(current.getId());
+		if (previous == null) {
+			previous = current.getProviderProperties();
+		}
+		return PropertyChange.classify(previous, properties, getReferencedAttributes());
+	}
+
+	/**
+	 * Returns the attributes, that are referenced by the application and extension select filters of all services. 
+	 * A modification of these attributes may change, which services select each other
+	 * @return the lower case attribute names
+	 */
+	private Set<String> getReferencedAttributes() {
+		Set<String> attributes = new HashSet<>();
+		List<JaxRsProvider> providers = new ArrayList<>(applicationProviderCache.values());
+		providers.addAll(resourceProviderCache.values());
+		providers.addAll(extensionProviderCache.values());
+		providers.forEach((p)->{
+			Map<String, Object> properties = p.getProviderProperties();
+			PropertyChange.collectAttributes(properties.get(JAX_RS_APPLICATION_SELECT), attributes);
+			PropertyChange.collectAttributes(properties.get(JAX_RS_EXTENSION_SELECT), attributes);
+		});
+		return attributes;
+	}
+
+	/**
+	 * Remembers the properties to be applied to the cached provider in the next pass. This is done within the pass,
+	 * because the ranking is used to order the providers during the pass
+	 * @param key the provider id
+	 * @param properties the modified properties
+	 */
+	private void updateInPlace(String key, Map<String, Object> properties) {
+		pendingPropertyUpdates.put(key, properties);
+		checkDispatch();
+	}
+
+	/**
+	 * Applies the pending property updates to the cached providers and their clones. The caller must hold the lock
+	 * @return <code>true</code>, if the applications have to be reconciled or reloaded because of the updates
+	 */
+	private boolean applyPropertyUpdates() {
+		boolean reconcile = false;
+		for (String id : new ArrayList<>(pendingPropertyUpdates.keySet())) {
+			Map<String, Object> properties = pendingPropertyUpdates.remove(id);
+			if (properties == null) {
+				continue;
+			}
+			JaxRsApplicationProvider application = applicationProviderCache.get(id);
+			JaxRsResourceProvider resource = resourceProviderCache.get(id);
+			JaxRsExtensionProvider extension = extensionProviderCache.get(id);
+			if (application instanceof JerseyApplicationProvider) {
+				// the indexes are ordered by the ranking, so the entries have to be removed before
+				nameIndex.remove(APPLICATION_PREFIX + id);
+				pathIndex.remove(id);
+				((JerseyApplicationProvider) application).updateProperties(properties);
+				indexApplication(application);
+				if (nameIndex.get(application.getName()).size() > 1 || pathIndex.get(application.getPath()).size() > 1) {
+					// the ranking may change, which application wins a conflict
+					fullReconcile.set(true);
+				}
+				// a modified service property is marked as change and reloads the application
+				reconcile |= application.isChanged();
+			} else if (resource instanceof JerseyResourceProvider) {
+				nameIndex.remove(RESOURCE_PREFIX + id);
+				((JerseyResourceProvider<?>) resource).updateProperties(properties);
+				nameIndex.put(RESOURCE_PREFIX + id, resource);
+				updateCloneProperties(resource, properties);
+				if (nameIndex.get(resource.getName()).size() > 1) {
+					fullReconcile.set(true);
+				}
+			} else if (extension instanceof JerseyExtensionProvider) {
+				Integer oldRank = extension.getServiceRank();
+				nameIndex.remove(EXTENSION_PREFIX + id);
+				((JerseyExtensionProvider<?>) extension).updateProperties(properties);
+				nameIndex.put(EXTENSION_PREFIX + id, extension);
+				JaxRsApplicationContentProvider clone = updateCloneProperties(extension, properties);
+				if (nameIndex.get(extension.getName()).size() > 1) {
+					fullReconcile.set(true);
+				} else if (clone != null && !oldRank.equals(extension.getServiceRank())) {
+					// the ranking defines the order of the extensions within the applications
+					reconcile |= reassignContent(clone);
+				}
+			}
+		}
+		return reconcile;
+	}
+
+	/**
+	 * Applies the properties to the clone of the given provider, that is assigned to the applications
+	 * @param source the cached provider
+	 * @param properties the modified properties
+	 * @return the clone or <code>null</code>, if there is no clone of the provider
+	 */
+	private JaxRsApplicationContentProvider updateCloneProperties(JaxRsApplicationContentProvider source, Map<String, Object> properties) {
+		ContentClone cached = contentClones.get(source.getId());
+		if (cached == null || cached.source != source || !(cached.clone instanceof JerseyApplicationContentProvider)) {
+			return null;
+		}
+		((JerseyApplicationContentProvider<?>) cached.clone).updateProperties(properties);
+		return cached.clone;
+	}
+
+	/**
+	 * Removes the content from all applications, that contain it and adds it again, so that these applications are reloaded
+	 * @param content the assigned content
+	 * @return <code>true</code>, if at least one application contains the content
+	 */
+	private boolean reassignContent(JaxRsApplicationContentProvider content) {
+		List<JaxRsApplicationProvider> applications = new ArrayList<>(applicationProviderCache.values());
+		applications.add(defaultProvider);
+		boolean assigned = false;
+		for (JaxRsApplicationProvider application : applications) {
+			if (removeContentFromApplication(application, content)) {
+				addContentToApplication(application, content);
+				assigned = true;
+			}
+		}
+		return assigned;
+	}
+
+	/**
+	 * Returns <code>true</code>, if there are removed or failed services, that have to be handled by a pass
+	 * @return <code>true</code>, if there are pending changes
+	 */
+	private boolean hasPendingChanges() {
+		return !removedApplications.isEmpty() || !removedResources.isEmpty() || !removedExtensions.isEmpty() ||
+				!failedApplications.isEmpty() || !failedResources.isEmpty() || !failedExtensions.isEmpty();
+	}
+
+	/**
+	 * Adds the application to the name and path index
+	 * @param application the application provider
+	 */
+	private void indexApplication(JaxRsApplicationProvider application) {
+		nameIndex.put(APPLICATION_PREFIX + application.getId(), application);
+		pathIndex.put(application.getId(), application);
+	}
+	
+	/**
+	 * Returns <code>true</code>, if the given changes can be applied without reconciling the whole whiteboard.
+	 * This is the case, if there was a full pass before and only resources changed, whose names do not
+	 * collide with other services, because a name conflict may shadow other services
+	 * @param changed the ids of the changed resources
+	 * @return <code>true</code>, if an incremental pass is sufficient
+	 */
+	private boolean canReconcileIncrementally(Collection<String> changed) {
+		if (lastApplicationCandidates == null || !removedApplications.isEmpty() || !removedExtensions.isEmpty()) {
+			return false;
+		}
+		// a removed resource may have shadowed another service with the same name
+		for (JaxRsResourceProvider removed : removedResources) {
+			for (JaxRsProvider provider : nameIndex.get(removed.getName())) {
+				if (!provider.getId().equals(removed.getId())) {
+					return false;
+				}
+			}
+		}
+		for (String id : changed) {
+			JaxRsResourceProvider resource = resourceProviderCache.get(id);
+			if (resource != null && nameIndex.get(resource.getName()).size() > 1) {
+				return false;
+			}
+		}
+		return true;
+	}
+	
+	/**
+	 * Applies the changed resources to the applications, that survived the last full pass. Only the changed resources are
+	 * assigned, unassigned and checked for their extension dependencies. All other assignments and failures are kept from the last pass
+	 * @param changed the ids of the changed resources
+	 */
+	private void reconcileChanges(Collection<String> changed) {
+		Collection<JaxRsResourceProvider> remResources = getRemovedList(removedResources);
+		List<JaxRsApplicationProvider> applicationCandidates = lastApplicationCandidates;
+		Collection<JaxRsApplicationProvider> applications = new ArrayList<>(applicationProviderCache.values());
+		applications.add(defaultProvider);
+		
+		Set<String> touched = new HashSet<>(changed);
+		remResources.forEach(r->touched.add(r.getId()));
+		restoreFailures(touched);
+		
+		remResources.forEach(r->contentClones.remove(r.getId()));
+		unassignContent(applications, remResources);
+		
+		List<JaxRsResourceProvider> resourceCandidates = new ArrayList<>(changed.size());
+		List<JaxRsResourceProvider> foreignResources = new ArrayList<>();
+		Map<String, Object> whiteboardProperties = getWhiteboardProvider().getProperties();
+		for (String id : changed) {
+			JaxRsResourceProvider resource = resourceProviderCache.get(id);
+			if (resource == null) {
+				contentClones.remove(id);
+			} else if (resource.canHandleWhiteboard(whiteboardProperties)) {
+				resourceCandidates.add(resource);
+			} else {
+				foreignResources.add(resource);
+			}
+		}
+		unassignContent(applicationCandidates, foreignResources);
+		
+		Set<JaxRsApplicationContentProvider> noMatchingRes = 
+				assignContent(applications, applicationCandidates, resourceCandidates);
+		noMatchingRes.stream().forEach(e -> {
+			if(e instanceof JerseyResourceProvider) {
+				JerseyResourceProvider<?> p = (JerseyResourceProvider<?>) e;
+				p.updateStatus(DTOConstants.FAILURE_REASON_REQUIRED_APPLICATION_UNAVAILABLE);
+				if(!failedResources.containsKey(p.getId())) {
+					failedResources.put(p.getId(), p);
+				}
+			}
+		});
+		checkExtensionSelectForResources(applicationCandidates, touched);
+		
+		publishApplications(applications, applicationCandidates);
+	}
+	
+	/**
+	 * Reconciles the whole whiteboard. All applications, resources and extensions are evaluated against each other.
+	 */
+	private void reconcileAll() {
+		Collection<JaxRsApplicationProvider> applications = new HashSet<>(applicationProviderCache.values());
+		Collection<JaxRsResourceProvider> resources = new HashSet<>(resourceProviderCache.values());
+		Collection<JaxRsExtensionProvider> extensions = new HashSet<>(extensionProviderCache.values());
+		Collection<JaxRsApplicationProvider> remApplications = getRemovedList(removedApplications);
+		Collection<JaxRsResourceProvider> remResources = getRemovedList(removedResources);
+		Collection<JaxRsExtensionProvider> remExtensions = getRemovedList(removedExtensions);
+		applications.add(defaultProvider);
+		remResources.forEach(r->contentClones.remove(r.getId()));
+		remExtensions.forEach(e->contentClones.remove(e.getId()));
+		/*
+		 * Unregister all applications that are declared as deleted.
+		 * Further remove all resources and extension from applications that are declared as deleted
+		 */
+		remApplications.forEach((remApp)->{
+			if(whiteboard.isRegistered(remApp)) {
 				/*
-				 * Unregister all applications that are declared as deleted.
-				 * Further remove all resources and extension from applications that are declared as deleted
+				 * 151.5.5 Whiteboard extension services must be released by the JAX-RS whiteboard when the application 
+				 * with which they have been registered is removed from the whiteboard, even if this is only a 
+				 * temporary situation. 
 				 */
-				remApplications.forEach((remApp)->{
-					if(whiteboard.isRegistered(remApp)) {
-						/*
-						 * 151.5.5 Whiteboard extension services must be released by the JAX-RS whiteboard when the application 
-						 * with which they have been registered is removed from the whiteboard, even if this is only a 
-						 * temporary situation. 
-						 */
-						for(JaxRsApplicationContentProvider c : remApp.getContentProviers()) {
-							if(c instanceof JaxRsExtensionProvider) {								
-								if(extensionProviderCache.containsKey(c.getId())) {
-									removedExtensions.add((JaxRsExtensionProvider)c);
-								}
-							}
-							if(c instanceof JaxRsResourceProvider && c.isSingleton()) {								
-								if(resourceProviderCache.containsKey(c.getId())) {
-									removedResources.add((JaxRsResourceProvider)c);
-								}
-							}
+				for(JaxRsApplicationContentProvider c : remApp.getContentProviers()) {
+					if(c instanceof JaxRsExtensionProvider) {								
+						if(extensionProviderCache.containsKey(c.getId())) {
+							removedExtensions.add((JaxRsExtensionProvider)c);
 						}
-						
-						unassignContent(Collections.singleton(remApp), remApp.getContentProviers());						
-						whiteboard.unregisterApplication(remApp);
 					}
-				});
-				unassignContent(applications, remResources);
-				unassignContent(applications, remExtensions);
-				/*
-				 * Determine all applications, resources and extension that fit to the whiteboard.
-				 * We only work with those, because all these are possible candidates for the whiteboard
-				 */
-				List<JaxRsApplicationProvider> applicationCandidates = applications.stream().
-						filter((app)->app.canHandleWhiteboard(getWhiteboardProvider().getProperties())).
-						collect(Collectors.toList());
+					if(c instanceof JaxRsResourceProvider && c.isSingleton()) {								
+						if(resourceProviderCache.containsKey(c.getId())) {
+							removedResources.add((JaxRsResourceProvider)c);
+						}
+					}
+				}
 				
-				Map<Boolean, List<JaxRsResourceProvider>> resourceCandidatesMap = resources.stream().collect(Collectors
-						.partitioningBy((r) -> r.canHandleWhiteboard(getWhiteboardProvider().getProperties()),Collectors.toUnmodifiableList()));
+				unassignContent(Collections.singleton(remApp), remApp.getContentProviers());						
+				whiteboard.unregisterApplication(remApp);
+			}
+		});
+		unassignContent(applications, remResources);
+		unassignContent(applications, remExtensions);
+		/*
+		 * Determine all applications, resources and extension that fit to the whiteboard.
+		 * We only work with those, because all these are possible candidates for the whiteboard
+		 */
+		List<JaxRsApplicationProvider> applicationCandidates = applications.stream().
+				filter((app)->app.canHandleWhiteboard(getWhiteboardProvider().getProperties())).
+				collect(Collectors.toList());
+		
+		Map<Boolean, List<JaxRsResourceProvider>> resourceCandidatesMap = resources.stream().collect(Collectors
+				.partitioningBy((r) -> r.canHandleWhiteboard(getWhiteboardProvider().getProperties()),Collectors.toUnmodifiableList()));
 
-				Map<Boolean, List<JaxRsExtensionProvider>> extensionCandidatesMap = extensions.stream().collect(Collectors
-						.partitioningBy((e) -> e.canHandleWhiteboard(getWhiteboardProvider().getProperties()),Collectors.toUnmodifiableList()));
-				
-				
-				
-				unassignContent(applicationCandidates, resourceCandidatesMap.get(Boolean.FALSE));
-				unassignContent(applicationCandidates, extensionCandidatesMap.get(Boolean.FALSE));		
-								
-				/*
-				 * Go over all applications and filter application with same path (shadowed) ordered by service rank (highest first)
-				 * Check substitution of an application through the matched one 
-				 * No matching applications should be stored in the failedApplication list. All failed application from
-				 * this step should be filtered out of the application list
-				 * #19 151.6.1
-				 */
-				applicationCandidates = checkPathProperty(applicationCandidates);		
+		Map<Boolean, List<JaxRsExtensionProvider>> extensionCandidatesMap = extensions.stream().collect(Collectors
+				.partitioningBy((e) -> e.canHandleWhiteboard(getWhiteboardProvider().getProperties()),Collectors.toUnmodifiableList()));
+		
+		
+		
+		unassignContent(applicationCandidates, resourceCandidatesMap.get(Boolean.FALSE));
+		unassignContent(applicationCandidates, extensionCandidatesMap.get(Boolean.FALSE));		
 						
-//				Check the osgi.jaxrs.name property and filter out services with same name and lower rank
-				List<JaxRsProvider> candidates = checkNameProperty(applicationCandidates, resourceCandidatesMap.get(Boolean.TRUE), extensionCandidatesMap.get(Boolean.TRUE));
-				applicationCandidates = candidates.stream()
-						.filter(JaxRsApplicationProvider.class::isInstance)
-						.map(JaxRsApplicationProvider.class::cast)
-						.collect(Collectors.toUnmodifiableList());
-				
-				List<JaxRsResourceProvider> resourceCandidates = candidates.stream()
-						.filter(JaxRsResourceProvider.class::isInstance)
-						.map(JaxRsResourceProvider.class::cast)
-						.collect(Collectors.toUnmodifiableList());
-				
-				List<JaxRsExtensionProvider> extensionCandidates = candidates.stream()
-						.filter(JaxRsExtensionProvider.class::isInstance)
-						.map(JaxRsExtensionProvider.class::cast)
-						.collect(Collectors.toUnmodifiableList());			
-				
+		/*
+		 * Go over all applications and filter application with same path (shadowed) ordered by service rank (highest first)
+		 * Check substitution of an application through the matched one 
+		 * No matching applications should be stored in the failedApplication list. All failed application from
+		 * this step should be filtered out of the application list
+		 * #19 151.6.1
+		 */
+		applicationCandidates = checkPathProperty(applicationCandidates);		
 				
+//				Check the osgi.jaxrs.name property and filter out services with same name and lower rank
+		List<JaxRsProvider> candidates = checkNameProperty(applicationCandidates, resourceCandidatesMap.get(Boolean.TRUE), extensionCandidatesMap.get(Boolean.TRUE));
+		applicationCandidates = candidates.stream()
+				.filter(JaxRsApplicationProvider.class::isInstance)
+				.map(JaxRsApplicationProvider.class::cast)
+				.collect(Collectors.toUnmodifiableList());
+		
+		List<JaxRsResourceProvider> resourceCandidates = candidates.stream()
+				.filter(JaxRsResourceProvider.class::isInstance)
+				.map(JaxRsResourceProvider.class::cast)
+				.collect(Collectors.toUnmodifiableList());
+		
+		List<JaxRsExtensionProvider> extensionCandidates = candidates.stream()
+				.filter(JaxRsExtensionProvider.class::isInstance)
+				.map(JaxRsExtensionProvider.class::cast)
+				.collect(Collectors.toUnmodifiableList());			
+		
+		
 //				Assign extension to apps and report a failure DTO for those extensions which have not been assigned to any app
-				Set<JaxRsApplicationContentProvider> noMatchingExt = 
-						assignContent(applications, applicationCandidates, extensionCandidates);
-				
-				noMatchingExt.stream().filter(JerseyExtensionProvider.class::isInstance)
-						.map(JerseyExtensionProvider.class::cast).forEach(p -> {
+		Set<JaxRsApplicationContentProvider> noMatchingExt = 
+				assignContent(applications, applicationCandidates, extensionCandidates);
+		
+		noMatchingExt.stream().filter(JerseyExtensionProvider.class::isInstance)
+				.map(JerseyExtensionProvider.class::cast).forEach(p -> {
 
-							p.updateStatus(DTOConstants.FAILURE_REASON_REQUIRED_APPLICATION_UNAVAILABLE);
-							if (!failedExtensions.containsKey(p.getId())) {
-								failedExtensions.put(p.getId(), p);
-							}
+					p.updateStatus(DTOConstants.FAILURE_REASON_REQUIRED_APPLICATION_UNAVAILABLE);
+					if (!failedExtensions.containsKey(p.getId())) {
+						failedExtensions.put(p.getId(), p);
+					}
 
-						});
-				
-				
+				});
+		
+		
 //				check for osgi.jaxrs.extension.select properties in apps and extensions
 //				If such property exists we should check that the corresponding extensions are available,
 //				otherwise the service should result in a failure DTO
-				applicationCandidates = checkExtensionSelect(applicationCandidates);	
-				
-				/*
-				 * Determine all default applications. We are only interested in the highest ranked one, that
-				 * will substitute the implicit default application. All other default applications are added 
-				 * to the failed application list
-				 * Section 151.6.1
-				 * 
-				 * Go over all applications and filter application with name '.default' ordered by service rank (highest first)
-				 * Check substitution of defaultProvider through this application
-				 * No matching applications should be stored in the failedApplication list. All failed application from
-				 * this step should be filtered out of the application list
-				 * #18 151.6.1
-				 */
-				Set<JaxRsApplicationProvider> defaultApplications = DispatcherHelper.getDefaultApplications(applicationCandidates);
+		applicationCandidates = checkExtensionSelect(applicationCandidates);	
+		
+		/*
+		 * Determine all default applications. We are only interested in the highest ranked one, that
+		 * will substitute the implicit default application. All other default applications are added 
+		 * to the failed application list
+		 * Section 151.6.1
+		 * 
+		 * Go over all applications and filter application with name '.default' ordered by service rank (highest first)
+		 * Check substitution of defaultProvider through this application
+		 * No matching applications should be stored in the failedApplication list. All failed application from
+		 * this step should be filtered out of the application list
+		 * #18 151.6.1
+		 */
+		Set<JaxRsApplicationProvider> defaultApplications = DispatcherHelper.getDefaultApplications(applicationCandidates);
+		
+		defaultApplications
+			.stream()
+			.skip(1)// the default app
+			.forEach(a-> {
+				if(a instanceof JerseyApplicationProvider) {
+					((JerseyApplicationProvider) a).updateStatus(DTOConstants.FAILURE_REASON_SHADOWED_BY_OTHER_SERVICE);
+				}
+				if(!failedApplications.containsKey(a.getId())) {
+					failedApplications.put(a.getId(), a);
+				}
+			});
 		
-				defaultApplications
-					.stream()
-					.skip(1)// the default app
-					.forEach(a-> {
-						if(a instanceof JerseyApplicationProvider) {
-							((JerseyApplicationProvider) a).updateStatus(DTOConstants.FAILURE_REASON_SHADOWED_BY_OTHER_SERVICE);
-						}
-						if(!failedApplications.containsKey(a.getId())) {
-							failedApplications.put(a.getId(), a);
-						}
-					});
-				
 //				Filter out from the application list the default ones which have been added to the failed list
-				applicationCandidates = applicationCandidates.stream().filter(a -> !failedApplications.containsKey(a.getId()))
-						.collect(Collectors.toUnmodifiableList());	
-				
+		applicationCandidates = applicationCandidates.stream().filter(a -> !failedApplications.containsKey(a.getId()))
+				.collect(Collectors.toUnmodifiableList());	
+		
 //				Assign resources to apps and report a failure DTO for those resources which have not been added to any app
-				Set<JaxRsApplicationContentProvider> noMatchingRes = 
-						assignContent(applications, applicationCandidates, resourceCandidates);
-				
-				noMatchingRes.stream().forEach(e -> {
-					if(e instanceof JerseyResourceProvider) {
-						JerseyResourceProvider<?> p = (JerseyResourceProvider<?>) e;
-						p.updateStatus(DTOConstants.FAILURE_REASON_REQUIRED_APPLICATION_UNAVAILABLE);
-						if(!failedResources.containsKey(p.getId())) {
-							failedResources.put(p.getId(), p);
-						}
-					}
-				});
-				
+		Set<JaxRsApplicationContentProvider> noMatchingRes = 
+				assignContent(applications, applicationCandidates, resourceCandidates);
+		
+		noMatchingRes.stream().forEach(e -> {
+			if(e instanceof JerseyResourceProvider) {
+				JerseyResourceProvider<?> p = (JerseyResourceProvider<?>) e;
+				p.updateStatus(DTOConstants.FAILURE_REASON_REQUIRED_APPLICATION_UNAVAILABLE);
+				if(!failedResources.containsKey(p.getId())) {
+					failedResources.put(p.getId(), p);
+				}
+			}
+		});
+		
 //				check for osgi.jaxrs.extension.select properties in apps and resources
 //				If such property exists we should check that the corresponding extensions are available,
 //				otherwise the service should result in a failure DTO
-				checkExtensionSelectForResources(applicationCandidates);
-				
-				List<JaxRsApplicationProvider> finalApplicationCandidates = applicationCandidates;					
-				
-//				First we unregister the app that need to be unregistered
-				applications.forEach((app)->{
-					if (!finalApplicationCandidates.contains(app)) {
-						if (whiteboard.isRegistered(app)) {
-							logger.info("Unregistering application " + app.getId());
-							whiteboard.unregisterApplication(app);
-						}
-						app.markUnchanged();
-					}					
-				});
-				
-//				Then we register/reload the app which are in the applicationCandidates list
-				applications.forEach((app)->{
-					if (finalApplicationCandidates.contains(app)) {
-						if (whiteboard.isRegistered(app)) {			
-							if (app.isChanged()) {
-								logger.info("Re-loading application APP " + app.getId());
-								whiteboard.reloadApplication(app);
-							}
-						} else {
-							logger.info("Registering application " + app.getId());
-							whiteboard.registerApplication(app);
-						}
-						app.markUnchanged();
-					}					
-				});
-				
-				if(whiteboard instanceof AbstractJerseyServiceRuntime) {
-					AbstractJerseyServiceRuntime ajsr = (AbstractJerseyServiceRuntime) whiteboard;
-					ajsr.updateFailedContents(failedApplications, failedResources, failedExtensions);
-					reset(failedApplications, failedResources, failedExtensions);
-				}				
-				
-			} catch (Exception e) {
-				e.printStackTrace();
-			} finally {
-				lock.unlock();
-			}
-			// re-trigger, if there was a change during lock
-			if (lockedChange.compareAndSet(true, false)) {
-				doDispatch();
+		checkExtensionSelectForResources(applicationCandidates, null);
+		
+		lastApplicationCandidates = applicationCandidates;
+		publishApplications(applications, applicationCandidates);
+	}
+	
+	/**
+	 * Unregisters all applications, that are not candidates anymore and registers or reloads the changed candidates.
+	 * At last the failures are published to the whiteboard
+	 * @param applications all known applications
+	 * @param applicationCandidates the applications, that should be available in the whiteboard
+	 */
+	private void publishApplications(Collection<JaxRsApplicationProvider> applications, List<JaxRsApplicationProvider> applicationCandidates) {
+		Set<JaxRsApplicationProvider> finalApplicationCandidates = new HashSet<>(applicationCandidates);
+		// the runtime DTO and change count are updated once, after all applications are published
+		whiteboard.beginUpdate();
+		try {
+//			First we unregister the app that need to be unregistered
+			applications.forEach((app)->{
+				if (!finalApplicationCandidates.contains(app)) {
+					if (whiteboard.isRegistered(app)) {
+						logger.info("Unregistering application " + app.getId());
+						whiteboard.unregisterApplication(app);
+					}
+					app.markUnchanged();
+				}					
+			});
+			
+//			Then we register/reload the app which are in the applicationCandidates list
+			List<JaxRsApplicationProvider> publish = applications.stream()
+					.filter(finalApplicationCandidates::contains)
+					.filter((app)->!whiteboard.isRegistered(app) || app.isChanged())
+					.collect(Collectors.toList());
+			publishConcurrently(publish);
+			applications.stream().filter(finalApplicationCandidates::contains).forEach(JaxRsApplicationProvider::markUnchanged);
+			
+			rememberFailures();
+			reportFailures();
+		} finally {
+			whiteboard.endUpdate();
+		}
+	}
+	
+	/**
+	 * Registers or reloads the given applications. The applications are independent of each other,
+	 * so they are published concurrently, if a parallelism greater than 1 is configured.
+	 * Failures are thrown, after all applications were processed.
+	 * @param applications the applications to register or reload
+	 */
+	private void publishConcurrently(List<JaxRsApplicationProvider> applications) {
+		ForkJoinPool pool = applications.size() > 1 ? getApplicationPool() : null;
+		if (pool == null) {
+			applications.forEach(this::publishApplication);
+			return;
+		}
+		ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+		List<ForkJoinTask<?>> tasks = applications.stream()
+				.map((app)->pool.submit(()->{
+					Thread thread = Thread.currentThread();
+					ClassLoader previous = thread.getContextClassLoader();
+					thread.setContextClassLoader(contextClassLoader);
+					try {
+						publishApplication(app);
+					} finally {
+						thread.setContextClassLoader(previous);
+					}
+				}))
+				.collect(Collectors.toList());
+		RuntimeException failure = null;
+		for (ForkJoinTask<?> task : tasks) {
+			try {
+				task.join();
+			} catch (RuntimeException e) {
+				if (failure == null) {
+					failure = e;
+				} else {
+					failure.addSuppressed(e);
+				}
 			}
+		}
+		if (failure != null) {
+			throw failure;
+		}
+	}
+	
+	/**
+	 * Registers the application or reloads it, if it is already registered
+	 * @param app the application
+	 */
+	private void publishApplication(JaxRsApplicationProvider app) {
+		if (whiteboard.isRegistered(app)) {
+			logger.info("Re-loading application APP " + app.getId());
+			whiteboard.reloadApplication(app);
 		} else {
-			lockedChange.compareAndSet(false, true);
+			logger.info("Registering application " + app.getId());
+			whiteboard.registerApplication(app);
+		}
+	}
+	
+	/**
+	 * Publishes the failures to the whiteboard and resets them. During a bulk apply, the failure DTOs are collected as well
+	 */
+	private void reportFailures() {
+		Map<String, BaseDTO> collector = failureCollector;
+		if (collector != null) {
+			failedApplications.forEach((id, app)->collector.put(id, app.getApplicationDTO()));
+			failedResources.forEach((id, resource)->collector.put(id, resource.getResourceDTO()));
+			failedExtensions.forEach((id, extension)->collector.put(id, extension.getExtensionDTO()));
+		}
+		if(whiteboard instanceof AbstractJerseyServiceRuntime) {
+			AbstractJerseyServiceRuntime ajsr = (AbstractJerseyServiceRuntime) whiteboard;
+			ajsr.updateFailedContents(failedApplications, failedResources, failedExtensions);
+			reset(failedApplications, failedResources, failedExtensions);
 		}
 	}
+	
+	/**
+	 * Keeps the failures of the current pass together with their reasons, because the failure
+	 * status of the providers is reset after each pass. Services, that never made it into the caches,
+	 * like the ones with invalid properties, are only reported once, like before
+	 */
+	private void rememberFailures() {
+		lastFailures.clear();
+		lastFailureReasons.clear();
+		failedApplications.forEach((id, app)->{
+			BaseApplicationDTO dto = app.getApplicationDTO();
+			if (dto instanceof FailedApplicationDTO && (applicationProviderCache.containsKey(id) || defaultProvider.getId().equals(id))) {
+				lastFailures.put(id, app);
+				lastFailureReasons.put(id, ((FailedApplicationDTO) dto).failureReason);
+			}
+		});
+		failedResources.forEach((id, resource)->{
+			BaseDTO dto = resource.getResourceDTO();
+			if (dto instanceof FailedResourceDTO && resourceProviderCache.containsKey(id)) {
+				lastFailures.put(id, resource);
+				lastFailureReasons.put(id, ((FailedResourceDTO) dto).failureReason);
+			}
+		});
+		failedExtensions.forEach((id, extension)->{
+			BaseDTO dto = extension.getExtensionDTO();
+			if (dto instanceof FailedExtensionDTO && extensionProviderCache.containsKey(id)) {
+				lastFailures.put(id, extension);
+				lastFailureReasons.put(id, ((FailedExtensionDTO) dto).failureReason);
+			}
+		});
+	}
+	
+	/**
+	 * Restores the failures of the last pass, except the ones of the given ids, that are re-evaluated
+	 * @param excluded the ids of the services, that are re-evaluated in the current pass
+	 */
+	private void restoreFailures(Set<String> excluded) {
+		lastFailures.forEach((id, provider)->{
+			if (excluded.contains(id)) {
+				return;
+			}
+			int reason = lastFailureReasons.get(id);
+			if (provider instanceof JerseyApplicationProvider) {
+				((JerseyApplicationProvider) provider).updateStatus(reason);
+				failedApplications.putIfAbsent(id, (JaxRsApplicationProvider) provider);
+			} else if (provider instanceof JerseyResourceProvider) {
+				((JerseyResourceProvider<?>) provider).updateStatus(reason);
+				failedResources.putIfAbsent(id, (JaxRsResourceProvider) provider);
+			} else if (provider instanceof JerseyExtensionProvider) {
+				((JerseyExtensionProvider<?>) provider).updateStatus(reason);
+				failedExtensions.putIfAbsent(id, (JaxRsExtensionProvider) provider);
+			}
+		});
+	}
 
 	/**
 	 * @param failedApplications
@@ -635,19 +1587,16 @@ public class JerseyWhiteboardDispatcher implements JaxRsWhiteboardDispatcher {
 		logger.fine("App Candidates size AFTER ordering " + applicationCandidates.size());
 
 		
-		for(int i = 0; i < applicationCandidates.size(); i++) {
-			JaxRsApplicationProvider a1 = applicationCandidates.get(i);
-			String path = a1.getPath();
-			for(int j = i+1; j < applicationCandidates.size(); j++) {
-				JaxRsApplicationProvider a2 = applicationCandidates.get(j);
-				if(path.equals(a2.getPath())) {
-					failedApplications.put(a2.getId(), a2);										
-					if(a2 instanceof JerseyApplicationProvider) {
-						JerseyApplicationProvider a = (JerseyApplicationProvider) a2;
-						logger.fine("Failing DTO status for App " + a.getId());						
-						a.updateStatus(DTOConstants.FAILURE_REASON_SHADOWED_BY_OTHER_SERVICE);
-					}					
-				}
+		Set<JaxRsApplicationProvider> candidateSet = new HashSet<>(applicationCandidates);
+		for(JaxRsApplicationProvider a2 : applicationCandidates) {
+			JaxRsApplicationProvider best = pathIndex.getBest(a2.getPath(), candidateSet::contains);
+			if(best != null && best != a2) {
+				failedApplications.put(a2.getId(), a2);										
+				if(a2 instanceof JerseyApplicationProvider) {
+					JerseyApplicationProvider a = (JerseyApplicationProvider) a2;
+					logger.fine("Failing DTO status for App " + a.getId());						
+					a.updateStatus(DTOConstants.FAILURE_REASON_SHADOWED_BY_OTHER_SERVICE);
+				}					
 			}
 		}
 		return applicationCandidates.stream().filter(a->!failedApplications.containsKey(a.getId())).collect(Collectors.toList());
@@ -658,12 +1607,12 @@ public class JerseyWhiteboardDispatcher implements JaxRsWhiteboardDispatcher {
 	 * removed from the app. 
 	 * 
 	 * @param applicationCandidates
+	 * @param resourceIds the ids of the resources to check or <code>null</code> to check all resources
 	 */
 	private void checkExtensionSelectForResources(
-			List<JaxRsApplicationProvider> applicationCandidates) {
-		
-		Map<JaxRsProvider, Set<String>> dependencyMap = new HashMap<JaxRsProvider, Set<String>>();
+			List<JaxRsApplicationProvider> applicationCandidates, Set<String> resourceIds) {
 		
+		Map<String, Object> whiteboardProperties = getWhiteboardProvider().getProperties();
 		for(JaxRsApplicationProvider app : applicationCandidates) {
 
 			Collection<JaxRsApplicationContentProvider> contents = app.getContentProviers();
@@ -681,30 +1630,17 @@ public class JerseyWhiteboardDispatcher implements JaxRsWhiteboardDispatcher {
 					.collect(Collectors.toList());
 			
 			for(JaxRsResourceProvider res : resources) {
-				if(res.requiresExtensions()) {
-					dependencyMap.put(res, new HashSet<String>());
-					List<Filter> extFilters = res.getExtensionFilters();	
-					for(Filter filter : extFilters) {					
-						boolean match = false;
-						for(JaxRsExtensionProvider ext : extensions) {
-							if(filter.matches(ext.getProperties())) {
-								match = true;
-								break;
-							}
-						}
-						if(match == false) {
-							if(!filter.matches(app.getProviderProperties())
-									&& !filter.matches(getWhiteboardProvider().getProperties())) {
-								removeContentFromApplication(app, res);
-								if(!failedResources.containsKey(res.getId())) {
-									failedResources.put(res.getId(), res);
-								}								
-								if(res instanceof JerseyResourceProvider) {
-									JerseyResourceProvider<?> a = (JerseyResourceProvider<?>) res;
-									a.updateStatus(DTOConstants.FAILURE_REASON_REQUIRED_EXTENSIONS_UNAVAILABLE);
-								}
-							}
-						}	
+				if(resourceIds != null && !resourceIds.contains(res.getId())) {
+					continue;
+				}
+				if(res.requiresExtensions() && !dependencyGraph.isSatisfied(res, extensions, app, whiteboardProperties)) {
+					removeContentFromApplication(app, res);
+					if(!failedResources.containsKey(res.getId())) {
+						failedResources.put(res.getId(), res);
+					}								
+					if(res instanceof JerseyResourceProvider) {
+						JerseyResourceProvider<?> a = (JerseyResourceProvider<?>) res;
+						a.updateStatus(DTOConstants.FAILURE_REASON_REQUIRED_EXTENSIONS_UNAVAILABLE);
 					}
 				}
 			}			
@@ -715,17 +1651,15 @@ public class JerseyWhiteboardDispatcher implements JaxRsWhiteboardDispatcher {
 	 * Check the osgi.jaxrs.extension.select for apps and extensions. 
 	 * If an app requires an extension and this is not present, then all the extensions previously added to that app
 	 * will be removed and the app itself will be unregistered and recorded as a failure DTO.
-	 * If an extension requires another extension which is not present, the extension is removed from the app. In this
-	 * case we then check recursively if the removal of such extension causes other extensions or the app itself to be
-	 * unsatisfied.
+	 * If an extension requires another extension which is not present, the extension is removed from the app. The
+	 * removal is propagated through the {@link ExtensionDependencyGraph} to the extensions and the app, that depend on it.
 	 * 
 	 * @param applicationCandidates the app candidates
 	 * @return the set of surviving apps after this check
 	 */
 	private List<JaxRsApplicationProvider> checkExtensionSelect(List<JaxRsApplicationProvider> applicationCandidates) {
 		
-		Map<JaxRsProvider, Set<String>> dependencyMap = new HashMap<JaxRsProvider, Set<String>>();
-		
+		Map<String, Object> whiteboardProperties = getWhiteboardProvider().getProperties();
 		for(JaxRsApplicationProvider app : applicationCandidates) {
 		
 //			get the extensions which have been added to this app
@@ -735,130 +1669,31 @@ public class JerseyWhiteboardDispatcher implements JaxRsWhiteboardDispatcher {
 					.map(JaxRsExtensionProvider.class::cast)
 					.collect(Collectors.toList());
 			
-//			check if the app itself requires some ext. If so, check if they are among the contents.
-//			If not, the application should be put in the failed ones and all the ext should be removed from the app
-			if(app.requiresExtensions()) {
-				dependencyMap.put(app, new HashSet<String>());
-				List<Filter> extFilters = app.getExtensionFilters();			
-				
-				for(Filter filter : extFilters) {					
-					boolean match = false;
-					for(JaxRsExtensionProvider ext : extensions) {
-						if(filter.matches(ext.getProperties())) {
-							match = true;
-							dependencyMap.get(app).add(ext.getId());
-							break;
-						}
-					}
-					if(match == false) {	
-						if(!filter.matches(getWhiteboardProvider().getProperties())) {
-							for(JaxRsExtensionProvider ext : extensions) {							
-								removeContentFromApplication(app, ext);
-								if(!failedExtensions.containsKey(ext.getId())) {
-									failedExtensions.put(ext.getId(), ext);
-								}								
-								if(ext instanceof JerseyExtensionProvider) {
-									JerseyExtensionProvider<?> e = (JerseyExtensionProvider<?>) ext;
-									e.updateStatus(DTOConstants.FAILURE_REASON_REQUIRED_EXTENSIONS_UNAVAILABLE);
-								}
-							}
-							if(!failedApplications.containsKey(app.getId())) {
-								failedApplications.put(app.getId(), app);	
-							}	
-							if(app instanceof JerseyApplicationProvider) {
-								JerseyApplicationProvider a = (JerseyApplicationProvider) app;
-								a.updateStatus(DTOConstants.FAILURE_REASON_REQUIRED_EXTENSIONS_UNAVAILABLE);
-							}	
-							break;
-						}					
-					}
-					
-				}				
-			}
-//			If the app survives previous step, we should check all the extensions for extension requirement
-//			If a required ext is not there we remove the extension which was asking for it from the app
-//			We also check if previous passing extension needed that ext. In that case we unregistered also
-//			those ones recursively. If the app needed one of the removed extension we remove the app
-			if(!failedApplications.containsKey(app.getId())) {
-				List<JaxRsExtensionProvider> extensionsCopy = new LinkedList<>();
-				extensionsCopy.addAll(extensions);
-				for(JaxRsExtensionProvider ext : extensions) {
-					if(ext.requiresExtensions()) {
-						dependencyMap.put(ext, new HashSet<String>());
-						List<Filter> extFilters = ext.getExtensionFilters();	
-						for(Filter filter : extFilters) {					
-							boolean match = false;
-							for(JaxRsExtensionProvider ext2 : extensionsCopy) {
-								if(filter.matches(ext2.getProperties())) {
-									match = true;
-									dependencyMap.get(ext).add(ext2.getId());
-									break;
-								}
-							}
-							if(match == false) {
-								if(filter.matches(app.getProviderProperties())) {
-									match = true;
-									dependencyMap.get(ext).add(app.getId());
-								}
-								else if(filter.matches(getWhiteboardProvider().getProperties())) {
-									match = true;
-									dependencyMap.get(ext).add(getWhiteboardProvider().getName());
-								}
-								else {
-									removeExtensionDependency(dependencyMap, ext, extensionsCopy, app);		
-									if(failedApplications.containsKey(app.getId())) {
-										break;
-									}
-								}								
-							}							
-						}				
-					}
+//			Extensions, whose required extensions are not available, are removed from the app together with
+//			the extensions depending on them. If the app itself requires an unavailable extension,
+//			the application and all its extensions fail
+			Resolution resolution = dependencyGraph.resolveApplication(app, extensions, whiteboardProperties);
+			for(JaxRsExtensionProvider ext : resolution.getFailedExtensions()) {
+				removeContentFromApplication(app, ext);
+				if(!failedExtensions.containsKey(ext.getId())) {
+					failedExtensions.put(ext.getId(), ext);
 				}
-			}			
-		}	
-		return applicationCandidates.stream().filter(a -> !failedApplications.containsKey(a.getId())).collect(Collectors.toList());
-	}
-	
-	private void removeExtensionDependency(Map<JaxRsProvider, Set<String>> dependencyMap, 
-			JaxRsExtensionProvider ext, List<JaxRsExtensionProvider> extensionsCopy, JaxRsApplicationProvider app) {
-		
-		if(dependencyMap.get(app) != null && dependencyMap.get(app).contains(ext.getId())) {
-			for(JaxRsExtensionProvider extension : extensionsCopy) {
-				removeContentFromApplication(app, extension);				
-				if(!failedExtensions.containsKey(extension.getId())) {
-					failedExtensions.put(extension.getId(), extension);
-				}
-				if(extension instanceof JerseyExtensionProvider) {
-					JerseyExtensionProvider<?> e = (JerseyExtensionProvider<?>) extension;
+				if(ext instanceof JerseyExtensionProvider) {
+					JerseyExtensionProvider<?> e = (JerseyExtensionProvider<?>) ext;
 					e.updateStatus(DTOConstants.FAILURE_REASON_REQUIRED_EXTENSIONS_UNAVAILABLE);
 				}
 			}
-			if(!failedApplications.containsKey(app.getId())) {
-				failedApplications.put(app.getId(), app);	
-			}
-			if(app instanceof JerseyApplicationProvider) {
-				JerseyApplicationProvider a = (JerseyApplicationProvider) app;
-				a.updateStatus(DTOConstants.FAILURE_REASON_REQUIRED_EXTENSIONS_UNAVAILABLE);
-			}	
-		}
-		else {
-			removeContentFromApplication(app, ext);
-			if(!failedExtensions.containsKey(ext.getId())) {
-				failedExtensions.put(ext.getId(), ext);
-			}
-			if(ext instanceof JerseyExtensionProvider) {
-				JerseyExtensionProvider<?> e = (JerseyExtensionProvider<?>) ext;
-				e.updateStatus(DTOConstants.FAILURE_REASON_REQUIRED_EXTENSIONS_UNAVAILABLE);
-			}
-			extensionsCopy.remove(ext);
-			dependencyMap.forEach((k,v)-> {
-				if(v.contains(ext.getId())) {
-					if(k instanceof JaxRsExtensionProvider) {						
-							removeExtensionDependency(dependencyMap, (JaxRsExtensionProvider) k, extensionsCopy, app);											
-					}					
+			if(resolution.isApplicationFailed()) {
+				if(!failedApplications.containsKey(app.getId())) {
+					failedApplications.put(app.getId(), app);	
 				}
-			});			
-		}
+				if(app instanceof JerseyApplicationProvider) {
+					JerseyApplicationProvider a = (JerseyApplicationProvider) app;
+					a.updateStatus(DTOConstants.FAILURE_REASON_REQUIRED_EXTENSIONS_UNAVAILABLE);
+				}
+			}
+		}	
+		return applicationCandidates.stream().filter(a -> !failedApplications.containsKey(a.getId())).collect(Collectors.toList());
 	}
 
 	
@@ -887,20 +1722,17 @@ public class JerseyWhiteboardDispatcher implements JaxRsWhiteboardDispatcher {
 				.collect(Collectors.toUnmodifiableList());
 		
 			
-		List<JaxRsProvider> failures = new ArrayList<JaxRsProvider>();
-		for(int i = 0; i < allCandidates.size(); i++) {
-			JaxRsProvider p = allCandidates.get(i);
-			String name = p.getName();
-			for(int j = i+1; j < allCandidates.size(); j++) {
-				JaxRsProvider p2 = allCandidates.get(j);	
-				if(name.equals(p2.getName())) {
-					logger.info("Adding failure " + p2.getId() + " with name " + p2.getName() + " compared with " + p.getId());
-					failures.add(p2);						
-				}
+		Set<JaxRsProvider> candidateSet = new HashSet<>(allCandidates);
+		Set<JaxRsProvider> failures = new HashSet<JaxRsProvider>();
+		for(JaxRsProvider p2 : allCandidates) {
+			JaxRsProvider p = nameIndex.getBest(p2.getName(), candidateSet::contains);
+			if(p != null && p != p2) {
+				logger.info("Adding failure " + p2.getId() + " with name " + p2.getName() + " compared with " + p.getId());
+				failures.add(p2);						
 			}
 		}
 		logger.fine("Failures after name sort " + failures.size());
-		failures.stream().forEach(f-> {
+		allCandidates.stream().filter(failures::contains).forEach(f-> {
 			
 			if(f instanceof JaxRsApplicationProvider) {
 				if(!failedApplications.containsKey(f.getId())) {
@@ -962,6 +1794,8 @@ public class JerseyWhiteboardDispatcher implements JaxRsWhiteboardDispatcher {
 			Collection<? extends JaxRsApplicationContentProvider> content) {
 		
 		Set<JaxRsApplicationContentProvider> notAddedContents = new HashSet<>();
+		Set<JaxRsApplicationProvider> candidateSet = new HashSet<>(candidates);
+		ApplicationSelectIndex selectIndex = new ApplicationSelectIndex(candidateSet, applications);
 		
 		// determine all content that match an application and returns the ones that found a match
 		Set<JaxRsApplicationContentProvider> contentCandidates = content.
@@ -969,8 +1803,22 @@ public class JerseyWhiteboardDispatcher implements JaxRsWhiteboardDispatcher {
 				map(this::cloneContent).
 				filter((c)->{
 					AtomicBoolean matched = new AtomicBoolean(false);
-					applications.forEach((app)->{
-						if (candidates.contains(app) && 
+					String selectedName = ApplicationSelectIndex.getSelectedName(c);
+					/*
+					 * A simple name filter is only evaluated against the applications with that name. 
+					 * The content is removed from the other applications, that currently hold it.
+					 * Any other filter is evaluated against all applications
+					 */
+					Collection<JaxRsApplicationProvider> targets = selectedName == null ? applications : selectIndex.getApplications(selectedName);
+					if (selectedName != null) {
+						selectIndex.getOwners(c).forEach((app)->{
+							if (!targets.contains(app) && removeContentFromApplication(app, c)) {
+								logger.info("Removed content " + c.getName() + " from application " + app.getName());
+							}
+						});
+					}
+					targets.forEach((app)->{
+						if (candidateSet.contains(app) && 
 								c != null &&
 								c.canHandleApplication(app)) {
 							boolean added = addContentToApplication(app, c);
@@ -1072,8 +1920,14 @@ public class JerseyWhiteboardDispatcher implements JaxRsWhiteboardDispatcher {
 		if (source == null) {
 			return null;
 		}
+		ContentClone cached = contentClones.get(source.getId());
+		if (cached != null && cached.source == source) {
+			return cached.clone;
+		}
 		try {
-			return (JaxRsApplicationContentProvider) source.clone();
+			JaxRsApplicationContentProvider clone = (JaxRsApplicationContentProvider) source.clone();
+			contentClones.put(source.getId(), new ContentClone(source, clone));
+			return clone;
 		} catch (CloneNotSupportedException e) {
 			logger.log(Level.SEVERE, "Cannot clone object " + source.getId() + " because it is not clonable", e);
 		}
@@ -1106,4 +1960,19 @@ public class JerseyWhiteboardDispatcher implements JaxRsWhiteboardDispatcher {
 		return batchMode;
 	}
 	
+	/**
+	 * Clone of a content provider together with the cached provider it was created from
+	 */
+	private static class ContentClone {
+		
+		private final JaxRsApplicationContentProvider source;
+		private final JaxRsApplicationContentProvider clone;
+		
+		ContentClone(JaxRsApplicationContentProvider source, JaxRsApplicationContentProvider clone) {
+			this.source = source;
+			this.clone = clone;
+		}
+		
+	}
+	
 }
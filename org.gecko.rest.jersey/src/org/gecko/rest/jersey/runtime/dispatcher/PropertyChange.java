@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) 2012 - 2022 Data In Motion and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Data In Motion - initial API and implementation
+ *     Stefan Bishof - API and implementation
+ *     Tim Ward - implementation
+ */
+package org.gecko.rest.jersey.runtime.dispatcher;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.osgi.framework.Constants;
+import org.osgi.service.jaxrs.whiteboard.JaxrsWhiteboardConstants;
+
+/**
+ * Classification of a modification of the service properties of an application, resource or extension.
+ * A property is relevant for the dispatching, if it is validated by the whiteboard or if it is referenced
+ * by one of the application or extension select filters.
+ * @author agent
+ * @since 18.10.2026
+ */
+public enum PropertyChange {
+
+	/** Only properties changed, that are not relevant for the dispatching */
+	NONE,
+	/** The service ranking changed, but nothing else, that is relevant for the dispatching */
+	RANKING,
+	/** A property changed, that may change the validation or routing of the service */
+	STRUCTURAL;
+
+	private static final Set<String> STRUCTURAL_KEYS = Set.of(
+			Constants.OBJECTCLASS.toLowerCase(Locale.ROOT),
+			Constants.SERVICE_ID.toLowerCase(Locale.ROOT),
+			Constants.SERVICE_SCOPE.toLowerCase(Locale.ROOT),
+			Constants.SERVICE_BUNDLEID.toLowerCase(Locale.ROOT),
+			JaxrsWhiteboardConstants.JAX_RS_NAME,
+			JaxrsWhiteboardConstants.JAX_RS_APPLICATION_BASE,
+			JaxrsWhiteboardConstants.JAX_RS_APPLICATION_SELECT,
+			JaxrsWhiteboardConstants.JAX_RS_EXTENSION_SELECT,
+			JaxrsWhiteboardConstants.JAX_RS_WHITEBOARD_TARGET,
+			JaxrsWhiteboardConstants.JAX_RS_RESOURCE,
+			JaxrsWhiteboardConstants.JAX_RS_EXTENSION);
+	private static final Pattern ATTRIBUTE_PATTERN = Pattern.compile("\\(\\s*([^=<>~()&|!\\s]+)\\s*(?:=|<=|>=|~=)");
+
+	/**
+	 * Classifies the difference between the old and the new service properties
+	 * @param oldProperties the previous properties
+	 * @param newProperties the modified properties
+	 * @param referencedAttributes the lower case attribute names, that are referenced by select filters, see {@link #collectAttributes(Object, Set)}
+	 * @return the kind of the change
+	 */
+	public static PropertyChange classify(Map<String, Object> oldProperties, Map<String, Object> newProperties, Set<String> referencedAttributes) {
+		Set<String> keys = new HashSet<>(oldProperties.keySet());
+		keys.addAll(newProperties.keySet());
+		boolean ranking = false;
+		for (String key : keys) {
+			if (Objects.deepEquals(oldProperties.get(key), newProperties.get(key))) {
+				continue;
+			}
+			String attribute = key.toLowerCase(Locale.ROOT);
+			if (STRUCTURAL_KEYS.contains(attribute) || referencedAttributes.contains(attribute)) {
+				return STRUCTURAL;
+			}
+			if (Constants.SERVICE_RANKING.equalsIgnoreCase(key)) {
+				ranking = true;
+			}
+		}
+		return ranking ? RANKING : NONE;
+	}
+
+	/**
+	 * Adds the lower case names of all attributes, that are used in the given filter
+	 * @param filter the filter as {@link String} or {@link String} array, can be <code>null</code>
+	 * @param attributes the set to add the attributes to
+	 */
+	public static void collectAttributes(Object filter, Set<String> attributes) {
+		if (filter instanceof String[]) {
+			for (String f : (String[]) filter) {
+				collectAttributes(f, attributes);
+			}
+		} else if (filter instanceof String) {
+			Matcher matcher = ATTRIBUTE_PATTERN.matcher((String) filter);
+			while (matcher.find()) {
+				attributes.add(matcher.group(1).toLowerCase(Locale.ROOT));
+			}
+		}
+	}
+
+}
@@ -0,0 +1,146 @@
+/**
+ * Copyright (c) 2012 - 2022 Data In Motion and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Data In Motion - initial API and implementation
+ *     Stefan Bishof - API and implementation
+ *     Tim Ward - implementation
+ */
+package org.gecko.rest.jersey.runtime.dispatcher;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.gecko.rest.jersey.provider.application.JaxRsProvider;
+
+/**
+ * Index, that groups providers into buckets by a key, like the name or the application base. Each bucket
+ * is ordered by the service ranking, so that the best ranked provider of a key is found without comparing
+ * all providers with each other. The index is updated, when services come and go.
+ * @author agent
+ * @since 18.10.2026
+ */
+public class RankedIndex<P extends JaxRsProvider> {
+
+	private static final Comparator<Entry<?>> ENTRY_COMPARATOR = Comparator.<Entry<?>, JaxRsProvider>comparing((e)->e.provider)
+			.thenComparing((e)->e.entryId);
+	private final Function<P, String> keyFunction;
+	private final Map<String, NavigableSet<Entry<P>>> buckets = new HashMap<>();
+	private final Map<String, Entry<P>> entries = new HashMap<>();
+
+	/**
+	 * Creates a new instance.
+	 * @param keyFunction function to get the key of a provider
+	 */
+	public RankedIndex(Function<P, String> keyFunction) {
+		this.keyFunction = keyFunction;
+	}
+
+	/**
+	 * Adds or replaces a provider
+	 * @param entryId the unique id of the entry in this index
+	 * @param provider the provider
+	 */
+	public synchronized void put(String entryId, P provider) {
+		remove(entryId);
+		String key = keyFunction.apply(provider);
+		if (key == null) {
+			return;
+		}
+		Entry<P> entry = new Entry<>(entryId, key, provider);
+		entries.put(entryId, entry);
+		buckets.computeIfAbsent(key, (k)->new TreeSet<>(ENTRY_COMPARATOR)).add(entry);
+	}
+
+	/**
+	 * Removes a provider
+	 * @param entryId the unique id of the entry in this index
+	 */
+	public synchronized void remove(String entryId) {
+		Entry<P> entry = entries.remove(entryId);
+		if (entry == null) {
+			return;
+		}
+		NavigableSet<Entry<P>> bucket = buckets.get(entry.key);
+		if (bucket != null) {
+			bucket.remove(entry);
+			if (bucket.isEmpty()) {
+				buckets.remove(entry.key);
+			}
+		}
+	}
+
+	/**
+	 * Returns the best ranked provider for the key, that matches the filter
+	 * @param key the key
+	 * @param filter the filter for the providers to consider
+	 * @return the best ranked provider or <code>null</code>
+	 */
+	public synchronized P getBest(String key, Predicate<P> filter) {
+		NavigableSet<Entry<P>> bucket = buckets.get(key);
+		if (bucket == null) {
+			return null;
+		}
+		for (Entry<P> entry : bucket) {
+			if (filter.test(entry.provider)) {
+				return entry.provider;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns all providers for the given key, ordered by their ranking
+	 * @param key the key
+	 * @return the providers, never <code>null</code>
+	 */
+	public synchronized Collection<P> get(String key) {
+		NavigableSet<Entry<P>> bucket = buckets.get(key);
+		if (bucket == null) {
+			return Collections.emptyList();
+		}
+		List<P> result = new ArrayList<>(bucket.size());
+		bucket.forEach((e)->result.add(e.provider));
+		return result;
+	}
+
+	/**
+	 * Removes all providers
+	 */
+	public synchronized void clear() {
+		entries.clear();
+		buckets.clear();
+	}
+
+	/**
+	 * Entry of the index
+	 */
+	private static class Entry<P extends JaxRsProvider> {
+
+		private final String entryId;
+		private final String key;
+		private final P provider;
+
+		Entry(String entryId, String key, P provider) {
+			this.entryId = entryId;
+			this.key = key;
+			this.provider = provider;
+		}
+
+	}
+
+}
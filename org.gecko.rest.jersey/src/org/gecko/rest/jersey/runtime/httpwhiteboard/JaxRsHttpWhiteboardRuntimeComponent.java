@@ -66,7 +66,9 @@ public class JaxRsHttpWhiteboardRuntimeComponent extends JerseyWhiteboardCompone
 		whiteboard = new HTTPWhiteboardBasedJerseyServiceRuntime();
 		whiteboard.initialize(componentContext);
 		dispatcher.setWhiteboardProvider(whiteboard);
+		startBootHold(componentContext);
 		dispatcher.dispatch();
+		updateBundleBatching(componentContext);
 		whiteboard.startup();
 	}
 
@@ -80,6 +82,7 @@ public class JaxRsHttpWhiteboardRuntimeComponent extends JerseyWhiteboardCompone
 		updateProperties(context);
 		whiteboard.modified(context);
 		dispatcher.dispatch();
+		updateBundleBatching(context);
 	}
 
 	/**
@@ -88,6 +91,8 @@ public class JaxRsHttpWhiteboardRuntimeComponent extends JerseyWhiteboardCompone
 	 */
 	@Deactivate
 	public void deactivate(ComponentContext context) {
+		stopBundleBatching();
+		stopBootHold();
 		if (dispatcher != null) {
 			dispatcher.deactivate();
 		}
@@ -113,8 +118,7 @@ public class JaxRsHttpWhiteboardRuntimeComponent extends JerseyWhiteboardCompone
 	 * @param properties the service properties
 	 */
 	public void updatedApplication(Application application, Map<String, Object> properties) {
-		dispatcher.removeApplication(application, properties);
-		dispatcher.addApplication(application, properties);
+		dispatcher.updateApplication(application, properties);
 	}
 
 	/**
@@ -129,13 +133,15 @@ public class JaxRsHttpWhiteboardRuntimeComponent extends JerseyWhiteboardCompone
 	@Reference(service = AnyService.class, target = "(" + JaxrsWhiteboardConstants.JAX_RS_EXTENSION
 			+ "=true)", cardinality = MULTIPLE, policy = DYNAMIC)
 	public void bindJaxRsExtension(ServiceReference<Object> jaxRsExtensionSR, Map<String, Object> properties) {
-		updatedJaxRsExtension(jaxRsExtensionSR, properties);
+		logger.fine("Handle extension " + jaxRsExtensionSR + " properties: " + properties);
+		ServiceObjects<?> so = getServiceObjects(jaxRsExtensionSR);
+		dispatcher.addExtension(so, properties);
 	}
 
 	public void updatedJaxRsExtension(ServiceReference<Object> jaxRsExtensionSR, Map<String, Object> properties) {
 		logger.fine("Handle extension " + jaxRsExtensionSR + " properties: " + properties);
 		ServiceObjects<?> so = getServiceObjects(jaxRsExtensionSR);
-		dispatcher.addExtension(so, properties);
+		dispatcher.updateExtension(so, properties);
 
 	}
 	public void unbindJaxRsExtension(ServiceReference<Object> jaxRsExtensionSR, Map<String, Object> properties) {
@@ -145,13 +151,15 @@ public class JaxRsHttpWhiteboardRuntimeComponent extends JerseyWhiteboardCompone
 	@Reference(service = AnyService.class, target = "(" + JAX_RS_RESOURCE
 			+ "=true)", cardinality = MULTIPLE, policy = DYNAMIC)
 	public void bindJaxRsResource(ServiceReference<Object> jaxRsExtensionSR, Map<String, Object> properties) {
-		updatedJaxRsResource(jaxRsExtensionSR,properties);
+		logger.fine("Handle resource " + jaxRsExtensionSR + " properties: " + properties);
+		ServiceObjects<?> so = getServiceObjects(jaxRsExtensionSR);
+		dispatcher.addResource(so, properties);
 	}
 
 	public void updatedJaxRsResource(ServiceReference<Object> jaxRsResourceSR, Map<String, Object> properties) {
 		logger.fine("Handle resource " + jaxRsResourceSR + " properties: " + properties);
 		ServiceObjects<?> so = getServiceObjects(jaxRsResourceSR);
-		dispatcher.addResource(so, properties);
+		dispatcher.updateResource(so, properties);
 
 	}
 	
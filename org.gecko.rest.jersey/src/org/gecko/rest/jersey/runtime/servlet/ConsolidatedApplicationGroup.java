@@ -0,0 +1,206 @@
+/**
+ * Copyright (c) 2012 - 2022 Data In Motion and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Data In Motion - initial API and implementation
+ *     Stefan Bishof - API and implementation
+ *     Tim Ward - implementation
+ */
+package org.gecko.rest.jersey.runtime.servlet;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import javax.ws.rs.core.Application;
+
+import org.gecko.rest.jersey.provider.application.JaxRsApplicationContentProvider;
+import org.gecko.rest.jersey.provider.application.JaxRsApplicationProvider;
+import org.gecko.rest.jersey.provider.application.JaxRsExtensionProvider;
+import org.gecko.rest.jersey.provider.application.JaxRsResourceProvider;
+import org.gecko.rest.jersey.runtime.application.JerseyApplication;
+
+/**
+ * Applications, that are served by one shared {@link WhiteboardServletContainer}. The resources of each member are
+ * registered below the base path of the member, so that one Jersey application handler, injection manager and resource
+ * model serves all of them. Only applications, that consist of whiteboard resources and extensions, can be members and
+ * all members of a group have the same extensions. The resource classes and the base paths of the members must not overlap.
+ * The application providers and their DTOs are not changed by the consolidation.
+ * @author agent
+ * @since 18.10.2026
+ */
+public class ConsolidatedApplicationGroup {
+
+	private final String key;
+	private final Map<String, JaxRsApplicationProvider> members = new LinkedHashMap<>();
+	private WhiteboardServletContainer container;
+
+	/**
+	 * Creates a new instance.
+	 * @param key the extension key of the members, see {@link #getKey(JaxRsApplicationProvider)}
+	 */
+	public ConsolidatedApplicationGroup(String key) {
+		this.key = key;
+	}
+
+	/**
+	 * Returns the key of an application, that can be consolidated. Applications with the same key have the same extensions.
+	 * The default application, applications at the root path, applications with own classes, singletons or properties and
+	 * applications with prototype scoped extensions are not consolidated. The shared container registers the extensions
+	 * of one member only, which is only correct, if each extension is the same service object for all members.
+	 * @param provider the application provider
+	 * @return the key or <code>null</code>, if the application needs its own container
+	 */
+	public static String getKey(JaxRsApplicationProvider provider) {
+		if (provider == null || provider.isDefault() || !(provider.getJaxRsApplication() instanceof JerseyApplication)) {
+			return null;
+		}
+		if (getBasePath(provider.getPath()).isEmpty()) {
+			return null;
+		}
+		Application source = ((JerseyApplication) provider.getJaxRsApplication()).getSourceApplication();
+		if (source == null || !source.getClasses().isEmpty() || !source.getSingletons().isEmpty() ||
+				(source.getProperties() != null && !source.getProperties().isEmpty())) {
+			return null;
+		}
+		Set<String> extensions = new TreeSet<>();
+		for (JaxRsApplicationContentProvider content : provider.getContentProviers()) {
+			if (content instanceof JaxRsExtensionProvider) {
+				if (!content.isSingleton()) {
+					return null;
+				}
+				extensions.add(content.getId());
+			} else if (!(content instanceof JaxRsResourceProvider) || content.getObjectClass() == null) {
+				return null;
+			}
+		}
+		return String.join(",", extensions);
+	}
+
+	/**
+	 * Returns the base path of an application relative to the context path of the runtime, e.g. <code>app</code> for <code>/app/*</code>
+	 * @param path the application path
+	 * @return the base path without leading and trailing slash, can be empty
+	 */
+	public static String getBasePath(String path) {
+		String basePath = path == null ? "" : path.replace("/*", "");
+		basePath = basePath.endsWith("/") ? basePath.substring(0, basePath.length() - 1) : basePath;
+		return basePath.startsWith("/") ? basePath.substring(1) : basePath;
+	}
+
+	/**
+	 * Returns the extension key of the members
+	 * @return the key
+	 */
+	public String getKey() {
+		return key;
+	}
+
+	/**
+	 * Returns <code>true</code>, if the application can be a member. It must have the key of the group and neither one of its resource
+	 * classes nor its base path may be used by another member
+	 * @param provider the application provider
+	 * @return <code>true</code>, if the application can join the group
+	 */
+	public boolean accepts(JaxRsApplicationProvider provider) {
+		if (!key.equals(getKey(provider))) {
+			return false;
+		}
+		String basePath = getBasePath(provider.getPath());
+		Set<Class<?>> resourceClasses = getResourceClasses(provider);
+		for (JaxRsApplicationProvider member : members.values()) {
+			if (member.getId().equals(provider.getId())) {
+				continue;
+			}
+			String memberPath = getBasePath(member.getPath());
+			if (isNested(basePath, memberPath) || isNested(memberPath, basePath)) {
+				return false;
+			}
+			for (Class<?> resourceClass : getResourceClasses(member)) {
+				if (resourceClasses.contains(resourceClass)) {
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Adds a member or replaces the member with the same id
+	 * @param provider the application provider
+	 */
+	public void put(JaxRsApplicationProvider provider) {
+		members.put(provider.getId(), provider);
+	}
+
+	/**
+	 * Removes a member
+	 * @param id the id of the application provider
+	 * @return <code>true</code>, if the application was a member
+	 */
+	public boolean remove(String id) {
+		return members.remove(id) != null;
+	}
+
+	/**
+	 * Returns a copy of the members in the order they joined
+	 * @return the application providers
+	 */
+	public Collection<JaxRsApplicationProvider> getMembers() {
+		return new ArrayList<>(members.values());
+	}
+
+	/**
+	 * Returns <code>true</code>, if there are no members
+	 * @return <code>true</code>, if the group is empty
+	 */
+	public boolean isEmpty() {
+		return members.isEmpty();
+	}
+
+	/**
+	 * Returns the shared container
+	 * @return the container or <code>null</code>, if it was not created yet
+	 */
+	public WhiteboardServletContainer getContainer() {
+		return container;
+	}
+
+	/**
+	 * Sets the shared container
+	 * @param container the container
+	 */
+	public void setContainer(WhiteboardServletContainer container) {
+		this.container = container;
+	}
+
+	private static Set<Class<?>> getResourceClasses(JaxRsApplicationProvider provider) {
+		Set<Class<?>> classes = new HashSet<>();
+		for (JaxRsApplicationContentProvider content : provider.getContentProviers()) {
+			if (content instanceof JaxRsResourceProvider && content.getObjectClass() != null) {
+				classes.add(content.getObjectClass());
+			}
+		}
+		return classes;
+	}
+
+	/**
+	 * Returns <code>true</code>, if the path is equal to or below the parent path
+	 * @param path the path
+	 * @param parent the parent path
+	 * @return <code>true</code>, if the paths overlap
+	 */
+	private static boolean isNested(String path, String parent) {
+		return path.equals(parent) || path.startsWith(parent + "/");
+	}
+
+}
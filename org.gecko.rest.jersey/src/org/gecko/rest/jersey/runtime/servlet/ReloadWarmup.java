@@ -0,0 +1,291 @@
+/**
+ * Copyright (c) 2012 - 2022 Data In Motion and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Data In Motion - initial API and implementation
+ *     Stefan Bishof - API and implementation
+ *     Tim Ward - implementation
+ */
+package org.gecko.rest.jersey.runtime.servlet;
+
+import java.net.URI;
+import java.security.Principal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.SecurityContext;
+
+import org.glassfish.jersey.internal.MapPropertiesDelegate;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.osgi.service.jaxrs.runtime.dto.ApplicationDTO;
+import org.osgi.service.jaxrs.runtime.dto.ResourceDTO;
+import org.osgi.service.jaxrs.runtime.dto.ResourceMethodInfoDTO;
+
+/**
+ * Synthetic requests, that are sent to a newly built {@link ApplicationHandler}, before it takes traffic.
+ * The requests are derived from the resource method DTOs of the application. Path parameters are replaced by <code>0</code>.
+ * Only resource methods with one of the configured HTTP methods are called. Only the safe methods <code>GET</code>, <code>HEAD</code>
+ * and <code>OPTIONS</code> can be configured, because the requests are sent to the live resources. The responses are discarded.
+ * The warm-up stops, when its total time is exceeded.
+ * @author agent
+ * @since 18.10.2026
+ */
+public class ReloadWarmup {
+
+	private static final Logger logger = Logger.getLogger("jersey.servletContainer");
+	private static final URI BASE_URI = URI.create("http://localhost/");
+	private static final long REQUEST_TIMEOUT = 5000;
+	private static final Set<String> SAFE_METHODS = Set.of(HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS);
+	private final List<Request> requests;
+	private final int rounds;
+	private final long timeout;
+
+	private ReloadWarmup(List<Request> requests, int rounds, long timeout) {
+		this.requests = requests;
+		this.rounds = rounds;
+		this.timeout = timeout;
+	}
+
+	/**
+	 * Creates the warm-up for an application
+	 * @param application the application DTO, can be <code>null</code>
+	 * @param methods the HTTP methods, that are used for the warm-up, e.g. <code>GET</code> or <code>OPTIONS</code>
+	 * @param rounds the number of times, each request is sent
+	 * @param timeout the maximum time in milliseconds for the whole warm-up
+	 * @return the warm-up or <code>null</code>, if there is nothing to warm up
+	 */
+	public static ReloadWarmup forApplication(ApplicationDTO application, Set<String> methods, int rounds, long timeout) {
+		if (application == null || methods == null || methods.isEmpty() || rounds <= 0 || timeout <= 0) {
+			return null;
+		}
+		Set<Request> requests = new LinkedHashSet<>();
+		addRequests(application.resourceMethods, methods, requests);
+		if (application.resourceDTOs != null) {
+			for (ResourceDTO resource : application.resourceDTOs) {
+				addRequests(resource.resourceMethods, methods, requests);
+			}
+		}
+		return requests.isEmpty() ? null : new ReloadWarmup(new ArrayList<>(requests), rounds, timeout);
+	}
+
+	/**
+	 * Sends the warm-up requests to the handler, until all rounds are sent or the timeout is exceeded. Failures are logged and ignored.
+	 * @param handler the handler to warm up
+	 */
+	public void run(ApplicationHandler handler) {
+		long start = System.nanoTime();
+		long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeout);
+		for (int i = 0; i < rounds; i++) {
+			for (Request request : requests) {
+				long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+				if (remaining <= 0) {
+					logger.info("Warm-up stopped after " + timeout + " ms in round " + (i + 1) + " of " + rounds);
+					return;
+				}
+				try {
+					handler.apply(request.create()).get(Math.min(REQUEST_TIMEOUT, remaining), TimeUnit.MILLISECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				} catch (Exception e) {
+					logger.log(Level.FINE, "Warm-up request " + request + " failed", e);
+				}
+			}
+		}
+		logger.fine(()->"Warmed up " + requests.size() + " requests in " + rounds + " rounds in "
+				+ TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+	}
+
+	/**
+	 * Returns the number of distinct requests
+	 * @return the number of requests
+	 */
+	public int size() {
+		return requests.size();
+	}
+
+	/**
+	 * Returns the HTTP methods for the given configuration value. Methods other than <code>GET</code>, <code>HEAD</code>
+	 * and <code>OPTIONS</code> may change the state of the resources and are ignored
+	 * @param value a comma separated {@link String} or a {@link String} array, can be <code>null</code>
+	 * @return the upper case HTTP methods
+	 */
+	public static Set<String> parseMethods(Object value) {
+		String[] values;
+		if (value instanceof String[]) {
+			values = (String[]) value;
+		} else if (value != null) {
+			values = value.toString().split(",");
+		} else {
+			return Collections.emptySet();
+		}
+		Set<String> methods = new LinkedHashSet<>();
+		for (String v : values) {
+			String method = v.trim().toUpperCase(Locale.ROOT);
+			if (SAFE_METHODS.contains(method)) {
+				methods.add(method);
+			} else if (!method.isEmpty()) {
+				logger.warning("The HTTP method " + method + " is not safe and is not used for the warm-up");
+			}
+		}
+		return methods;
+	}
+
+	private static void addRequests(ResourceMethodInfoDTO[] resourceMethods, Set<String> methods, Set<Request> requests) {
+		if (resourceMethods == null) {
+			return;
+		}
+		for (ResourceMethodInfoDTO dto : resourceMethods) {
+			String method = dto.method == null ? null : dto.method.toUpperCase(Locale.ROOT);
+			if (method == null || !SAFE_METHODS.contains(method) || !methods.contains(method)) {
+				continue;
+			}
+			String accept = dto.producingMimeType == null || dto.producingMimeType.length == 0 ? null : dto.producingMimeType[0];
+			requests.add(new Request(method, toPath(dto.path), accept));
+		}
+	}
+
+	/**
+	 * Creates a concrete request path from a resource path template
+	 * @param template the path template, can be <code>null</code>
+	 * @return the relative path
+	 */
+	static String toPath(String template) {
+		if (template == null) {
+			return "";
+		}
+		StringBuilder path = new StringBuilder(template.length());
+		int depth = 0;
+		for (char c : template.toCharArray()) {
+			if (c == '{') {
+				if (depth++ == 0) {
+					path.append('0');
+				}
+			} else if (c == '}') {
+				depth = Math.max(0, depth - 1);
+			} else if (depth == 0 && !(c == '/' && (path.length() == 0 || path.charAt(path.length() - 1) == '/'))) {
+				path.append(c);
+			}
+		}
+		return path.toString();
+	}
+
+	/**
+	 * A synthetic request
+	 */
+	private static class Request {
+
+		private final String method;
+		private final String path;
+		private final String accept;
+
+		Request(String method, String path, String accept) {
+			this.method = method;
+			this.path = path;
+			this.accept = accept;
+		}
+
+		ContainerRequest create() {
+			ContainerRequest request = new ContainerRequest(BASE_URI, BASE_URI.resolve(path), method,
+					WarmupSecurityContext.INSTANCE, new MapPropertiesDelegate(), null);
+			if (accept != null) {
+				request.header(HttpHeaders.ACCEPT, accept);
+			}
+			return request;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#hashCode()
+		 */
+		@Override
+		public int hashCode() {
+			return (method + " " + path + " " + accept).hashCode();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#equals(java.lang.Object)
+		 */
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Request)) {
+				return false;
+			}
+			Request other = (Request) obj;
+			return method.equals(other.method) && path.equals(other.path)
+					&& (accept == null ? other.accept == null : accept.equals(other.accept));
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+			return method + " /" + path;
+		}
+
+	}
+
+	/**
+	 * An anonymous security context for the warm-up requests
+	 */
+	private static class WarmupSecurityContext implements SecurityContext {
+
+		static final SecurityContext INSTANCE = new WarmupSecurityContext();
+
+		/*
+		 * (non-Javadoc)
+		 * @see javax.ws.rs.core.SecurityContext#getUserPrincipal()
+		 */
+		@Override
+		public Principal getUserPrincipal() {
+			return null;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see javax.ws.rs.core.SecurityContext#isUserInRole(java.lang.String)
+		 */
+		@Override
+		public boolean isUserInRole(String role) {
+			return false;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see javax.ws.rs.core.SecurityContext#isSecure()
+		 */
+		@Override
+		public boolean isSecure() {
+			return false;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see javax.ws.rs.core.SecurityContext#getAuthenticationScheme()
+		 */
+		@Override
+		public String getAuthenticationScheme() {
+			return null;
+		}
+
+	}
+
+}
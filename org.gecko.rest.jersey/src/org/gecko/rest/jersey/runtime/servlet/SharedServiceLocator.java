@@ -0,0 +1,64 @@
+/**
+ * Copyright (c) 2012 - 2022 Data In Motion and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Data In Motion - initial API and implementation
+ *     Stefan Bishof - API and implementation
+ *     Tim Ward - implementation
+ */
+package org.gecko.rest.jersey.runtime.servlet;
+
+import org.gecko.rest.jersey.binder.PromiseResponseHandlerBinder;
+import org.glassfish.hk2.api.ServiceLocator;
+import org.glassfish.hk2.api.ServiceLocatorFactory;
+import org.glassfish.hk2.utilities.ServiceLocatorUtilities;
+
+/**
+ * The HK2 {@link ServiceLocator} with the whiteboard wide bindings. It is the parent of the injection managers
+ * of all Jersey containers, so that each application only allocates its own lightweight child locator.
+ * The locator is reference counted and shut down, when the last container released it.
+ * @author agent
+ * @since 18.10.2026
+ */
+public final class SharedServiceLocator {
+
+	static final String LOCATOR_NAME = "GeckoJerseyWhiteboard";
+	private static ServiceLocator locator;
+	private static int usages = 0;
+
+	private SharedServiceLocator() {
+	}
+
+	/**
+	 * Returns the shared locator and registers a usage. Each call must be followed by a call to {@link #release()}
+	 * @return the shared locator
+	 */
+	public static synchronized ServiceLocator acquire() {
+		if (locator == null) {
+			locator = ServiceLocatorFactory.getInstance().create(LOCATOR_NAME);
+			// Ensure that promise types can be returned by resource methods
+			ServiceLocatorUtilities.bind(locator, new PromiseResponseHandlerBinder());
+		}
+		usages++;
+		return locator;
+	}
+
+	/**
+	 * Releases a usage. The locator is shut down, when it is not used anymore
+	 */
+	public static synchronized void release() {
+		if (usages == 0) {
+			return;
+		}
+		if (--usages == 0) {
+			locator.shutdown();
+			locator = null;
+		}
+	}
+
+}
@@ -14,28 +14,48 @@
 package org.gecko.rest.jersey.runtime.servlet;
 
 import java.io.IOException;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.io.OutputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletConfig;
 import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
-import org.gecko.rest.jersey.binder.PromiseResponseHandlerBinder;
+import org.gecko.rest.jersey.factories.RequestInstances;
 import org.gecko.rest.jersey.helper.DestroyListener;
 import org.gecko.rest.jersey.runtime.common.ResourceConfigWrapper;
 import org.glassfish.hk2.api.ServiceLocator;
-import org.glassfish.hk2.api.ServiceLocatorFactory;
-import org.glassfish.hk2.utilities.ServiceLocatorUtilities;
 import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerException;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ContainerResponse;
 import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.spi.Container;
+import org.glassfish.jersey.server.spi.ContainerResponseWriter;
 import org.glassfish.jersey.servlet.ServletContainer;
 import org.glassfish.jersey.servlet.ServletProperties;
+import org.glassfish.jersey.servlet.WebComponent;
 
 /**
- * As Wrapper for the {@link ServletContainer} that locks the Servlet while its configuration is reloaded.
+ * As Wrapper for the {@link ServletContainer} that reloads its configuration without blocking requests.
+ * Each configuration is served by its own Jersey {@link ServletContainer} generation. A reload builds the new generation
+ * aside and publishes it atomically. Requests, that already run on the previous generation, finish there and the previous
+ * generation is destroyed, after the last of them completed.
+ * A reload can also be done in the background. The new generation is then built, and optionally warmed up, on another thread,
+ * while the previous generation keeps serving. If further reloads arrive meanwhile, only the latest one is built.
+ * In native mode, see {@link #initNative()}, the generations consist of a Jersey {@link ApplicationHandler} only and the requests
+ * are passed by {@link #handle(ContainerRequest)}, without the servlet layer.
  * Furthermore it takes care that a reload is done, if a new configuration comes available while it is initialized
  * @author Juergen Albert
  * @since 1.0
@@ -46,17 +66,23 @@ public class WhiteboardServletContainer extends ServletContainer {
 	 * 
 	 */
 	private static final long serialVersionUID = 6509888299005723799L;
+	
+	private static final Logger logger = Logger.getLogger("jersey.servletContainer");
 
-	private ResourceConfig initialConfig = null;;
+	private ResourceConfig initialConfig = null;
 
-	private AtomicBoolean initialized = new AtomicBoolean();
-	private ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private boolean initialized = false;
+	private boolean nativeMode = false;
+	// serializes reloads, requests never take this monitor
+	private final Object reloadMonitor = new Object();
+	private final AtomicReference<Generation> current = new AtomicReference<>();
+	// the latest background reload, that was not started yet
+	private final AtomicReference<PendingReload> pendingReload = new AtomicReference<>();
+	private final AtomicBoolean reloading = new AtomicBoolean();
 
 	private DestroyListener destroyListener;
 
 	private ResourceConfigWrapper wrapper;
-	
-	private final ServiceLocator locator;
 
 	public WhiteboardServletContainer(ResourceConfigWrapper configWrapper, DestroyListener destroyListener) {
 		this(configWrapper.config, destroyListener);
@@ -66,11 +92,6 @@ public class WhiteboardServletContainer extends ServletContainer {
 	public WhiteboardServletContainer(ResourceConfig config, DestroyListener destroyListener) {
 		initialConfig = config;
 		this.destroyListener = destroyListener;
-		
-		// Ensure that promise types can be returned by resource methods
-		locator = ServiceLocatorFactory.getInstance()
-			.create("GeckoJerseyWhiteboard-" + System.identityHashCode(this));
-		ServiceLocatorUtilities.bind(locator, new PromiseResponseHandlerBinder());
 	}
 
 	/* (non-Javadoc)
@@ -78,55 +99,74 @@ public class WhiteboardServletContainer extends ServletContainer {
 	 */
 	@Override
 	public void init() throws ServletException {
-		
-		lock.writeLock().lock();
-		
-		getServletContext().setAttribute(ServletProperties.SERVICE_LOCATOR, locator);
-		
-		try {
-			super.init();
-			// we have to wait until the injection manager is available on first start
-			Future<?> future = Executors.newSingleThreadExecutor().submit(()->{
-				ApplicationHandler handler = getApplicationHandler();
-				while(handler.getInjectionManager() == null) {
-					try {
-						Thread.sleep(10l);
-					} catch (InterruptedException e) {
-					}
-				}
-			});
-			future.get();
-			initialized.set(true);
-			if (initialConfig != null) {
-				this.reload(initialConfig);
-				wrapper.setInjectionManager(getApplicationHandler().getInjectionManager());
-				initialConfig = null;
-			}
-		} catch (Exception e) {
-			if (e instanceof ServletException) {
-				throw (ServletException)e;
-			} else {
-				throw new ServletException(e);
+		synchronized (reloadMonitor) {
+			initialize();
+		}
+	}
+	
+	/**
+	 * Initializes the container in native mode. The Jersey application is not wrapped into a servlet and the requests
+	 * must be passed using {@link #handle(ContainerRequest)}, instead of the servlet API.
+	 */
+	public void initNative() {
+		synchronized (reloadMonitor) {
+			nativeMode = true;
+			try {
+				initialize();
+			} catch (ServletException e) {
+				throw new IllegalStateException("Cannot initialize the Jersey container", e);
 			}
-		} finally {
-			lock.writeLock().unlock();
 		}
 	}
 	
+	/**
+	 * Publishes the first generation with the latest configuration. Must be called holding the reload monitor
+	 * @throws ServletException if the Jersey container cannot be initialized
+	 */
+	private void initialize() throws ServletException {
+		ResourceConfig config = initialConfig == null ? new ResourceConfig() : initialConfig;
+		publish(prepare(config, wrapper != null && wrapper.config == config ? wrapper : null, null));
+		initialConfig = null;
+		initialized = true;
+	}
+	
+	/**
+	 * Handles a request in native mode. The request must have its response writer. The generation, that handles the request,
+	 * is kept, until the response is committed or failed.
+	 * @param request the Jersey request
+	 * @return <code>false</code>, if the container is not available
+	 */
+	public boolean handle(ContainerRequest request) {
+		Generation generation = acquire();
+		if (generation == null) {
+			return false;
+		}
+		ReleasingResponseWriter writer = new ReleasingResponseWriter(request, generation);
+		request.setWriter(writer);
+		try {
+			generation.handler.handle(request);
+		} catch (RuntimeException | Error e) {
+			writer.release();
+			throw e;
+		}
+		return true;
+	}
+	
 	/* (non-Javadoc)
 	 * @see org.glassfish.jersey.servlet.ServletContainer#reload(org.glassfish.jersey.server.ResourceConfig)
 	 */
 	@Override
 	public void reload(ResourceConfig configuration) {
-		lock.writeLock().lock();
-		try {
-			if (initialized.get()) {
-				super.reload(configuration);
+		synchronized (reloadMonitor) {
+			if (initialized) {
+				try {
+					publish(prepare(configuration, wrapper != null && wrapper.config == configuration ? wrapper : null, null));
+				} catch (ServletException e) {
+					throw new IllegalStateException("Cannot reload the servlet container", e);
+				}
 			} else {
 				initialConfig = configuration;
 			}
-		} finally {
-			lock.writeLock().unlock();
 		}
 	}
 	
@@ -136,11 +176,20 @@ public class WhiteboardServletContainer extends ServletContainer {
 	@Override
 	protected void service(HttpServletRequest request, HttpServletResponse response)
 			throws ServletException, IOException {
-		lock.readLock().lock();
+		Generation generation = acquire();
+		if (generation == null) {
+			response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+			return;
+		}
+		boolean async = false;
 		try {
-			super.service(request, response);
+			generation.container.service(request, response);
+			async = request.isAsyncStarted() && generation.releaseOnAsyncCompletion(request);
 		} finally {
-			lock.readLock().unlock();
+			if (!async) {
+				RequestInstances.complete(request.getAttribute(RequestInstances.REQUEST_PROPERTY));
+				generation.release(true);
+			}
 		}
 	}
 	
@@ -150,25 +199,430 @@ public class WhiteboardServletContainer extends ServletContainer {
 	 */
 	@Override
 	public void destroy() {
-		super.destroy();
+		synchronized (reloadMonitor) {
+			initialized = false;
+			Generation generation = current.getAndSet(null);
+			if (generation != null) {
+				generation.release(false);
+			}
+		}
 		if(destroyListener != null) {
 			destroyListener.servletContainerDestroyed(this);
 		}
-		locator.shutdown();
+	}
+	
+	/* 
+	 * (non-Javadoc)
+	 * @see org.glassfish.jersey.servlet.ServletContainer#getApplicationHandler()
+	 */
+	@Override
+	public ApplicationHandler getApplicationHandler() {
+		Generation generation = current.get();
+		return generation == null ? null : generation.handler;
+	}
+	
+	/* 
+	 * (non-Javadoc)
+	 * @see org.glassfish.jersey.servlet.ServletContainer#getWebComponent()
+	 */
+	@Override
+	public WebComponent getWebComponent() {
+		Generation generation = current.get();
+		return generation == null || generation.container == null ? null : generation.container.getWebComponent();
+	}
+	
+	/* 
+	 * (non-Javadoc)
+	 * @see org.glassfish.jersey.servlet.ServletContainer#getConfiguration()
+	 */
+	@Override
+	public ResourceConfig getConfiguration() {
+		Generation generation = current.get();
+		return generation == null ? null : generation.handler.getConfiguration();
 	}
 
 	/**
-	 * @param config2
+	 * Reloads the container with the configuration of the given wrapper
+	 * @param wrapper the wrapper with the new configuration
 	 */
 	public void reloadWrapper(ResourceConfigWrapper wrapper) {
-		initialConfig = wrapper.config;
-		this.wrapper = wrapper;
-		if (!initialized.get()) {
-			return;
+		reloadWrapper(wrapper, null);
+	}
+	
+	/**
+	 * Reloads the container with the configuration of the given wrapper. The new generation is warmed up, before it is published
+	 * @param wrapper the wrapper with the new configuration
+	 * @param warmup the warm-up or <code>null</code>
+	 */
+	public void reloadWrapper(ResourceConfigWrapper wrapper, ReloadWarmup warmup) {
+		synchronized (reloadMonitor) {
+			this.wrapper = wrapper;
+			if (!initialized) {
+				initialConfig = wrapper.config;
+				return;
+			}
+			try {
+				publish(prepare(wrapper.config, wrapper, warmup));
+			} catch (ServletException e) {
+				throw new IllegalStateException("Cannot reload the servlet container", e);
+			}
+		}
+	}
+	
+	/**
+	 * Reloads the container in the background. The current generation keeps serving, until the new one is built and warmed up.
+	 * If the container is not initialized yet, the configuration is taken over immediately.
+	 * @param wrapper the wrapper with the new configuration
+	 * @param warmup the warm-up or <code>null</code>
+	 * @param executor the executor to build the new generation
+	 */
+	public void reloadWrapper(ResourceConfigWrapper wrapper, ReloadWarmup warmup, Executor executor) {
+		synchronized (reloadMonitor) {
+			if (!initialized) {
+				this.wrapper = wrapper;
+				initialConfig = wrapper.config;
+				return;
+			}
+		}
+		PendingReload replaced = pendingReload.getAndSet(new PendingReload(wrapper, warmup));
+		if (replaced != null) {
+			// the replaced configuration is never built, so its factories are released here
+			replaced.wrapper.dispose();
+		}
+		if (reloading.compareAndSet(false, true)) {
+			executor.execute(this::runPendingReloads);
+		}
+	}
+	
+	/**
+	 * Builds and publishes the pending background reloads, until there is no one left
+	 */
+	private void runPendingReloads() {
+		do {
+			PendingReload reload;
+			while ((reload = pendingReload.getAndSet(null)) != null) {
+				try {
+					Generation generation = prepare(reload.wrapper.config, reload.wrapper, reload.warmup);
+					synchronized (reloadMonitor) {
+						if (initialized) {
+							wrapper = reload.wrapper;
+							publish(generation);
+						} else {
+							// the container was destroyed meanwhile
+							generation.release(false);
+						}
+					}
+				} catch (Exception e) {
+					logger.log(Level.SEVERE, "Cannot reload the servlet container in the background", e);
+				}
+			}
+			reloading.set(false);
+		} while (pendingReload.get() != null && reloading.compareAndSet(false, true));
+	}
+	
+	/**
+	 * Builds a new generation for the configuration. The injection manager is handed to the factories of the wrapper 
+	 * and the warm-up requests are sent, before the generation is published.
+	 * @param configuration the configuration
+	 * @param configWrapper the wrapper of the configuration or <code>null</code>
+	 * @param warmup the warm-up or <code>null</code>
+	 * @return the new generation
+	 * @throws ServletException if the Jersey container cannot be initialized
+	 */
+	private Generation prepare(ResourceConfig configuration, ResourceConfigWrapper configWrapper, ReloadWarmup warmup) throws ServletException {
+		Generation generation = nativeMode ? new Generation(configuration, (Container) this) : new Generation(configuration, getServletConfig());
+		ApplicationHandler handler = generation.handler;
+		if (configWrapper != null) {
+			configWrapper.setInjectionManager(handler.getInjectionManager());
+			generation.configWrapper = configWrapper;
+		}
+		if (warmup != null) {
+			warmup.run(handler);
+		}
+		return generation;
+	}
+	
+	/**
+	 * Makes the generation the current one and releases the previous one. Must be called holding the reload monitor
+	 * @param generation the new generation
+	 */
+	private void publish(Generation generation) {
+		Generation previous = current.getAndSet(generation);
+		if (previous != null) {
+			previous.release(false);
+		}
+	}
+	
+	/**
+	 * A reload, that waits to be built in the background
+	 */
+	private static class PendingReload {
+		
+		private final ResourceConfigWrapper wrapper;
+		private final ReloadWarmup warmup;
+		
+		PendingReload(ResourceConfigWrapper wrapper, ReloadWarmup warmup) {
+			this.wrapper = wrapper;
+			this.warmup = warmup;
+		}
+		
+	}
+	
+	/**
+	 * Releases the generation of a native request and completes its resource instances, when the response is committed or failed
+	 */
+	private static class ReleasingResponseWriter implements ContainerResponseWriter {
+		
+		private final ContainerResponseWriter delegate;
+		private final ContainerRequest request;
+		private final Generation generation;
+		private final AtomicBoolean released = new AtomicBoolean();
+		
+		ReleasingResponseWriter(ContainerRequest request, Generation generation) {
+			this.delegate = request.getResponseWriter();
+			this.request = request;
+			this.generation = generation;
+		}
+		
+		void release() {
+			if (released.compareAndSet(false, true)) {
+				RequestInstances.complete(request.getProperty(RequestInstances.REQUEST_PROPERTY));
+				generation.release(true);
+			}
 		}
-		reload(initialConfig);
-		if(getApplicationHandler() != null) {
-			wrapper.setInjectionManager(getApplicationHandler().getInjectionManager());
+
+		/* 
+		 * (non-Javadoc)
+		 * @see org.glassfish.jersey.server.spi.ContainerResponseWriter#writeResponseStatusAndHeaders(long, org.glassfish.jersey.server.ContainerResponse)
+		 */
+		@Override
+		public OutputStream writeResponseStatusAndHeaders(long contentLength, ContainerResponse responseContext) throws ContainerException {
+			return delegate.writeResponseStatusAndHeaders(contentLength, responseContext);
+		}
+
+		/* 
+		 * (non-Javadoc)
+		 * @see org.glassfish.jersey.server.spi.ContainerResponseWriter#suspend(long, java.util.concurrent.TimeUnit, org.glassfish.jersey.server.spi.ContainerResponseWriter.TimeoutHandler)
+		 */
+		@Override
+		public boolean suspend(long timeOut, TimeUnit timeUnit, TimeoutHandler timeoutHandler) {
+			return delegate.suspend(timeOut, timeUnit, (w)->timeoutHandler.onTimeout(this));
+		}
+
+		/* 
+		 * (non-Javadoc)
+		 * @see org.glassfish.jersey.server.spi.ContainerResponseWriter#setSuspendTimeout(long, java.util.concurrent.TimeUnit)
+		 */
+		@Override
+		public void setSuspendTimeout(long timeOut, TimeUnit timeUnit) throws IllegalStateException {
+			delegate.setSuspendTimeout(timeOut, timeUnit);
+		}
+
+		/* 
+		 * (non-Javadoc)
+		 * @see org.glassfish.jersey.server.spi.ContainerResponseWriter#commit()
+		 */
+		@Override
+		public void commit() {
+			try {
+				delegate.commit();
+			} finally {
+				release();
+			}
+		}
+
+		/* 
+		 * (non-Javadoc)
+		 * @see org.glassfish.jersey.server.spi.ContainerResponseWriter#failure(java.lang.Throwable)
+		 */
+		@Override
+		public void failure(Throwable error) {
+			try {
+				delegate.failure(error);
+			} finally {
+				release();
+			}
 		}
+
+		/* 
+		 * (non-Javadoc)
+		 * @see org.glassfish.jersey.server.spi.ContainerResponseWriter#enableResponseBuffering()
+		 */
+		@Override
+		public boolean enableResponseBuffering() {
+			return delegate.enableResponseBuffering();
+		}
+		
+	}
+	
+	/**
+	 * Returns the current generation and registers a request for it
+	 * @return the generation or <code>null</code>, if the container is not available
+	 */
+	private Generation acquire() {
+		while (true) {
+			Generation generation = current.get();
+			if (generation == null || generation.acquire()) {
+				return generation;
+			}
+			// the generation was replaced and drained in the meantime, try the new one
+		}
+	}
+	
+	/**
+	 * A Jersey container for one configuration. The usage count includes one reference, as long as the generation is the current one.
+	 * The Jersey container is destroyed, when the count drops to zero. Each generation holds a usage of the shared service locator,
+	 * so that the locator outlives the requests, that still run on a replaced or destroyed generation.
+	 */
+	private static class Generation implements AsyncListener {
+		
+		// null in native mode
+		private final ServletContainer container;
+		private final ApplicationHandler handler;
+		private final Container owner;
+		private final AtomicInteger usages = new AtomicInteger(1);
+		// the factories of the wrapper are released with the generation
+		private volatile ResourceConfigWrapper configWrapper;
+		
+		Generation(ResourceConfig configuration, ServletConfig config) throws ServletException {
+			ServiceLocator locator = SharedServiceLocator.acquire();
+			try {
+				config.getServletContext().setAttribute(ServletProperties.SERVICE_LOCATOR, locator);
+				container = new ServletContainer(configuration);
+				container.init(config);
+			} catch (ServletException | RuntimeException e) {
+				SharedServiceLocator.release();
+				throw e;
+			}
+			handler = container.getApplicationHandler();
+			owner = container;
+		}
+		
+		Generation(ResourceConfig configuration, Container owner) {
+			this.container = null;
+			this.owner = owner;
+			ServiceLocator locator = SharedServiceLocator.acquire();
+			try {
+				handler = new ApplicationHandler(configuration, null, locator);
+				handler.onStartup(owner);
+			} catch (RuntimeException e) {
+				SharedServiceLocator.release();
+				throw e;
+			}
+		}
+		
+		/**
+		 * Registers a request
+		 * @return <code>false</code>, if the generation was already drained
+		 */
+		boolean acquire() {
+			while (true) {
+				int count = usages.get();
+				if (count == 0) {
+					return false;
+				}
+				if (usages.compareAndSet(count, count + 1)) {
+					return true;
+				}
+			}
+		}
+		
+		/**
+		 * Releases a request or the current reference
+		 * @param request <code>true</code>, if a request thread releases, so that the container is destroyed asynchronously
+		 */
+		void release(boolean request) {
+			if (usages.decrementAndGet() != 0) {
+				return;
+			}
+			if (request) {
+				CompletableFuture.runAsync(this::dispose);
+			} else {
+				dispose();
+			}
+		}
+		
+		/**
+		 * Releases the request, when its asynchronous processing finished
+		 * @param request the request in asynchronous mode
+		 * @return <code>false</code>, if the asynchronous processing already finished
+		 */
+		boolean releaseOnAsyncCompletion(HttpServletRequest request) {
+			try {
+				request.getAsyncContext().addListener(this);
+				return true;
+			} catch (IllegalStateException e) {
+				return false;
+			}
+		}
+		
+		private void dispose() {
+			try {
+				if (container != null) {
+					container.destroy();
+				} else {
+					handler.onShutdown(owner);
+				}
+			} catch (Exception e) {
+				logger.log(Level.WARNING, "Error destroying a replaced Jersey servlet container", e);
+			}
+			ResourceConfigWrapper wrapper = configWrapper;
+			if (wrapper != null) {
+				wrapper.dispose();
+			}
+			SharedServiceLocator.release();
+		}
+
+		/* 
+		 * (non-Javadoc)
+		 * @see javax.servlet.AsyncListener#onComplete(javax.servlet.AsyncEvent)
+		 */
+		@Override
+		public void onComplete(AsyncEvent event) {
+			complete(event);
+			release(true);
+		}
+
+		/* 
+		 * (non-Javadoc)
+		 * @see javax.servlet.AsyncListener#onTimeout(javax.servlet.AsyncEvent)
+		 */
+		@Override
+		public void onTimeout(AsyncEvent event) {
+			complete(event);
+		}
+
+		/* 
+		 * (non-Javadoc)
+		 * @see javax.servlet.AsyncListener#onError(javax.servlet.AsyncEvent)
+		 */
+		@Override
+		public void onError(AsyncEvent event) {
+			complete(event);
+		}
+
+		/* 
+		 * (non-Javadoc)
+		 * @see javax.servlet.AsyncListener#onStartAsync(javax.servlet.AsyncEvent)
+		 */
+		@Override
+		public void onStartAsync(AsyncEvent event) {
+			event.getAsyncContext().addListener(this);
+		}
+		
+		/**
+		 * Marks the resource instances of the request of the event as completed
+		 * @param event the event
+		 */
+		private void complete(AsyncEvent event) {
+			ServletRequest request = event.getSuppliedRequest();
+			if (request == null && event.getAsyncContext() != null) {
+				request = event.getAsyncContext().getRequest();
+			}
+			if (request != null) {
+				RequestInstances.complete(request.getAttribute(RequestInstances.REQUEST_PROPERTY));
+			}
+		}
+		
 	}
 }
@@ -0,0 +1,126 @@
+/**
+ * Copyright (c) 2012 - 2022 Data In Motion and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Data In Motion - initial API and implementation
+ *     Stefan Bishof - API and implementation
+ *     Tim Ward - implementation
+ */
+package org.gecko.rest.jersey;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.jetty.server.LocalConnector;
+import org.eclipse.jetty.server.Request;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.handler.AbstractHandler;
+import org.gecko.rest.jersey.jetty.ApplicationRouterHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the routing of the requests by the longest matching application path
+ * @author agent
+ * @since 18.10.2026
+ */
+public class ApplicationRouterHandlerTest {
+
+	private Server server;
+	private LocalConnector connector;
+	private ApplicationRouterHandler router;
+
+	@BeforeEach
+	public void before() throws Exception {
+		server = new Server();
+		connector = new LocalConnector(server);
+		server.addConnector(connector);
+		router = new ApplicationRouterHandler();
+		server.setHandler(router);
+		server.start();
+	}
+
+	@AfterEach
+	public void after() throws Exception {
+		server.stop();
+	}
+
+	@Test
+	public void testLongestPrefix() throws Exception {
+		router.addHandler("/rest", new NamedHandler("default", true), true);
+		router.addHandler("/rest/app", new NamedHandler("app", true), false);
+		router.addHandler("/rest/app/sub", new NamedHandler("sub", true), false);
+
+		assertEquals("sub", get("/rest/app/sub/resource"));
+		assertEquals("app", get("/rest/app/resource"));
+		assertEquals("app", get("/rest/app"));
+		assertEquals("default", get("/rest/apple"));
+		assertEquals("default", get("/rest"));
+		assertTrue(get("/other").startsWith("HTTP/1.1 404"));
+	}
+
+	@Test
+	public void testFallbackAndRemove() throws Exception {
+		NamedHandler defaultHandler = new NamedHandler("default", true);
+		NamedHandler declining = new NamedHandler("declining", false);
+		NamedHandler app = new NamedHandler("app", true);
+		router.addHandler("/", defaultHandler, true);
+		defaultHandler.start();
+		router.addHandler("/rest/app", declining, false);
+		router.addHandler("/rest/other", app, false);
+		assertEquals(3, router.getHandlers().length);
+
+		// the longest match does not handle the request
+		assertEquals("default", get("/rest/app/resource"));
+		assertEquals("app", get("/rest/other/resource"));
+
+		assertTrue(router.removeHandler(app));
+		assertFalse(router.removeHandler(app));
+		assertEquals("default", get("/rest/other/resource"));
+		assertEquals(2, router.getHandlers().length);
+
+		// the remaining handlers are stopped with the router
+		assertTrue(defaultHandler.isStarted());
+		server.stop();
+		assertTrue(defaultHandler.isStopped());
+	}
+
+	private String get(String uri) throws Exception {
+		String response = connector.getResponse("GET " + uri + " HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n\r\n");
+		return response.startsWith("HTTP/1.1 200") ? response.substring(response.indexOf("\r\n\r\n") + 4) : response;
+	}
+
+	private static class NamedHandler extends AbstractHandler {
+
+		private final String name;
+		private final boolean accept;
+
+		NamedHandler(String name, boolean accept) {
+			this.name = name;
+			this.accept = accept;
+		}
+
+		@Override
+		public void handle(String target, Request baseRequest, HttpServletRequest request, HttpServletResponse response) throws IOException {
+			if (accept) {
+				baseRequest.setHandled(true);
+				response.setStatus(200);
+				response.getWriter().print(name);
+			}
+		}
+
+	}
+
+}
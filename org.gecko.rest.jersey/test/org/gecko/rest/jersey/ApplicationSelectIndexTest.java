@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) 2012 - 2022 Data In Motion and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Data In Motion - initial API and implementation
+ *     Stefan Bishof - API and implementation
+ *     Tim Ward - implementation
+ */
+package org.gecko.rest.jersey;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.ws.rs.core.Application;
+
+import org.gecko.rest.jersey.provider.application.JaxRsApplicationProvider;
+import org.gecko.rest.jersey.provider.application.JaxRsResourceProvider;
+import org.gecko.rest.jersey.resources.TestResource;
+import org.gecko.rest.jersey.runtime.application.JerseyApplicationProvider;
+import org.gecko.rest.jersey.runtime.application.JerseyResourceProvider;
+import org.gecko.rest.jersey.runtime.dispatcher.ApplicationSelectIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.osgi.framework.ServiceObjects;
+import org.osgi.service.jaxrs.whiteboard.JaxrsWhiteboardConstants;
+
+/**
+ * Tests the index for simple application select filters
+ * @author agent
+ * @since 18.10.2026
+ */
+@ExtendWith(MockitoExtension.class)
+public class ApplicationSelectIndexTest {
+
+	@Mock
+	private ServiceObjects<Object> serviceObject;
+
+	@Test
+	public void testSelectedName() {
+		assertEquals("app", ApplicationSelectIndex.getSelectedName(createResource("(osgi.jaxrs.name=app)")));
+		assertNull(ApplicationSelectIndex.getSelectedName(createResource("(osgi.jaxrs.name=app*)")));
+		assertNull(ApplicationSelectIndex.getSelectedName(createResource("(&(osgi.jaxrs.name=app)(foo=bar))")));
+		assertNull(ApplicationSelectIndex.getSelectedName(createResource("(foo=bar)")));
+		assertNull(ApplicationSelectIndex.getSelectedName(createResource(null)));
+	}
+
+	@Test
+	public void testGetApplications() {
+		JaxRsApplicationProvider app1 = createApplication("app1", "one");
+		JaxRsApplicationProvider app2 = createApplication("app2", "two");
+		ApplicationSelectIndex index = new ApplicationSelectIndex(List.of(app1, app2));
+
+		JaxRsResourceProvider simple = createResource("(osgi.jaxrs.name=app1)");
+		assertEquals(Set.of(app1), index.getApplications(ApplicationSelectIndex.getSelectedName(simple)));
+		assertTrue(simple.canHandleApplication(app1));
+		assertFalse(simple.canHandleApplication(app2));
+		assertTrue(index.getApplications("app3").isEmpty());
+	}
+
+	@Test
+	public void testGetOwners() {
+		JaxRsResourceProvider resource = createResource("(osgi.jaxrs.name=app1)");
+		JaxRsApplicationProvider app1 = createApplication("app1", "one");
+		JaxRsApplicationProvider app2 = createApplication("app2", "two");
+		JaxRsApplicationProvider app3 = createApplication("app3", "three");
+		assertTrue(app2.addResource(resource));
+		assertTrue(app3.addResource(resource));
+		ApplicationSelectIndex index = new ApplicationSelectIndex(List.of(app1), List.of(app1, app2, app3));
+
+		assertEquals(Set.of(app2, app3), index.getOwners(resource));
+		assertTrue(index.getOwners(createResource("(osgi.jaxrs.name=app2)")).isEmpty());
+		assertTrue(index.getOwners(null).isEmpty());
+	}
+
+	private JaxRsApplicationProvider createApplication(String name, String base) {
+		Map<String, Object> properties = new HashMap<>();
+		properties.put(JaxrsWhiteboardConstants.JAX_RS_APPLICATION_BASE, base);
+		properties.put(JaxrsWhiteboardConstants.JAX_RS_NAME, name);
+		return new JerseyApplicationProvider(new Application(), properties);
+	}
+
+	private JaxRsResourceProvider createResource(String select) {
+		Map<String, Object> properties = new HashMap<>();
+		properties.put(JaxrsWhiteboardConstants.JAX_RS_RESOURCE, "true");
+		if (select != null) {
+			properties.put(JaxrsWhiteboardConstants.JAX_RS_APPLICATION_SELECT, select);
+		}
+		when(serviceObject.getService()).thenReturn(new TestResource());
+		return new JerseyResourceProvider<Object>(serviceObject, properties);
+	}
+
+}
@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) 2012 - 2022 Data In Motion and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Data In Motion - initial API and implementation
+ *     Stefan Bishof - API and implementation
+ *     Tim Ward - implementation
+ */
+package org.gecko.rest.jersey;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.gecko.rest.jersey.provider.application.JaxRsWhiteboardDispatcher;
+import org.gecko.rest.jersey.runtime.dispatcher.BootDispatchHold;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.FrameworkUtil;
+import org.osgi.framework.InvalidSyntaxException;
+import org.osgi.framework.ServiceEvent;
+import org.osgi.framework.ServiceListener;
+import org.osgi.framework.ServiceReference;
+
+/**
+ * Tests holding back the initial dispatch
+ * @author agent
+ * @since 18.10.2026
+ */
+@ExtendWith(MockitoExtension.class)
+public class BootDispatchHoldTest {
+
+	@Mock
+	private BundleContext context;
+	@Mock
+	private JaxRsWhiteboardDispatcher dispatcher;
+	@Mock
+	private ServiceReference<Object> reference;
+
+	@Test
+	public void testReleaseAfterQuietPeriod() throws InvalidSyntaxException, InterruptedException {
+		BootDispatchHold hold = new BootDispatchHold(context, dispatcher, null, 300, 5000);
+		hold.open();
+		verify(dispatcher).holdDispatch("boot", 5000);
+		verify(context).addServiceListener(any(ServiceListener.class), anyString());
+
+		// each whiteboard service change restarts the quiet period
+		Thread.sleep(150);
+		hold.serviceChanged(new ServiceEvent(ServiceEvent.REGISTERED, reference));
+		Thread.sleep(200);
+		verify(dispatcher, never()).releaseDispatch(anyString());
+
+		verify(dispatcher, timeout(2000)).releaseDispatch("boot");
+		verify(context).removeServiceListener(hold);
+	}
+
+	@Test
+	public void testReleaseOnCondition() throws InvalidSyntaxException {
+		String filter = "(osgi.condition.id=ready)";
+		when(context.createFilter(anyString())).thenAnswer((i)->FrameworkUtil.createFilter(i.getArgument(0)));
+		BootDispatchHold hold = new BootDispatchHold(context, dispatcher, filter, 0, 5000);
+		hold.open();
+		verify(dispatcher).holdDispatch("boot", 5000);
+		verify(dispatcher, never()).releaseDispatch(anyString());
+
+		ArgumentCaptor<ServiceListener> listener = ArgumentCaptor.forClass(ServiceListener.class);
+		verify(context).addServiceListener(listener.capture(), anyString());
+		listener.getValue().serviceChanged(new ServiceEvent(ServiceEvent.REGISTERED, reference));
+		verify(dispatcher).releaseDispatch("boot");
+
+		// closing must not release again
+		hold.close();
+		verify(dispatcher).releaseDispatch("boot");
+	}
+
+	@Test
+	public void testReleaseOnClose() throws InvalidSyntaxException {
+		when(context.createFilter(anyString())).thenAnswer((i)->FrameworkUtil.createFilter(i.getArgument(0)));
+		BootDispatchHold hold = new BootDispatchHold(context, dispatcher, "(osgi.condition.id=ready)", 0, 5000);
+		hold.open();
+		verify(dispatcher, never()).releaseDispatch(anyString());
+
+		hold.close();
+		verify(dispatcher).releaseDispatch("boot");
+	}
+
+}
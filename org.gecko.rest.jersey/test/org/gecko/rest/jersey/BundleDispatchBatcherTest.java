@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2012 - 2022 Data In Motion and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Data In Motion - initial API and implementation
+ *     Stefan Bishof - API and implementation
+ *     Tim Ward - implementation
+ */
+package org.gecko.rest.jersey;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.gecko.rest.jersey.provider.application.JaxRsWhiteboardDispatcher;
+import org.gecko.rest.jersey.runtime.dispatcher.BundleDispatchBatcher;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.BundleEvent;
+import org.osgi.framework.ServiceEvent;
+import org.osgi.framework.ServiceReference;
+
+/**
+ * Tests the grouping of service changes of starting bundles
+ * @author agent
+ * @since 18.10.2026
+ */
+@ExtendWith(MockitoExtension.class)
+public class BundleDispatchBatcherTest {
+
+	@Mock
+	private BundleContext context;
+	@Mock
+	private JaxRsWhiteboardDispatcher dispatcher;
+	@Mock
+	private Bundle bundle;
+
+	@Test
+	public void testHoldUntilStarted() {
+		when(bundle.getBundleId()).thenReturn(Long.valueOf(42));
+		BundleDispatchBatcher batcher = new BundleDispatchBatcher(context, dispatcher, 50, 5000);
+		batcher.open();
+		verify(context).addBundleListener(batcher);
+		verify(context).addServiceListener(batcher);
+
+		batcher.bundleChanged(new BundleEvent(BundleEvent.STARTING, bundle));
+		verify(dispatcher).holdDispatch("bundle-42", 5000);
+		verify(dispatcher, never()).releaseDispatch(anyString());
+
+		batcher.bundleChanged(new BundleEvent(BundleEvent.STARTED, bundle));
+		verify(dispatcher, timeout(2000)).releaseDispatch("bundle-42");
+
+		// a second event for the same bundle must not release again
+		batcher.bundleChanged(new BundleEvent(BundleEvent.STOPPED, bundle));
+		verify(dispatcher, times(1)).releaseDispatch("bundle-42");
+		batcher.close();
+	}
+
+	@Test
+	public void testHoldUntilRegistrationsSettled() throws InterruptedException {
+		when(bundle.getBundleId()).thenReturn(Long.valueOf(42));
+		ServiceReference<?> reference = mock(ServiceReference.class);
+		when(reference.getBundle()).thenReturn(bundle);
+		BundleDispatchBatcher batcher = new BundleDispatchBatcher(context, dispatcher, 300, 5000);
+		batcher.open();
+
+		batcher.bundleChanged(new BundleEvent(BundleEvent.STARTING, bundle));
+		batcher.bundleChanged(new BundleEvent(BundleEvent.STARTED, bundle));
+		// the components of the bundle are registered after the STARTED event
+		for (int i = 0; i < 5; i++) {
+			Thread.sleep(100);
+			batcher.serviceChanged(new ServiceEvent(ServiceEvent.REGISTERED, reference));
+		}
+		verify(dispatcher, never()).releaseDispatch(anyString());
+
+		verify(dispatcher, timeout(2000)).releaseDispatch("bundle-42");
+		batcher.close();
+		verify(dispatcher, times(1)).releaseDispatch("bundle-42");
+	}
+
+	@Test
+	public void testReleaseAfterTimeout() {
+		when(bundle.getBundleId()).thenReturn(Long.valueOf(42));
+		ServiceReference<?> reference = mock(ServiceReference.class);
+		when(reference.getBundle()).thenReturn(bundle);
+		BundleDispatchBatcher batcher = new BundleDispatchBatcher(context, dispatcher, 10000, 200);
+		batcher.open();
+
+		batcher.bundleChanged(new BundleEvent(BundleEvent.STARTING, bundle));
+		batcher.bundleChanged(new BundleEvent(BundleEvent.STARTED, bundle));
+		batcher.serviceChanged(new ServiceEvent(ServiceEvent.REGISTERED, reference));
+		// the settle period is longer than the timeout of the hold
+		verify(dispatcher, timeout(2000)).releaseDispatch("bundle-42");
+		batcher.close();
+	}
+
+	@Test
+	public void testReleaseOnClose() {
+		when(bundle.getBundleId()).thenReturn(Long.valueOf(7));
+		BundleDispatchBatcher batcher = new BundleDispatchBatcher(context, dispatcher, 50, 5000);
+		batcher.open();
+
+		batcher.bundleChanged(new BundleEvent(BundleEvent.STARTING, bundle));
+		verify(dispatcher).holdDispatch("bundle-7", 5000);
+
+		batcher.close();
+		verify(context).removeBundleListener(batcher);
+		verify(context).removeServiceListener(batcher);
+		verify(dispatcher).releaseDispatch("bundle-7");
+	}
+
+}
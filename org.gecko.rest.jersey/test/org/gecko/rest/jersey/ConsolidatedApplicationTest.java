@@ -0,0 +1,205 @@
+/**
+ * Copyright (c) 2012 - 2022 Data In Motion and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Data In Motion - initial API and implementation
+ *     Stefan Bishof - API and implementation
+ *     Tim Ward - implementation
+ */
+package org.gecko.rest.jersey;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.core.Application;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.UriInfo;
+
+import org.eclipse.jetty.server.LocalConnector;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.handler.HandlerList;
+import org.gecko.rest.jersey.jetty.JerseyJettyHandler;
+import org.gecko.rest.jersey.provider.application.JaxRsApplicationContentProvider;
+import org.gecko.rest.jersey.provider.application.JaxRsApplicationProvider;
+import org.gecko.rest.jersey.provider.application.JaxRsExtensionProvider;
+import org.gecko.rest.jersey.provider.application.JaxRsResourceProvider;
+import org.gecko.rest.jersey.runtime.JerseyServiceRuntime;
+import org.gecko.rest.jersey.runtime.application.JerseyApplication;
+import org.gecko.rest.jersey.runtime.common.ResourceConfigWrapper;
+import org.gecko.rest.jersey.runtime.servlet.ConsolidatedApplicationGroup;
+import org.gecko.rest.jersey.runtime.servlet.WhiteboardServletContainer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.osgi.framework.ServiceObjects;
+import org.osgi.service.component.ComponentContext;
+
+/**
+ * Tests the applications, that share one Jersey container
+ * @author agent
+ * @since 18.10.2026
+ */
+@ExtendWith(MockitoExtension.class)
+public class ConsolidatedApplicationTest {
+
+	@Mock
+	private ComponentContext context;
+
+	@Test
+	public void testGroupMembership() {
+		JaxRsApplicationProvider first = createApplication("first", "/first/*", createResource(FirstResource.class));
+		JaxRsApplicationProvider second = createApplication("second", "/second", createResource(SecondResource.class));
+		assertEquals("first", ConsolidatedApplicationGroup.getBasePath("/first/*"));
+		assertEquals("", ConsolidatedApplicationGroup.getKey(first));
+
+		ConsolidatedApplicationGroup group = new ConsolidatedApplicationGroup("");
+		assertTrue(group.accepts(first));
+		group.put(first);
+		assertTrue(group.accepts(second));
+		// the resource class is served by the first application
+		assertFalse(group.accepts(createApplication("third", "/third", createResource(FirstResource.class))));
+		// the path is below the first application
+		assertFalse(group.accepts(createApplication("nested", "/first/nested", createResource(SecondResource.class))));
+
+		JaxRsExtensionProvider extension = mock(JaxRsExtensionProvider.class);
+		lenient().when(extension.getId()).thenReturn("ext");
+		lenient().when(extension.isSingleton()).thenReturn(Boolean.TRUE);
+		JaxRsApplicationProvider extended = createApplication("extended", "/extended", createResource(SecondResource.class), extension);
+		assertEquals("ext", ConsolidatedApplicationGroup.getKey(extended));
+		assertFalse(group.accepts(extended));
+
+		// each member would need its own instance of a prototype extension
+		JaxRsExtensionProvider prototype = mock(JaxRsExtensionProvider.class);
+		lenient().when(prototype.getId()).thenReturn("prototype");
+		lenient().when(prototype.isSingleton()).thenReturn(Boolean.FALSE);
+		assertNull(ConsolidatedApplicationGroup.getKey(createApplication("prototype", "/prototype", createResource(SecondResource.class), prototype)));
+
+		// applications with own classes need their own container
+		JaxRsApplicationProvider own = createApplication("own", "/own");
+		Application source = new Application() {
+			@Override
+			public Set<Class<?>> getClasses() {
+				return Set.of(FirstResource.class);
+			}
+		};
+		lenient().when(own.getJaxRsApplication()).thenReturn(new JerseyApplication("own", source, null));
+		assertNull(ConsolidatedApplicationGroup.getKey(own));
+		assertNull(ConsolidatedApplicationGroup.getKey(createApplication("root", "/")));
+
+		assertTrue(group.remove("first"));
+		assertTrue(group.isEmpty());
+	}
+
+	@Test
+	public void testSharedContainer() throws Exception {
+		List<JaxRsApplicationProvider> applications = List.of(
+				createApplication("first", "/first/*", createResource(FirstResource.class)),
+				createApplication("second", "/second", createResource(SecondResource.class)));
+		ResourceConfigWrapper config = new TestRuntime(context).createConfig(applications);
+		WhiteboardServletContainer container = new WhiteboardServletContainer(config, null);
+		container.initNative();
+
+		Server server = new Server();
+		LocalConnector connector = new LocalConnector(server);
+		server.addConnector(connector);
+		HandlerList handlers = new HandlerList();
+		handlers.addHandler(new JerseyJettyHandler(container, "/rest/first", "/rest"));
+		handlers.addHandler(new JerseyJettyHandler(container, "/rest/second", "/rest"));
+		server.setHandler(handlers);
+		server.start();
+		try {
+			String response = connector.getResponse("GET /rest/first/hello HTTP/1.0\r\n\r\n");
+			assertTrue(response.endsWith("\r\n\r\nfirst first/hello"), response);
+			response = connector.getResponse("GET /rest/second/hello HTTP/1.0\r\n\r\n");
+			assertTrue(response.endsWith("\r\n\r\nsecond second/hello"), response);
+			assertTrue(connector.getResponse("GET /rest/first/unknown HTTP/1.0\r\n\r\n").startsWith("HTTP/1.1 404"));
+		} finally {
+			server.stop();
+		}
+		// the handlers do not destroy the shared container
+		assertNotNull(container.getApplicationHandler());
+		container.destroy();
+		assertNull(container.getApplicationHandler());
+	}
+
+	private JaxRsApplicationProvider createApplication(String id, String path, JaxRsApplicationContentProvider... content) {
+		JaxRsApplicationProvider provider = mock(JaxRsApplicationProvider.class);
+		lenient().when(provider.getId()).thenReturn(id);
+		lenient().when(provider.getPath()).thenReturn(path);
+		lenient().when(provider.getJaxRsApplication()).thenReturn(new JerseyApplication(id, new Application(), null));
+		lenient().when(provider.getContentProviers()).thenReturn(List.of(content));
+		return provider;
+	}
+
+	@SuppressWarnings("unchecked")
+	private JaxRsResourceProvider createResource(Class<?> resourceClass) {
+		JaxRsResourceProvider provider = mock(JaxRsResourceProvider.class);
+		ServiceObjects<Object> serviceObjects = mock(ServiceObjects.class);
+		lenient().when(provider.getId()).thenReturn(resourceClass.getSimpleName());
+		lenient().doReturn(resourceClass).when(provider).getObjectClass();
+		lenient().when(provider.getProviderObject()).thenReturn(serviceObjects);
+		lenient().when(provider.getProperties()).thenReturn(Map.of());
+		lenient().when(serviceObjects.getService()).thenAnswer((i)->resourceClass.getConstructor().newInstance());
+		return provider;
+	}
+
+	/**
+	 * Runtime, that creates the shared configuration without a running Jetty
+	 */
+	private static class TestRuntime extends JerseyServiceRuntime {
+
+		TestRuntime(ComponentContext context) {
+			this.context = context;
+		}
+
+		ResourceConfigWrapper createConfig(Collection<JaxRsApplicationProvider> applications) {
+			return createConsolidatedResourceConfig(applications);
+		}
+
+	}
+
+	@Path("hello")
+	public static class FirstResource {
+
+		@Context
+		private UriInfo uriInfo;
+
+		@GET
+		public String hello() {
+			return "first " + uriInfo.getPath();
+		}
+
+	}
+
+	@Path("hello")
+	public static class SecondResource {
+
+		@Context
+		private UriInfo uriInfo;
+
+		@GET
+		public String hello() {
+			return "second " + uriInfo.getPath();
+		}
+
+	}
+
+}
@@ -0,0 +1,144 @@
+/**
+ * Copyright (c) 2012 - 2022 Data In Motion and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Data In Motion - initial API and implementation
+ *     Stefan Bishof - API and implementation
+ *     Tim Ward - implementation
+ */
+package org.gecko.rest.jersey;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.ws.rs.core.Application;
+import javax.ws.rs.ext.MessageBodyReader;
+
+import org.gecko.rest.jersey.provider.application.JaxRsApplicationProvider;
+import org.gecko.rest.jersey.provider.application.JaxRsExtensionProvider;
+import org.gecko.rest.jersey.provider.application.JaxRsResourceProvider;
+import org.gecko.rest.jersey.resources.TestExtension;
+import org.gecko.rest.jersey.resources.TestResource;
+import org.gecko.rest.jersey.runtime.application.JerseyApplicationProvider;
+import org.gecko.rest.jersey.runtime.application.JerseyExtensionProvider;
+import org.gecko.rest.jersey.runtime.application.JerseyResourceProvider;
+import org.gecko.rest.jersey.runtime.dispatcher.ExtensionDependencyGraph;
+import org.gecko.rest.jersey.runtime.dispatcher.ExtensionDependencyGraph.Resolution;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.osgi.framework.Constants;
+import org.osgi.framework.ServiceObjects;
+import org.osgi.service.jaxrs.whiteboard.JaxrsWhiteboardConstants;
+
+/**
+ * Tests the resolution of extension select filters
+ * @author agent
+ * @since 18.10.2026
+ */
+@ExtendWith(MockitoExtension.class)
+public class ExtensionDependencyGraphTest {
+
+	@Mock
+	private ServiceObjects<Object> serviceObject;
+
+	@Test
+	public void testPropagateMissingExtension() {
+		ExtensionDependencyGraph graph = new ExtensionDependencyGraph();
+		JaxRsApplicationProvider app = createApplication(null);
+		JaxRsExtensionProvider a = createExtension("a", 1l, "(name=b)");
+		JaxRsExtensionProvider b = createExtension("b", 2l, "(name=c)");
+		JaxRsExtensionProvider d = createExtension("d", 3l, null);
+		JaxRsExtensionProvider e = createExtension("e", 4l, "(name=d)");
+
+		Resolution resolution = graph.resolveApplication(app, List.of(a, b, d, e), Collections.emptyMap());
+		assertFalse(resolution.isApplicationFailed());
+		assertEquals(Set.of("a", "b"), names(resolution.getFailedExtensions()));
+
+		// c arrives, now the whole chain is satisfied
+		JaxRsExtensionProvider c = createExtension("c", 5l, null);
+		resolution = graph.resolveApplication(app, List.of(a, b, c, d, e), Collections.emptyMap());
+		assertTrue(resolution.getFailedExtensions().isEmpty());
+
+		// the whiteboard can satisfy a requirement as well
+		resolution = graph.resolveApplication(app, List.of(a, b, d, e), Map.of("name", "c"));
+		assertTrue(resolution.getFailedExtensions().isEmpty());
+	}
+
+	@Test
+	public void testApplicationRequirement() {
+		ExtensionDependencyGraph graph = new ExtensionDependencyGraph();
+		JaxRsApplicationProvider app = createApplication("(name=a)");
+		JaxRsExtensionProvider a = createExtension("a", 1l, "(name=b)");
+		JaxRsExtensionProvider d = createExtension("d", 3l, null);
+
+		Resolution resolution = graph.resolveApplication(app, List.of(a, d), Collections.emptyMap());
+		assertTrue(resolution.isApplicationFailed());
+		assertEquals(Set.of("a", "d"), names(resolution.getFailedExtensions()));
+
+		JaxRsExtensionProvider b = createExtension("b", 2l, null);
+		resolution = graph.resolveApplication(app, List.of(a, b, d), Collections.emptyMap());
+		assertFalse(resolution.isApplicationFailed());
+		assertTrue(resolution.getFailedExtensions().isEmpty());
+	}
+
+	@Test
+	public void testResourceRequirement() {
+		ExtensionDependencyGraph graph = new ExtensionDependencyGraph();
+		JaxRsApplicationProvider app = createApplication(null);
+		JaxRsExtensionProvider a = createExtension("a", 1l, null);
+		Map<String, Object> properties = new HashMap<>();
+		properties.put(JaxrsWhiteboardConstants.JAX_RS_RESOURCE, "true");
+		properties.put(Constants.SERVICE_ID, Long.valueOf(10));
+		properties.put(JaxrsWhiteboardConstants.JAX_RS_EXTENSION_SELECT, "(name=a)");
+		when(serviceObject.getService()).thenReturn(new TestResource());
+		JaxRsResourceProvider resource = new JerseyResourceProvider<Object>(serviceObject, properties);
+
+		assertTrue(graph.isSatisfied(resource, List.of(a), app, Collections.emptyMap()));
+		assertFalse(graph.isSatisfied(resource, Collections.emptyList(), app, Collections.emptyMap()));
+	}
+
+	private Set<String> names(List<JaxRsExtensionProvider> extensions) {
+		return extensions.stream().map((e)->(String) e.getProperties().get("name")).collect(Collectors.toSet());
+	}
+
+	private JaxRsApplicationProvider createApplication(String select) {
+		Map<String, Object> properties = new HashMap<>();
+		properties.put(JaxrsWhiteboardConstants.JAX_RS_APPLICATION_BASE, "test");
+		properties.put(JaxrsWhiteboardConstants.JAX_RS_NAME, "test");
+		properties.put(Constants.SERVICE_ID, Long.valueOf(100));
+		if (select != null) {
+			properties.put(JaxrsWhiteboardConstants.JAX_RS_EXTENSION_SELECT, select);
+		}
+		return new JerseyApplicationProvider(new Application(), properties);
+	}
+
+	private JaxRsExtensionProvider createExtension(String name, Long serviceId, String select) {
+		Map<String, Object> properties = new HashMap<>();
+		properties.put(JaxrsWhiteboardConstants.JAX_RS_EXTENSION, "true");
+		properties.put(Constants.OBJECTCLASS, new String[] {MessageBodyReader.class.getName()});
+		properties.put(Constants.SERVICE_ID, serviceId);
+		properties.put("name", name);
+		if (select != null) {
+			properties.put(JaxrsWhiteboardConstants.JAX_RS_EXTENSION_SELECT, select);
+		}
+		when(serviceObject.getService()).thenReturn(new TestExtension());
+		return new JerseyExtensionProvider<Object>(serviceObject, properties);
+	}
+
+}
@@ -0,0 +1,153 @@
+/**
+ * Copyright (c) 2012 - 2022 Data In Motion and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Data In Motion - initial API and implementation
+ *     Stefan Bishof - API and implementation
+ *     Tim Ward - implementation
+ */
+package org.gecko.rest.jersey;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.util.function.BiFunction;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.NotFoundException;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+
+import org.gecko.rest.jersey.binder.GeneratedInvokerBinder;
+import org.gecko.rest.jersey.proxy.ResourceMethodInvokerFactory;
+import org.glassfish.jersey.internal.MapPropertiesDelegate;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the generated resource method invokers
+ * @author agent
+ * @since 18.10.2026
+ */
+public class GeneratedInvokerTest {
+
+	private static final URI BASE_URI = URI.create("http://localhost/");
+
+	@SuppressWarnings("unchecked")
+	@Test
+	public void testGenerateInvoker() throws Exception {
+		PublicClassLoader loader = new PublicClassLoader();
+		String className = ResourceMethodInvokerFactory.getClassName(Calculator.class.getMethod("add", int.class, long.class));
+		Class<?> clz = loader.define(className, ResourceMethodInvokerFactory.generateClass(className, Calculator.class.getMethod("add", int.class, long.class)));
+		BiFunction<Object, Object[], Object> add = (BiFunction<Object, Object[], Object>) clz.getConstructor().newInstance();
+		assertEquals(Long.valueOf(42L), add.apply(new Calculator(), new Object[] {Integer.valueOf(40), Long.valueOf(2L)}));
+
+		className = ResourceMethodInvokerFactory.getClassName(Calculator.class.getMethod("reset"));
+		clz = loader.define(className, ResourceMethodInvokerFactory.generateClass(className, Calculator.class.getMethod("reset")));
+		BiFunction<Object, Object[], Object> reset = (BiFunction<Object, Object[], Object>) clz.getConstructor().newInstance();
+		Calculator calculator = new Calculator();
+		calculator.value = 5;
+		assertNull(reset.apply(calculator, new Object[0]));
+		assertEquals(0, calculator.value);
+	}
+
+	@Test
+	public void testSupported() throws Exception {
+		assertTrue(ResourceMethodInvokerFactory.isSupported(Calculator.class.getMethod("add", int.class, long.class)));
+		assertTrue(ResourceMethodInvokerFactory.isSupported(InvokerResource.class.getMethod("caller", String.class)));
+		assertFalse(ResourceMethodInvokerFactory.isSupported(Calculator.class.getDeclaredMethod("hidden")));
+		assertFalse(ResourceMethodInvokerFactory.isSupported(Calculator.class.getMethod("create")));
+		assertFalse(ResourceMethodInvokerFactory.isSupported(HiddenResource.class.getMethod("get")));
+		assertFalse(ResourceMethodInvokerFactory.isSupported(Object.class.getMethod("toString")));
+	}
+
+	@Test
+	public void testApplicationHandler() throws Exception {
+		ResourceConfig config = new ResourceConfig(InvokerResource.class);
+		config.register(new GeneratedInvokerBinder());
+		ApplicationHandler handler = new ApplicationHandler(config);
+
+		ContainerResponse response = handler.apply(createRequest("invoker/caller/5")).get();
+		assertEquals(200, response.getStatus());
+		String entity = response.getEntity().toString();
+		assertTrue(entity.startsWith("5 org.gecko.rest.jersey.proxy.Invoker_InvokerResource_caller_"), entity);
+
+		// exceptions of the resource method are mapped, like for a reflective call
+		response = handler.apply(createRequest("invoker/missing")).get();
+		assertEquals(404, response.getStatus());
+	}
+
+	private ContainerRequest createRequest(String path) {
+		return new ContainerRequest(BASE_URI, BASE_URI.resolve(path), "GET", null, new MapPropertiesDelegate(), null);
+	}
+
+	public static class Calculator {
+
+		int value;
+
+		public long add(int a, long b) {
+			return a + b;
+		}
+
+		public void reset() {
+			value = 0;
+		}
+
+		public static Calculator create() {
+			return new Calculator();
+		}
+
+		void hidden() {
+		}
+
+	}
+
+	@Path("invoker")
+	public static class InvokerResource {
+
+		@GET
+		@Path("caller/{value}")
+		public String caller(@PathParam("value") String value) {
+			return value + " " + new Throwable().getStackTrace()[1].getClassName();
+		}
+
+		@GET
+		@Path("missing")
+		public String missing() {
+			throw new NotFoundException();
+		}
+
+	}
+
+	static class HiddenResource {
+
+		public String get() {
+			return "hidden";
+		}
+
+	}
+
+	static class PublicClassLoader extends ClassLoader {
+
+		PublicClassLoader() {
+			super(GeneratedInvokerTest.class.getClassLoader());
+		}
+
+		Class<?> define(String name, byte[] b) {
+			return defineClass(name, b, 0, b.length);
+		}
+
+	}
+
+}
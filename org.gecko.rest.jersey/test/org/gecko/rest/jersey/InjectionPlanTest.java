@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) 2012 - 2022 Data In Motion and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Data In Motion - initial API and implementation
+ *     Stefan Bishof - API and implementation
+ *     Tim Ward - implementation
+ */
+package org.gecko.rest.jersey;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import javax.inject.Inject;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.UriInfo;
+
+import org.gecko.rest.jersey.factories.InjectionPlan;
+import org.glassfish.jersey.internal.inject.InjectionManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+/**
+ * Tests the analysis of the injection points of resource and extension classes
+ * @author agent
+ * @since 18.10.2026
+ */
+@ExtendWith(MockitoExtension.class)
+public class InjectionPlanTest {
+
+	@Mock
+	private InjectionManager injectionManager;
+
+	@Test
+	public void testPlainClass() {
+		InjectionPlan plan = InjectionPlan.forClass(PlainResource.class);
+		assertFalse(plan.isInjectionRequired());
+		assertSame(plan, InjectionPlan.forClass(PlainResource.class));
+		assertSame(PlainResource.class, plan.getType());
+
+		InjectionPlan.inject(new PlainResource(), injectionManager);
+		verifyNoInteractions(injectionManager);
+	}
+
+	@Test
+	public void testInjectionPoints() {
+		assertTrue(InjectionPlan.forClass(ContextResource.class).isInjectionRequired());
+		assertTrue(InjectionPlan.forClass(InjectResource.class).isInjectionRequired());
+		assertTrue(InjectionPlan.forClass(ParamResource.class).isInjectionRequired());
+		assertTrue(InjectionPlan.forClass(SetterResource.class).isInjectionRequired());
+		// inherited injection points
+		assertTrue(InjectionPlan.forClass(SubResource.class).isInjectionRequired());
+
+		ContextResource resource = new ContextResource();
+		InjectionPlan.inject(resource, injectionManager);
+		verify(injectionManager).inject(resource);
+	}
+
+	@Path("plain")
+	public static class PlainResource {
+
+		private String greeting = "hello";
+		private static @Context UriInfo staticInfo;
+
+		@GET
+		@Path("{name}")
+		@Produces("text/plain")
+		public String hello(@PathParam("name") String name) {
+			return greeting + name;
+		}
+
+	}
+
+	public static class ContextResource {
+
+		@Context
+		private UriInfo uriInfo;
+
+	}
+
+	public static class InjectResource {
+
+		@Inject
+		private Object service;
+
+	}
+
+	public static class ParamResource {
+
+		@QueryParam("q")
+		private String query;
+
+	}
+
+	public static class SetterResource {
+
+		@Context
+		public void setUriInfo(UriInfo uriInfo) {
+		}
+
+	}
+
+	public static class SubResource extends ContextResource {
+
+		@GET
+		public String get() {
+			return "sub";
+		}
+
+	}
+
+}
@@ -17,7 +17,10 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.Collections;
@@ -31,11 +34,14 @@ import org.gecko.rest.jersey.provider.application.JaxRsResourceProvider;
 import org.gecko.rest.jersey.resources.TestResource;
 import org.gecko.rest.jersey.runtime.application.JerseyApplicationProvider;
 import org.gecko.rest.jersey.runtime.application.JerseyResourceProvider;
+import org.gecko.rest.jersey.runtime.application.ProviderMetadataCache;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.osgi.framework.Constants;
 import org.osgi.framework.ServiceObjects;
+import org.osgi.framework.ServiceReference;
 import org.osgi.service.jaxrs.runtime.dto.BaseApplicationDTO;
 import org.osgi.service.jaxrs.runtime.dto.BaseDTO;
 import org.osgi.service.jaxrs.runtime.dto.DTOConstants;
@@ -53,6 +59,8 @@ public class JaxRsResourceProviderTest {
 
 	@Mock
 	private ServiceObjects<Object> serviceObject;
+	@Mock
+	private ServiceReference<Object> serviceReference;
 
 	@Test
 	public void testApplicationSelect() {
@@ -207,4 +215,56 @@ public class JaxRsResourceProviderTest {
 		
 	}
 	
+	@Test
+	public void testCloneDoesNotGetService() throws CloneNotSupportedException {
+		Map<String, Object> resourceProperties = new HashMap<>();
+		resourceProperties.put(JaxrsWhiteboardConstants.JAX_RS_RESOURCE, "true");
+		resourceProperties.put(JaxrsWhiteboardConstants.JAX_RS_NAME, "test");
+		resourceProperties.put(Constants.SERVICE_ID, 4711l);
+		when(serviceObject.getService()).thenReturn(new TestResource());
+		JerseyResourceProvider<Object> resourceProvider = new JerseyResourceProvider<Object>(serviceObject, resourceProperties);
+		
+		JaxRsResourceProvider clone = (JaxRsResourceProvider) resourceProvider.clone();
+		assertNotSame(resourceProvider, clone);
+		assertEquals(resourceProvider.getId(), clone.getId());
+		assertEquals("test", clone.getName());
+		assertEquals(TestResource.class, clone.getObjectClass());
+		assertTrue(clone.isResource());
+		verify(serviceObject, times(1)).getService();
+	}
+	
+	@Test
+	public void testImplementationClassCache() {
+		Map<String, Object> resourceProperties = new HashMap<>();
+		resourceProperties.put(JaxrsWhiteboardConstants.JAX_RS_RESOURCE, "true");
+		resourceProperties.put(Constants.SERVICE_ID, 4712l);
+		when(serviceObject.getService()).thenReturn(new TestResource());
+		when(serviceObject.getServiceReference()).thenReturn(serviceReference);
+		ProviderMetadataCache metadataCache = new ProviderMetadataCache();
+		JaxRsResourceProvider resourceProvider = new JerseyResourceProvider<Object>(serviceObject, resourceProperties, metadataCache);
+		assertEquals(TestResource.class, resourceProvider.getObjectClass());
+		
+		// a new provider for the same registration uses the cached class
+		resourceProvider = new JerseyResourceProvider<Object>(serviceObject, resourceProperties, metadataCache);
+		assertEquals(TestResource.class, resourceProvider.getObjectClass());
+		verify(serviceObject, times(1)).getService();
+		
+		// an unregistered service gets the service again
+		metadataCache.remove(4712l);
+		resourceProvider = new JerseyResourceProvider<Object>(serviceObject, resourceProperties, metadataCache);
+		assertEquals(TestResource.class, resourceProvider.getObjectClass());
+		verify(serviceObject, times(2)).getService();
+		
+		// the cache of another dispatcher does not know the class
+		resourceProvider = new JerseyResourceProvider<Object>(serviceObject, resourceProperties, new ProviderMetadataCache());
+		assertEquals(TestResource.class, resourceProvider.getObjectClass());
+		verify(serviceObject, times(3)).getService();
+		
+		// a cleared cache gets the service again
+		metadataCache.clear();
+		resourceProvider = new JerseyResourceProvider<Object>(serviceObject, resourceProperties, metadataCache);
+		assertEquals(TestResource.class, resourceProvider.getObjectClass());
+		verify(serviceObject, times(4)).getService();
+	}
+
 }
@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2012 - 2022 Data In Motion and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Data In Motion - initial API and implementation
+ *     Stefan Bishof - API and implementation
+ *     Tim Ward - implementation
+ */
+package org.gecko.rest.jersey;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.ws.rs.core.Application;
+
+import org.gecko.rest.jersey.provider.application.JaxRsApplicationProvider;
+import org.gecko.rest.jersey.provider.application.JaxRsWhiteboardChange;
+import org.gecko.rest.jersey.provider.application.JaxRsWhiteboardDispatcher;
+import org.gecko.rest.jersey.provider.whiteboard.JaxRsWhiteboardProvider;
+import org.gecko.rest.jersey.resources.TestResource;
+import org.gecko.rest.jersey.runtime.dispatcher.JerseyWhiteboardDispatcher;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.osgi.framework.Constants;
+import org.osgi.framework.ServiceObjects;
+import org.osgi.service.jaxrs.runtime.dto.BaseDTO;
+import org.osgi.service.jaxrs.runtime.dto.DTOConstants;
+import org.osgi.service.jaxrs.runtime.dto.FailedResourceDTO;
+import org.osgi.service.jaxrs.whiteboard.JaxrsWhiteboardConstants;
+
+/**
+ * Tests the bulk apply of the whiteboard dispatcher
+ * @author agent
+ * @since 18.10.2026
+ */
+@ExtendWith(MockitoExtension.class)
+public class JaxRsWhiteboardBulkApplyTest {
+
+	@Mock
+	private JaxRsWhiteboardProvider whiteboard;
+	@Mock
+	private ServiceObjects<Object> serviceObject;
+
+	@Test
+	public void testApply() {
+		lenient().when(whiteboard.getProperties()).thenReturn(Collections.emptyMap());
+		lenient().when(serviceObject.getService()).thenReturn(new TestResource());
+		JaxRsWhiteboardDispatcher dispatcher = new JerseyWhiteboardDispatcher();
+		dispatcher.setWhiteboardProvider(whiteboard);
+		dispatcher.dispatch();
+
+		Map<String, Object> applicationProperties = new HashMap<>();
+		applicationProperties.put(JaxrsWhiteboardConstants.JAX_RS_APPLICATION_BASE, "bulk");
+		applicationProperties.put(JaxrsWhiteboardConstants.JAX_RS_NAME, "bulk");
+		applicationProperties.put(Constants.SERVICE_ID, 100l);
+		JaxRsWhiteboardChange addApplication = JaxRsWhiteboardChange.addApplication(new Application(), applicationProperties);
+		JaxRsWhiteboardChange first = JaxRsWhiteboardChange.addResource(serviceObject, createResourceProperties(101l, "(osgi.jaxrs.name=bulk)"));
+		JaxRsWhiteboardChange second = JaxRsWhiteboardChange.addResource(serviceObject, createResourceProperties(102l, "(osgi.jaxrs.name=bulk)"));
+		JaxRsWhiteboardChange unavailable = JaxRsWhiteboardChange.addResource(serviceObject, createResourceProperties(103l, "(osgi.jaxrs.name=missing)"));
+		JaxRsWhiteboardChange invalid = JaxRsWhiteboardChange.addResource(serviceObject, createResourceProperties(104l, "(((("));
+
+		Map<JaxRsWhiteboardChange, BaseDTO> failures = dispatcher.apply(List.of(addApplication, first, second, unavailable, invalid));
+		assertEquals(2, failures.size());
+		assertTrue(failures.get(unavailable) instanceof FailedResourceDTO);
+		assertEquals(DTOConstants.FAILURE_REASON_REQUIRED_APPLICATION_UNAVAILABLE, ((FailedResourceDTO) failures.get(unavailable)).failureReason);
+		assertTrue(failures.get(invalid) instanceof FailedResourceDTO);
+		assertEquals(DTOConstants.FAILURE_REASON_VALIDATION_FAILED, ((FailedResourceDTO) failures.get(invalid)).failureReason);
+
+		// the application is registered once with both resources
+		verify(whiteboard, times(1)).registerApplication(argThat((JaxRsApplicationProvider a)->"bulk".equals(a.getName())));
+		verify(whiteboard, times(0)).reloadApplication(any());
+		dispatcher.deactivate();
+	}
+
+	@Test
+	public void testConcurrentChangeDuringApply() throws InterruptedException {
+		lenient().when(whiteboard.getProperties()).thenReturn(Collections.emptyMap());
+		lenient().when(serviceObject.getService()).thenReturn(new TestResource());
+		JaxRsWhiteboardDispatcher dispatcher = new JerseyWhiteboardDispatcher();
+		dispatcher.setWhiteboardProvider(whiteboard);
+		dispatcher.dispatch();
+
+		// a resource is added by another thread, while the bulk pass holds the dispatch lock
+		AtomicBoolean added = new AtomicBoolean();
+		Set<String> registered = ConcurrentHashMap.newKeySet();
+		doAnswer((i)->{
+			JaxRsApplicationProvider application = i.getArgument(0);
+			registered.add(application.getId());
+			if ("concurrent".equals(application.getName()) && added.compareAndSet(false, true)) {
+				Thread thread = new Thread(()->dispatcher.addResource(serviceObject, createResourceProperties(202l, "(osgi.jaxrs.name=concurrent)")));
+				thread.start();
+				thread.join();
+			}
+			return null;
+		}).when(whiteboard).registerApplication(any());
+		lenient().when(whiteboard.isRegistered(any())).thenAnswer((i)->registered.contains(((JaxRsApplicationProvider) i.getArgument(0)).getId()));
+
+		Map<String, Object> applicationProperties = new HashMap<>();
+		applicationProperties.put(JaxrsWhiteboardConstants.JAX_RS_APPLICATION_BASE, "concurrent");
+		applicationProperties.put(JaxrsWhiteboardConstants.JAX_RS_NAME, "concurrent");
+		applicationProperties.put(Constants.SERVICE_ID, 200l);
+		dispatcher.apply(List.of(JaxRsWhiteboardChange.addApplication(new Application(), applicationProperties),
+				JaxRsWhiteboardChange.addResource(serviceObject, createResourceProperties(201l, "(osgi.jaxrs.name=concurrent)"))));
+
+		assertTrue(added.get());
+		// the concurrent resource is dispatched after the bulk pass, without a further event
+		verify(whiteboard, times(1)).registerApplication(argThat((JaxRsApplicationProvider a)->"concurrent".equals(a.getName())));
+		verify(whiteboard, times(1)).reloadApplication(argThat((JaxRsApplicationProvider a)->"concurrent".equals(a.getName())));
+		dispatcher.deactivate();
+	}
+
+	private Map<String, Object> createResourceProperties(Long serviceId, String select) {
+		Map<String, Object> properties = new HashMap<>();
+		properties.put(JaxrsWhiteboardConstants.JAX_RS_RESOURCE, "true");
+		properties.put(JaxrsWhiteboardConstants.JAX_RS_APPLICATION_SELECT, select);
+		properties.put(Constants.SERVICE_ID, serviceId);
+		return properties;
+	}
+
+}
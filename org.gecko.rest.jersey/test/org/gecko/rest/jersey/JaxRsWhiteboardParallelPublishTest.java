@@ -0,0 +1,188 @@
+/**
+ * Copyright (c) 2012 - 2022 Data In Motion and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Data In Motion - initial API and implementation
+ *     Stefan Bishof - API and implementation
+ *     Tim Ward - implementation
+ */
+package org.gecko.rest.jersey;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import javax.ws.rs.core.Application;
+
+import org.gecko.rest.jersey.provider.application.JaxRsApplicationProvider;
+import org.gecko.rest.jersey.provider.application.JaxRsWhiteboardChange;
+import org.gecko.rest.jersey.provider.application.JaxRsWhiteboardDispatcher;
+import org.gecko.rest.jersey.provider.whiteboard.JaxRsWhiteboardProvider;
+import org.gecko.rest.jersey.resources.TestResource;
+import org.gecko.rest.jersey.runtime.dispatcher.JerseyWhiteboardDispatcher;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.osgi.framework.Constants;
+import org.osgi.framework.ServiceObjects;
+import org.osgi.service.jaxrs.whiteboard.JaxrsWhiteboardConstants;
+
+/**
+ * Tests the concurrent registration of applications by the whiteboard dispatcher
+ * @author agent
+ * @since 18.10.2026
+ */
+@ExtendWith(MockitoExtension.class)
+public class JaxRsWhiteboardParallelPublishTest {
+
+	@Mock
+	private JaxRsWhiteboardProvider whiteboard;
+	@Mock
+	private ServiceObjects<Object> serviceObject;
+
+	@Test
+	public void testParallelRegistration() {
+		lenient().when(whiteboard.getProperties()).thenReturn(Collections.emptyMap());
+		lenient().when(serviceObject.getService()).thenReturn(new TestResource());
+		// all applications have to be registered at the same time, to pass the barrier
+		CyclicBarrier barrier = new CyclicBarrier(3);
+		Map<String, String> threads = new ConcurrentHashMap<>();
+		doAnswer((i)->{
+			JaxRsApplicationProvider application = i.getArgument(0);
+			if (application.getName().startsWith("app")) {
+				threads.put(application.getName(), Thread.currentThread().getName());
+				barrier.await(5, TimeUnit.SECONDS);
+			}
+			return null;
+		}).when(whiteboard).registerApplication(any());
+		JaxRsWhiteboardDispatcher dispatcher = new JerseyWhiteboardDispatcher();
+		dispatcher.setApplicationParallelism(4);
+		dispatcher.setWhiteboardProvider(whiteboard);
+		dispatcher.dispatch();
+
+		dispatcher.apply(createChanges());
+
+		for (int i = 1; i <= 3; i++) {
+			String name = "app" + i;
+			verify(whiteboard, times(1)).registerApplication(argThat((JaxRsApplicationProvider a)->name.equals(a.getName())));
+			assertTrue(threads.get(name).startsWith("JaxRsWhiteboardPublisher-"), threads.get(name));
+		}
+		assertFalse(barrier.isBroken());
+		// the initial and the bulk pass publish all their applications within one update of the runtime each
+		verify(whiteboard, times(2)).beginUpdate();
+		verify(whiteboard, times(2)).endUpdate();
+		dispatcher.deactivate();
+	}
+
+	@Test
+	public void testFailingRegistration() {
+		lenient().when(whiteboard.getProperties()).thenReturn(Collections.emptyMap());
+		lenient().when(serviceObject.getService()).thenReturn(new TestResource());
+		Set<String> registered = ConcurrentHashMap.newKeySet();
+		doAnswer((i)->{
+			JaxRsApplicationProvider application = i.getArgument(0);
+			registered.add(application.getName());
+			if ("app1".equals(application.getName()) || "app2".equals(application.getName())) {
+				throw new IllegalStateException("Cannot register " + application.getName());
+			}
+			return null;
+		}).when(whiteboard).registerApplication(any());
+		JaxRsWhiteboardDispatcher dispatcher = new JerseyWhiteboardDispatcher();
+		dispatcher.setApplicationParallelism(4);
+		dispatcher.setWhiteboardProvider(whiteboard);
+		dispatcher.dispatch();
+
+		// the dispatcher logs the failure of a pass
+		List<LogRecord> records = new CopyOnWriteArrayList<>();
+		Handler handler = new Handler() {
+			@Override
+			public void publish(LogRecord record) {
+				if (record.getLevel() == Level.SEVERE) {
+					records.add(record);
+				}
+			}
+			@Override
+			public void flush() {
+			}
+			@Override
+			public void close() {
+			}
+		};
+		Logger logger = Logger.getLogger("jersey.dispatcher");
+		logger.addHandler(handler);
+		try {
+			dispatcher.apply(createChanges());
+		} finally {
+			logger.removeHandler(handler);
+		}
+
+		// the other applications are published, before the failures are thrown together
+		assertTrue(registered.containsAll(Set.of("app1", "app2", "app3")), registered.toString());
+		assertEquals(1, records.size());
+		Throwable failure = records.get(0).getThrown();
+		assertEquals(1, failure.getSuppressed().length);
+		Set<String> messages = new HashSet<>();
+		collectMessages(failure, messages);
+		assertTrue(messages.containsAll(Set.of("Cannot register app1", "Cannot register app2")), messages.toString());
+		verify(whiteboard, times(2)).beginUpdate();
+		verify(whiteboard, times(2)).endUpdate();
+		dispatcher.deactivate();
+	}
+
+	private void collectMessages(Throwable throwable, Set<String> messages) {
+		if (throwable == null) {
+			return;
+		}
+		messages.add(throwable.getMessage());
+		collectMessages(throwable.getCause(), messages);
+		for (Throwable suppressed : throwable.getSuppressed()) {
+			collectMessages(suppressed, messages);
+		}
+	}
+
+	private List<JaxRsWhiteboardChange> createChanges() {
+		List<JaxRsWhiteboardChange> changes = new ArrayList<>();
+		for (long i = 1; i <= 3; i++) {
+			Map<String, Object> applicationProperties = new HashMap<>();
+			applicationProperties.put(JaxrsWhiteboardConstants.JAX_RS_APPLICATION_BASE, "app" + i);
+			applicationProperties.put(JaxrsWhiteboardConstants.JAX_RS_NAME, "app" + i);
+			applicationProperties.put(Constants.SERVICE_ID, 100 + i);
+			changes.add(JaxRsWhiteboardChange.addApplication(new Application(), applicationProperties));
+			Map<String, Object> resourceProperties = new HashMap<>();
+			resourceProperties.put(JaxrsWhiteboardConstants.JAX_RS_RESOURCE, "true");
+			resourceProperties.put(JaxrsWhiteboardConstants.JAX_RS_APPLICATION_SELECT, "(osgi.jaxrs.name=app" + i + ")");
+			resourceProperties.put(Constants.SERVICE_ID, 200 + i);
+			changes.add(JaxRsWhiteboardChange.addResource(serviceObject, resourceProperties));
+		}
+		return changes;
+	}
+
+}
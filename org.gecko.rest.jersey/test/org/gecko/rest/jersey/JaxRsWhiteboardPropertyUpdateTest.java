@@ -0,0 +1,89 @@
+/**
+ * Copyright (c) 2012 - 2022 Data In Motion and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Data In Motion - initial API and implementation
+ *     Stefan Bishof - API and implementation
+ *     Tim Ward - implementation
+ */
+package org.gecko.rest.jersey;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.ws.rs.core.Application;
+
+import org.gecko.rest.jersey.provider.application.JaxRsApplicationProvider;
+import org.gecko.rest.jersey.provider.application.JaxRsWhiteboardDispatcher;
+import org.gecko.rest.jersey.provider.whiteboard.JaxRsWhiteboardProvider;
+import org.gecko.rest.jersey.runtime.dispatcher.JerseyWhiteboardDispatcher;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.osgi.framework.Constants;
+import org.osgi.service.jaxrs.whiteboard.JaxrsWhiteboardConstants;
+
+/**
+ * Tests the in place update of the service properties of an application
+ * @author agent
+ * @since 18.10.2026
+ */
+@ExtendWith(MockitoExtension.class)
+public class JaxRsWhiteboardPropertyUpdateTest {
+
+	@Mock
+	private JaxRsWhiteboardProvider whiteboard;
+
+	@Test
+	public void testUpdateApplicationProperties() {
+		lenient().when(whiteboard.getProperties()).thenReturn(Collections.emptyMap());
+		Set<String> registered = ConcurrentHashMap.newKeySet();
+		doAnswer((i)->registered.add(((JaxRsApplicationProvider) i.getArgument(0)).getId())).when(whiteboard).registerApplication(any());
+		lenient().when(whiteboard.isRegistered(any())).thenAnswer((i)->registered.contains(((JaxRsApplicationProvider) i.getArgument(0)).getId()));
+		JaxRsWhiteboardDispatcher dispatcher = new JerseyWhiteboardDispatcher();
+		dispatcher.setWhiteboardProvider(whiteboard);
+		dispatcher.dispatch();
+
+		Application application = new Application();
+		Map<String, Object> properties = new HashMap<>();
+		properties.put(JaxrsWhiteboardConstants.JAX_RS_APPLICATION_BASE, "update");
+		properties.put(JaxrsWhiteboardConstants.JAX_RS_NAME, "update");
+		properties.put(Constants.SERVICE_ID, 300l);
+		dispatcher.addApplication(application, properties);
+		verify(whiteboard, times(1)).registerApplication(argThat((JaxRsApplicationProvider a)->"update".equals(a.getName())));
+
+		// only the ranking changed, the application is neither reloaded nor registered again
+		properties = new HashMap<>(properties);
+		properties.put(Constants.SERVICE_RANKING, 10);
+		dispatcher.updateApplication(application, properties);
+		verify(whiteboard, never()).reloadApplication(any());
+
+		// a changed service property reloads the application with the new properties
+		properties = new HashMap<>(properties);
+		properties.put("custom", "value");
+		dispatcher.updateApplication(application, properties);
+		verify(whiteboard, times(1)).reloadApplication(argThat((JaxRsApplicationProvider a)->"update".equals(a.getName()) &&
+				"value".equals(((Map<?, ?>) a.getJaxRsApplication().getProperties().get(JaxrsWhiteboardConstants.JAX_RS_APPLICATION_SERVICE_PROPERTIES)).get("custom"))));
+		verify(whiteboard, times(1)).registerApplication(argThat((JaxRsApplicationProvider a)->"update".equals(a.getName())));
+		verify(whiteboard, never()).unregisterApplication(argThat((JaxRsApplicationProvider a)->"update".equals(a.getName())));
+		dispatcher.deactivate();
+	}
+
+}
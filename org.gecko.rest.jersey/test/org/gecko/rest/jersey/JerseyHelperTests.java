@@ -13,11 +13,16 @@
  */
 package org.gecko.rest.jersey;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
+import java.util.Dictionary;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Hashtable;
 import java.util.Map;
 import java.util.Set;
 
@@ -25,6 +30,7 @@ import javax.ws.rs.core.Application;
 
 import org.gecko.rest.jersey.helper.JerseyHelper;
 import org.junit.jupiter.api.Test;
+import org.osgi.service.component.ComponentContext;
 
 /**
  * 
@@ -80,4 +86,24 @@ public class JerseyHelperTests {
 		assertTrue(JerseyHelper.isEmpty(app));
 	}
 
+	/**
+	 * Test method for {@link org.gecko.rest.jersey.helper.JerseyHelper#getLongPropertyWithDefault(ComponentContext, String, long)}.
+	 */
+	@Test
+	public void testGetLongPropertyWithDefault() {
+		Dictionary<String, Object> properties = new Hashtable<>();
+		properties.put("int", Integer.valueOf(5));
+		properties.put("long", Long.valueOf(6l));
+		properties.put("string", " 7 ");
+		properties.put("invalid", "seven");
+		ComponentContext context = mock(ComponentContext.class);
+		when(context.getProperties()).thenReturn(properties);
+		
+		assertEquals(5l, JerseyHelper.getLongPropertyWithDefault(context, "int", 1l));
+		assertEquals(6l, JerseyHelper.getLongPropertyWithDefault(context, "long", 1l));
+		assertEquals(7l, JerseyHelper.getLongPropertyWithDefault(context, "string", 1l));
+		assertEquals(1l, JerseyHelper.getLongPropertyWithDefault(context, "invalid", 1l));
+		assertEquals(1l, JerseyHelper.getLongPropertyWithDefault(context, "missing", 1l));
+	}
+
 }
@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2012 - 2022 Data In Motion and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Data In Motion - initial API and implementation
+ *     Stefan Bishof - API and implementation
+ *     Tim Ward - implementation
+ */
+package org.gecko.rest.jersey;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+
+import org.eclipse.jetty.server.LocalConnector;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.handler.HandlerList;
+import org.gecko.rest.jersey.jetty.JerseyJettyHandler;
+import org.gecko.rest.jersey.runtime.common.ResourceConfigWrapper;
+import org.gecko.rest.jersey.runtime.servlet.WhiteboardServletContainer;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the native Jetty handler, that bypasses the servlet layer
+ * @author agent
+ * @since 18.10.2026
+ */
+public class JerseyJettyHandlerTest {
+
+	private Server server;
+	private LocalConnector connector;
+	private WhiteboardServletContainer container;
+
+	@BeforeEach
+	public void before() throws Exception {
+		server = new Server();
+		connector = new LocalConnector(server);
+		server.addConnector(connector);
+		container = new WhiteboardServletContainer(new ResourceConfig(EchoResource.class).property("generation", 1), null);
+		HandlerList handlers = new HandlerList();
+		handlers.addHandler(new JerseyJettyHandler(container, "/rest/app"));
+		server.setHandler(handlers);
+		server.start();
+	}
+
+	@AfterEach
+	public void after() throws Exception {
+		server.stop();
+		assertNull(container.getApplicationHandler());
+	}
+
+	@Test
+	public void testNativeRequest() throws Exception {
+		String response = get("/rest/app/echo/hello?suffix=1");
+		assertTrue(response.startsWith("HTTP/1.1 200"), response);
+		assertTrue(response.contains("Content-Type: text/plain"), response);
+		assertTrue(response.endsWith("\r\n\r\nhello"), response);
+
+		assertTrue(get("/rest/app/unknown").startsWith("HTTP/1.1 404"));
+		// not the context of the application
+		assertTrue(get("/rest/application/echo/hello").startsWith("HTTP/1.1 404"));
+	}
+
+	@Test
+	public void testNativeReload() throws Exception {
+		assertEquals(1, container.getConfiguration().getProperty("generation"));
+		ResourceConfigWrapper wrapper = new ResourceConfigWrapper();
+		wrapper.config = new ResourceConfig(EchoResource.class).property("generation", 2);
+		container.reloadWrapper(wrapper);
+		assertEquals(2, container.getConfiguration().getProperty("generation"));
+		assertTrue(get("/rest/app/echo/reloaded").endsWith("\r\n\r\nreloaded"));
+	}
+
+	private String get(String uri) throws Exception {
+		return connector.getResponse("GET " + uri + " HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n\r\n");
+	}
+
+	@Path("echo")
+	public static class EchoResource {
+
+		@GET
+		@Path("{text}")
+		@Produces(MediaType.TEXT_PLAIN)
+		public String echo(@PathParam("text") String text) {
+			return text;
+		}
+
+	}
+
+}
@@ -0,0 +1,79 @@
+/**
+ * Copyright (c) 2012 - 2022 Data In Motion and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Data In Motion - initial API and implementation
+ *     Stefan Bishof - API and implementation
+ *     Tim Ward - implementation
+ */
+package org.gecko.rest.jersey;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.gecko.rest.jersey.runtime.dispatcher.PropertyChange;
+import org.junit.jupiter.api.Test;
+import org.osgi.framework.Constants;
+import org.osgi.service.jaxrs.whiteboard.JaxrsWhiteboardConstants;
+
+/**
+ * Tests the classification of service property modifications
+ * @author agent
+ * @since 18.10.2026
+ */
+public class PropertyChangeTest {
+
+	@Test
+	public void testClassify() {
+		Map<String, Object> properties = new HashMap<>();
+		properties.put(JaxrsWhiteboardConstants.JAX_RS_APPLICATION_BASE, "test");
+		properties.put(JaxrsWhiteboardConstants.JAX_RS_NAME, "test");
+		properties.put(Constants.SERVICE_RANKING, 1);
+		properties.put("custom", "one");
+		Set<String> none = Collections.emptySet();
+
+		Map<String, Object> modified = new HashMap<>(properties);
+		assertEquals(PropertyChange.NONE, PropertyChange.classify(properties, modified, none));
+		modified.put("custom", "two");
+		modified.put("other", new String[] {"a"});
+		assertEquals(PropertyChange.NONE, PropertyChange.classify(properties, modified, none));
+		modified.put(Constants.SERVICE_RANKING, 5);
+		assertEquals(PropertyChange.RANKING, PropertyChange.classify(properties, modified, none));
+		modified.put(JaxrsWhiteboardConstants.JAX_RS_APPLICATION_BASE, "other");
+		assertEquals(PropertyChange.STRUCTURAL, PropertyChange.classify(properties, modified, none));
+
+		modified = new HashMap<>(properties);
+		modified.remove(JaxrsWhiteboardConstants.JAX_RS_NAME);
+		assertEquals(PropertyChange.STRUCTURAL, PropertyChange.classify(properties, modified, none));
+	}
+
+	@Test
+	public void testReferencedAttributes() {
+		Set<String> attributes = new HashSet<>();
+		PropertyChange.collectAttributes("(&(Custom=one)(|(foo>=2)(!(bar~=x))))", attributes);
+		PropertyChange.collectAttributes(new String[] {"(service.ranking>=5)"}, attributes);
+		PropertyChange.collectAttributes(null, attributes);
+		assertEquals(Set.of("custom", "foo", "bar", "service.ranking"), attributes);
+
+		Map<String, Object> properties = Map.of("custom", "one", Constants.SERVICE_RANKING, 1, "unused", "a");
+		Map<String, Object> modified = new HashMap<>(properties);
+		modified.put("unused", "b");
+		assertEquals(PropertyChange.NONE, PropertyChange.classify(properties, modified, attributes));
+		modified.put("custom", "two");
+		assertEquals(PropertyChange.STRUCTURAL, PropertyChange.classify(properties, modified, attributes));
+		modified = new HashMap<>(properties);
+		modified.put(Constants.SERVICE_RANKING, 10);
+		assertEquals(PropertyChange.STRUCTURAL, PropertyChange.classify(properties, modified, attributes));
+	}
+
+}
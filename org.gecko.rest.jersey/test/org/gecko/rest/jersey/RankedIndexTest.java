@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) 2012 - 2022 Data In Motion and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Data In Motion - initial API and implementation
+ *     Stefan Bishof - API and implementation
+ *     Tim Ward - implementation
+ */
+package org.gecko.rest.jersey;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.ws.rs.core.Application;
+
+import org.gecko.rest.jersey.provider.application.JaxRsApplicationProvider;
+import org.gecko.rest.jersey.runtime.application.JerseyApplicationProvider;
+import org.gecko.rest.jersey.runtime.dispatcher.RankedIndex;
+import org.junit.jupiter.api.Test;
+import org.osgi.framework.Constants;
+import org.osgi.service.jaxrs.whiteboard.JaxrsWhiteboardConstants;
+
+/**
+ * Tests the ranked buckets used for the name and path conflict detection
+ * @author agent
+ * @since 18.10.2026
+ */
+public class RankedIndexTest {
+
+	@Test
+	public void testBestRanked() {
+		RankedIndex<JaxRsApplicationProvider> index = new RankedIndex<>(JaxRsApplicationProvider::getPath);
+		JaxRsApplicationProvider low = createApplication("low", "test", 1l, 0);
+		JaxRsApplicationProvider high = createApplication("high", "test", 2l, 10);
+		JaxRsApplicationProvider older = createApplication("older", "test", 0l, 0);
+		JaxRsApplicationProvider other = createApplication("other", "other", 3l, 0);
+		index.put(low.getId(), low);
+		index.put(high.getId(), high);
+		index.put(older.getId(), older);
+		index.put(other.getId(), other);
+
+		assertSame(high, index.getBest("/test/*", (a)->true));
+		assertEquals(List.of(high, older, low), index.get("/test/*"));
+		// only candidates are considered
+		assertSame(older, index.getBest("/test/*", (a)->a != high));
+		assertSame(other, index.getBest("/other/*", (a)->true));
+		assertNull(index.getBest("/unknown/*", (a)->true));
+
+		index.remove(high.getId());
+		assertSame(older, index.getBest("/test/*", (a)->true));
+		index.remove(older.getId());
+		index.remove(low.getId());
+		assertTrue(index.get("/test/*").isEmpty());
+	}
+
+	@Test
+	public void testReplace() {
+		RankedIndex<JaxRsApplicationProvider> index = new RankedIndex<>(JaxRsApplicationProvider::getPath);
+		JaxRsApplicationProvider app = createApplication("app", "test", 1l, 0);
+		index.put(app.getId(), app);
+		JaxRsApplicationProvider modified = createApplication("app", "modified", 1l, 0);
+		index.put(modified.getId(), modified);
+
+		assertTrue(index.get("/test/*").isEmpty());
+		assertSame(modified, index.getBest("/modified/*", (a)->true));
+	}
+
+	private JaxRsApplicationProvider createApplication(String name, String base, Long serviceId, Integer rank) {
+		Map<String, Object> properties = new HashMap<>();
+		properties.put(JaxrsWhiteboardConstants.JAX_RS_APPLICATION_BASE, base);
+		properties.put(JaxrsWhiteboardConstants.JAX_RS_NAME, name);
+		properties.put(Constants.SERVICE_ID, serviceId);
+		properties.put(Constants.SERVICE_RANKING, rank);
+		return new JerseyApplicationProvider(new Application(), properties);
+	}
+
+}
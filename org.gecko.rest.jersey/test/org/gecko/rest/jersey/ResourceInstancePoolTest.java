@@ -0,0 +1,186 @@
+/**
+ * Copyright (c) 2012 - 2022 Data In Motion and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Data In Motion - initial API and implementation
+ *     Stefan Bishof - API and implementation
+ *     Tim Ward - implementation
+ */
+package org.gecko.rest.jersey;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.SecurityContext;
+
+import org.gecko.rest.jersey.binder.PrototypeServiceBinder;
+import org.gecko.rest.jersey.factories.JerseyResourceInstanceFactory;
+import org.gecko.rest.jersey.factories.ResourceInstancePool;
+import org.gecko.rest.jersey.provider.JerseyConstants;
+import org.gecko.rest.jersey.provider.application.JaxRsApplicationContentProvider;
+import org.glassfish.jersey.internal.MapPropertiesDelegate;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.osgi.framework.ServiceObjects;
+
+/**
+ * Tests the pooling of prototype resource instances
+ * @author agent
+ * @since 18.10.2026
+ */
+@ExtendWith(MockitoExtension.class)
+public class ResourceInstancePoolTest {
+
+	@Mock
+	private ServiceObjects<Object> serviceObjects;
+	@Mock
+	private JaxRsApplicationContentProvider provider;
+
+	@Test
+	public void testPool() {
+		List<Object> released = new ArrayList<>();
+		ResourceInstancePool<Object> pool = new ResourceInstancePool<>(1, 0, released::add);
+		assertNull(pool.borrow());
+		Object first = new Object();
+		Object second = new Object();
+		pool.giveBack(first);
+		pool.giveBack(second);
+		// the pool is full
+		assertEquals(List.of(second), released);
+		assertEquals(1, pool.getIdleCount());
+
+		assertSame(first, pool.borrow());
+		assertEquals(0, pool.getIdleCount());
+		assertEquals(1, pool.getHits());
+		assertEquals(1, pool.getMisses());
+
+		pool.giveBack(first);
+		pool.close();
+		assertEquals(List.of(second, first), released);
+		pool.giveBack(new Object());
+		assertEquals(3, released.size());
+		assertEquals(0, pool.getIdleCount());
+	}
+
+	@Test
+	public void testIdleEviction() throws InterruptedException {
+		List<Object> released = new ArrayList<>();
+		ResourceInstancePool<Object> pool = new ResourceInstancePool<>(5, 1, released::add);
+		Object instance = new Object();
+		pool.giveBack(instance);
+		Thread.sleep(10);
+		assertNull(pool.borrow());
+		assertEquals(List.of(instance), released);
+		assertEquals(1, pool.getEvictions());
+		assertEquals(0, pool.getIdleCount());
+	}
+
+	@Test
+	public void testPooledFactory() {
+		lenient().when(provider.getProviderObject()).thenReturn(serviceObjects);
+		lenient().when(provider.isSingleton()).thenReturn(Boolean.FALSE);
+		lenient().when(provider.getProperties()).thenReturn(Map.of(JerseyConstants.JERSEY_RESOURCE_POOL_SIZE, "2"));
+		lenient().doReturn(Object.class).when(provider).getObjectClass();
+		lenient().when(serviceObjects.getService()).thenAnswer((i)->new Object());
+
+		JerseyResourceInstanceFactory<Object> factory = new JerseyResourceInstanceFactory<>(provider);
+		Object first = factory.provide();
+		factory.dispose(first);
+		assertSame(first, factory.provide());
+		Object second = factory.provide();
+		assertNotSame(first, second);
+		verify(serviceObjects, times(2)).getService();
+		factory.dispose(first);
+		factory.dispose(second);
+		verify(serviceObjects, never()).ungetService(first);
+
+		ResourceInstancePool<Object> pool = factory.getPool();
+		assertEquals(2, pool.getIdleCount());
+		assertEquals(1, pool.getHits());
+		assertEquals(2, pool.getMisses());
+
+		factory.dispose();
+		verify(serviceObjects).ungetService(first);
+		verify(serviceObjects).ungetService(second);
+	}
+
+	@Test
+	public void testInjectedResourceNotPooled() throws Exception {
+		lenient().when(provider.getProviderObject()).thenReturn(serviceObjects);
+		lenient().when(provider.isSingleton()).thenReturn(Boolean.FALSE);
+		lenient().when(provider.getProperties()).thenReturn(Map.of(JerseyConstants.JERSEY_RESOURCE_POOL_SIZE, "2"));
+		lenient().doReturn(QueryResource.class).when(provider).getObjectClass();
+		lenient().when(serviceObjects.getService()).thenAnswer((i)->new QueryResource());
+
+		JerseyResourceInstanceFactory<Object> factory = new JerseyResourceInstanceFactory<>(provider);
+		assertNull(factory.getPool());
+		PrototypeServiceBinder binder = new PrototypeServiceBinder();
+		binder.register(QueryResource.class, factory);
+		ApplicationHandler handler = new ApplicationHandler(new ResourceConfig(QueryResource.class).register(binder));
+		factory.setInjectionManager(handler.getInjectionManager());
+
+		// each request gets an instance with its own query parameter
+		assertEquals("a", get(handler, "query?value=a"));
+		assertEquals("b", get(handler, "query?value=b"));
+		verify(serviceObjects, times(2)).getService();
+	}
+
+	@Test
+	public void testUnpooledFactory() {
+		lenient().when(provider.getProviderObject()).thenReturn(serviceObjects);
+		lenient().when(provider.isSingleton()).thenReturn(Boolean.FALSE);
+		lenient().when(provider.getProperties()).thenReturn(Map.of());
+		lenient().when(serviceObjects.getService()).thenAnswer((i)->new Object());
+
+		JerseyResourceInstanceFactory<Object> factory = new JerseyResourceInstanceFactory<>(provider);
+		assertNull(factory.getPool());
+		Object instance = factory.provide();
+		factory.dispose(instance);
+		verify(serviceObjects).ungetService(instance);
+	}
+
+	private String get(ApplicationHandler handler, String path) throws Exception {
+		ContainerRequest request = new ContainerRequest(URI.create("http://localhost/"), URI.create("http://localhost/" + path), "GET",
+				mock(SecurityContext.class), new MapPropertiesDelegate(), null);
+		return (String) handler.apply(request).get().getEntity();
+	}
+
+	@Path("query")
+	public static class QueryResource {
+
+		@QueryParam("value")
+		private String value;
+
+		@GET
+		public String get() {
+			return value;
+		}
+
+	}
+
+}
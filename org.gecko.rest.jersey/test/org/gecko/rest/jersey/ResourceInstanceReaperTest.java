@@ -0,0 +1,295 @@
+/**
+ * Copyright (c) 2012 - 2022 Data In Motion and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Data In Motion - initial API and implementation
+ *     Stefan Bishof - API and implementation
+ *     Tim Ward - implementation
+ */
+package org.gecko.rest.jersey;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.Suspended;
+import javax.ws.rs.core.SecurityContext;
+
+import org.gecko.rest.jersey.binder.PrototypeServiceBinder;
+import org.gecko.rest.jersey.factories.InstanceTracker;
+import org.gecko.rest.jersey.factories.JerseyResourceInstanceFactory;
+import org.gecko.rest.jersey.factories.RequestInstances;
+import org.gecko.rest.jersey.factories.ResourceInstanceReaper;
+import org.gecko.rest.jersey.provider.JerseyConstants;
+import org.gecko.rest.jersey.provider.application.JaxRsApplicationContentProvider;
+import org.gecko.rest.jersey.runtime.common.ResourceConfigWrapper;
+import org.gecko.rest.jersey.runtime.servlet.WhiteboardServletContainer;
+import org.glassfish.jersey.internal.MapPropertiesDelegate;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.spi.ContainerResponseWriter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.osgi.framework.ServiceObjects;
+
+/**
+ * Tests the tracking of the live resource instances and the release of leaked ones
+ * @author agent
+ * @since 18.10.2026
+ */
+@ExtendWith(MockitoExtension.class)
+public class ResourceInstanceReaperTest {
+
+	@Mock
+	private ServiceObjects<Object> serviceObjects;
+	@Mock
+	private JaxRsApplicationContentProvider provider;
+
+	@Test
+	public void testTrackByIdentity() {
+		InstanceTracker<String> tracker = new InstanceTracker<>();
+		String first = new String("resource");
+		String second = new String("resource");
+		tracker.add(first, 10);
+		tracker.add(second, 20);
+		assertEquals(2, tracker.size());
+		assertTrue(tracker.remove(first));
+		assertFalse(tracker.remove(first));
+		assertEquals(1, tracker.size());
+
+		tracker.add(first, 10);
+		// only completed instances are removed, the age counts from the completion
+		assertTrue(tracker.removeCompletedBefore(30).isEmpty());
+		assertTrue(tracker.markCompleted(first, 12));
+		assertTrue(tracker.markCompleted(second, 25));
+		List<String> removed = tracker.removeCompletedBefore(15);
+		assertEquals(1, removed.size());
+		assertTrue(removed.get(0) == first);
+		assertFalse(tracker.markCompleted(first, 16));
+		assertEquals(1, tracker.clear().size());
+		assertEquals(0, tracker.size());
+	}
+
+	@Test
+	public void testConcurrentTracking() throws InterruptedException {
+		InstanceTracker<Object> tracker = new InstanceTracker<>();
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		CountDownLatch latch = new CountDownLatch(8);
+		for (int t = 0; t < 8; t++) {
+			executor.execute(()->{
+				List<Object> instances = new ArrayList<>();
+				for (int i = 0; i < 1000; i++) {
+					Object instance = new Object();
+					instances.add(instance);
+					tracker.add(instance, System.nanoTime());
+				}
+				for (int i = 0; i < 500; i++) {
+					tracker.remove(instances.get(i));
+				}
+				latch.countDown();
+			});
+		}
+		assertTrue(latch.await(10, TimeUnit.SECONDS));
+		executor.shutdown();
+		assertEquals(4000, tracker.size());
+	}
+
+	@Test
+	public void testReap() throws InterruptedException {
+		lenient().when(provider.getProviderObject()).thenReturn(serviceObjects);
+		lenient().when(provider.isSingleton()).thenReturn(Boolean.FALSE);
+		lenient().when(provider.getProperties()).thenReturn(Map.of());
+		lenient().when(serviceObjects.getService()).thenAnswer((i)->new Object());
+
+		ResourceInstanceReaper reaper = new ResourceInstanceReaper();
+		JerseyResourceInstanceFactory<Object> factory = new JerseyResourceInstanceFactory<>(provider);
+		reaper.register(factory);
+		Object leaked = factory.provide();
+		Object inFlight = factory.provide();
+		assertEquals(2, reaper.getLiveInstanceCount());
+		// disabled
+		assertEquals(0, reaper.reap());
+
+		reaper.setMaxAge(60000);
+		assertEquals(60000, reaper.getMaxAge());
+		assertEquals(0, reaper.reap());
+		factory.complete(leaked);
+		Thread.sleep(10);
+		// the request of the other instance is still running, so it is kept regardless of its age
+		assertEquals(1, factory.reap(TimeUnit.MILLISECONDS.toNanos(5)));
+		verify(serviceObjects).ungetService(leaked);
+		verify(serviceObjects, never()).ungetService(inFlight);
+		assertEquals(1, factory.getReapedInstanceCount());
+		assertEquals(1, reaper.getLiveInstanceCount());
+
+		// a late dispose of the released instance is ignored
+		factory.dispose(leaked);
+		verify(serviceObjects, times(1)).ungetService(leaked);
+
+		factory.dispose();
+		verify(serviceObjects).ungetService(inFlight);
+		reaper.reap();
+		assertEquals(0, reaper.getLiveInstanceCount());
+		reaper.close();
+		verify(serviceObjects, never()).getServiceReference();
+	}
+
+	@Test
+	public void testRunningRequestNotReaped() throws Exception {
+		AsyncResource.pending.clear();
+		lenient().when(provider.getProviderObject()).thenReturn(serviceObjects);
+		lenient().when(provider.isSingleton()).thenReturn(Boolean.FALSE);
+		lenient().when(provider.getProperties()).thenReturn(Map.of());
+		lenient().when(serviceObjects.getService()).thenAnswer((i)->new AsyncResource());
+
+		ResourceInstanceReaper reaper = new ResourceInstanceReaper();
+		reaper.setMaxAge(60000);
+		JerseyResourceInstanceFactory<Object> factory = new JerseyResourceInstanceFactory<>(provider);
+		reaper.register(factory);
+		PrototypeServiceBinder binder = new PrototypeServiceBinder();
+		binder.register(AsyncResource.class, factory);
+		ResourceConfigWrapper wrapper = new ResourceConfigWrapper();
+		wrapper.config = new ResourceConfig(AsyncResource.class).register(binder);
+		wrapper.factories.add(factory);
+		WhiteboardServletContainer container = new WhiteboardServletContainer(wrapper, null);
+		container.initNative();
+
+		ContainerRequest request = new ContainerRequest(URI.create("http://localhost/"), URI.create("http://localhost/async"), "GET",
+				mock(SecurityContext.class), new MapPropertiesDelegate(), null);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		request.setWriter(new ContainerResponseWriter() {
+
+			@Override
+			public OutputStream writeResponseStatusAndHeaders(long contentLength, ContainerResponse responseContext) {
+				return out;
+			}
+
+			@Override
+			public boolean suspend(long timeOut, TimeUnit timeUnit, TimeoutHandler timeoutHandler) {
+				return true;
+			}
+
+			@Override
+			public void setSuspendTimeout(long timeOut, TimeUnit timeUnit) {
+			}
+
+			@Override
+			public void commit() {
+			}
+
+			@Override
+			public void failure(Throwable error) {
+			}
+
+			@Override
+			public boolean enableResponseBuffering() {
+				return false;
+			}
+
+		});
+		assertTrue(container.handle(request));
+		AsyncResponse response = AsyncResource.pending.poll(5, TimeUnit.SECONDS);
+		Thread.sleep(10);
+
+		// the suspended request is still running, so its instance is kept regardless of its age
+		assertEquals(0, factory.reap(TimeUnit.MILLISECONDS.toNanos(1)));
+		assertEquals(1, reaper.getLiveInstanceCount());
+		verify(serviceObjects, never()).ungetService(any());
+
+		// the instance is assigned to the request and disposed, when the request finished
+		assertNotNull(request.getProperty(RequestInstances.REQUEST_PROPERTY));
+		response.resume("done");
+		assertEquals("done", out.toString());
+		long timeout = System.currentTimeMillis() + 5000;
+		while (reaper.getLiveInstanceCount() > 0 && System.currentTimeMillis() < timeout) {
+			Thread.sleep(10);
+		}
+		assertEquals(0, reaper.getLiveInstanceCount());
+		assertEquals(0, factory.getReapedInstanceCount());
+		container.destroy();
+		reaper.close();
+	}
+
+	@Test
+	public void testSweepEvictsIdleInstances() throws InterruptedException {
+		lenient().when(provider.getProviderObject()).thenReturn(serviceObjects);
+		lenient().when(provider.isSingleton()).thenReturn(Boolean.FALSE);
+		lenient().when(provider.getProperties()).thenReturn(Map.of(JerseyConstants.JERSEY_RESOURCE_POOL_SIZE, "2",
+				JerseyConstants.JERSEY_RESOURCE_POOL_IDLE_TIMEOUT, "1"));
+		lenient().doReturn(Object.class).when(provider).getObjectClass();
+		lenient().when(serviceObjects.getService()).thenAnswer((i)->new Object());
+
+		ResourceInstanceReaper reaper = new ResourceInstanceReaper();
+		JerseyResourceInstanceFactory<Object> factory = new JerseyResourceInstanceFactory<>(provider);
+		reaper.register(factory);
+		Object instance = factory.provide();
+		factory.dispose(instance);
+		assertEquals(1, factory.getPool().getIdleCount());
+		Thread.sleep(10);
+
+		// the idle instance is released without further requests
+		reaper.reap();
+		assertEquals(0, factory.getPool().getIdleCount());
+		verify(serviceObjects).ungetService(instance);
+		reaper.close();
+	}
+
+	@Test
+	public void testSweepListener() {
+		ResourceInstanceReaper reaper = new ResourceInstanceReaper();
+		AtomicInteger sweeps = new AtomicInteger();
+		reaper.setSweepListener(sweeps::incrementAndGet);
+		reaper.reap();
+		reaper.reap();
+		assertEquals(2, sweeps.get());
+		// the listener is removed on close
+		reaper.close();
+		reaper.reap();
+		assertEquals(2, sweeps.get());
+	}
+
+	@Path("async")
+	public static class AsyncResource {
+
+		static final BlockingQueue<AsyncResponse> pending = new LinkedBlockingQueue<>();
+
+		@GET
+		public void get(@Suspended AsyncResponse response) {
+			pending.add(response);
+		}
+
+	}
+
+}
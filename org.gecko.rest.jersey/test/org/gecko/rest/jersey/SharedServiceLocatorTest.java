@@ -0,0 +1,54 @@
+/**
+ * Copyright (c) 2012 - 2022 Data In Motion and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Data In Motion - initial API and implementation
+ *     Stefan Bishof - API and implementation
+ *     Tim Ward - implementation
+ */
+package org.gecko.rest.jersey;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.gecko.rest.jersey.runtime.servlet.SharedServiceLocator;
+import org.glassfish.hk2.api.ServiceLocator;
+import org.glassfish.hk2.api.ServiceLocatorState;
+import org.glassfish.jersey.server.spi.internal.ResourceMethodInvocationHandlerProvider;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the reference counting of the shared HK2 service locator
+ * @author agent
+ * @since 18.10.2026
+ */
+public class SharedServiceLocatorTest {
+
+	@Test
+	public void testSharedLocator() {
+		ServiceLocator first = SharedServiceLocator.acquire();
+		ServiceLocator second = SharedServiceLocator.acquire();
+		assertSame(first, second);
+		assertFalse(first.getAllServiceHandles(ResourceMethodInvocationHandlerProvider.class).isEmpty());
+
+		SharedServiceLocator.release();
+		assertEquals(ServiceLocatorState.RUNNING, first.getState());
+		SharedServiceLocator.release();
+		assertEquals(ServiceLocatorState.SHUTDOWN, first.getState());
+
+		ServiceLocator third = SharedServiceLocator.acquire();
+		assertNotNull(third);
+		assertNotSame(first, third);
+		assertEquals(ServiceLocatorState.RUNNING, third.getState());
+		SharedServiceLocator.release();
+	}
+
+}
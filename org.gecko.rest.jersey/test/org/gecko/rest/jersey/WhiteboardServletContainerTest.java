@@ -0,0 +1,336 @@
+/**
+ * Copyright (c) 2012 - 2022 Data In Motion and others.
+ * All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the terms of the
+ * Eclipse Public License v2.0 which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v20.html
+ *
+ * Contributors:
+ *     Data In Motion - initial API and implementation
+ *     Stefan Bishof - API and implementation
+ *     Tim Ward - implementation
+ */
+package org.gecko.rest.jersey;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PreDestroy;
+import javax.servlet.ServletConfig;
+import javax.servlet.ServletContext;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.container.AsyncResponse;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.container.Suspended;
+import javax.ws.rs.core.SecurityContext;
+
+import org.gecko.rest.jersey.helper.DestroyListener;
+import org.gecko.rest.jersey.resources.TestResource;
+import org.gecko.rest.jersey.runtime.common.ResourceConfigWrapper;
+import org.gecko.rest.jersey.runtime.servlet.ReloadWarmup;
+import org.gecko.rest.jersey.runtime.servlet.WhiteboardServletContainer;
+import org.glassfish.hk2.api.ServiceLocator;
+import org.glassfish.hk2.api.ServiceLocatorState;
+import org.glassfish.jersey.internal.MapPropertiesDelegate;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.spi.ContainerResponseWriter;
+import org.glassfish.jersey.servlet.ServletProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.osgi.service.jaxrs.runtime.dto.ApplicationDTO;
+import org.osgi.service.jaxrs.runtime.dto.ResourceDTO;
+import org.osgi.service.jaxrs.runtime.dto.ResourceMethodInfoDTO;
+
+/**
+ * Tests the reload of the whiteboard servlet container
+ * @author agent
+ * @since 18.10.2026
+ */
+@ExtendWith(MockitoExtension.class)
+public class WhiteboardServletContainerTest {
+
+	@Mock
+	private ServletConfig servletConfig;
+	@Mock
+	private ServletContext servletContext;
+	@Mock
+	private DestroyListener destroyListener;
+
+	@BeforeEach
+	public void before() {
+		lenient().when(servletConfig.getServletContext()).thenReturn(servletContext);
+		lenient().when(servletConfig.getServletName()).thenReturn("test");
+		lenient().when(servletConfig.getInitParameterNames()).thenReturn(Collections.emptyEnumeration());
+		lenient().when(servletContext.getInitParameterNames()).thenReturn(Collections.emptyEnumeration());
+		lenient().when(servletContext.getAttributeNames()).thenReturn(Collections.emptyEnumeration());
+	}
+
+	@Test
+	public void testReloadPublishesNewHandler() throws Exception {
+		ResourceConfigWrapper wrapper = new ResourceConfigWrapper();
+		wrapper.config = new ResourceConfig(TestResource.class).property("generation", 1);
+		WhiteboardServletContainer container = new WhiteboardServletContainer(wrapper, destroyListener);
+		container.init(servletConfig);
+		ApplicationHandler first = container.getApplicationHandler();
+		assertNotNull(first);
+		assertNotNull(first.getInjectionManager());
+		assertEquals(1, container.getConfiguration().getProperty("generation"));
+
+		ResourceConfigWrapper reloaded = new ResourceConfigWrapper();
+		reloaded.config = new ResourceConfig(TestResource.class).property("generation", 2);
+		container.reloadWrapper(reloaded);
+		ApplicationHandler second = container.getApplicationHandler();
+		assertNotSame(first, second);
+		assertNotNull(second.getInjectionManager());
+		assertEquals(2, container.getConfiguration().getProperty("generation"));
+
+		container.destroy();
+		assertNull(container.getApplicationHandler());
+		verify(destroyListener).servletContainerDestroyed(container);
+	}
+
+	@Test
+	public void testGenerationHoldsServiceLocator() throws Exception {
+		WhiteboardServletContainer container = new WhiteboardServletContainer(new ResourceConfig(TestResource.class), destroyListener);
+		container.init(servletConfig);
+		ArgumentCaptor<Object> locator = ArgumentCaptor.forClass(Object.class);
+		verify(servletContext).setAttribute(eq(ServletProperties.SERVICE_LOCATOR), locator.capture());
+
+		// the replaced generation releases its usage, the new one keeps the locator running
+		container.reload(new ResourceConfig(TestResource.class));
+		assertEquals(ServiceLocatorState.RUNNING, ((ServiceLocator) locator.getValue()).getState());
+
+		container.destroy();
+		assertEquals(ServiceLocatorState.SHUTDOWN, ((ServiceLocator) locator.getValue()).getState());
+	}
+
+	@Test
+	public void testReloadBeforeInit() throws Exception {
+		WhiteboardServletContainer container = new WhiteboardServletContainer(new ResourceConfig(), destroyListener);
+		container.reload(new ResourceConfig(TestResource.class).property("generation", 2));
+		assertNull(container.getApplicationHandler());
+
+		// the latest configuration is used, when the container is initialized
+		container.init(servletConfig);
+		assertEquals(2, container.getConfiguration().getProperty("generation"));
+		container.destroy();
+	}
+
+	@Test
+	public void testBackgroundReloadKeepsServing() throws Exception {
+		WhiteboardServletContainer container = new WhiteboardServletContainer(new ResourceConfig(TestResource.class).property("generation", 1), destroyListener);
+		container.init(servletConfig);
+		List<Runnable> tasks = new LinkedList<>();
+
+		AtomicInteger disposed = new AtomicInteger();
+		ResourceConfigWrapper replaced = new ResourceConfigWrapper() {
+			@Override
+			public void dispose() {
+				disposed.incrementAndGet();
+			}
+		};
+		replaced.config = createWrapper(2).config;
+		container.reloadWrapper(replaced, null, tasks::add);
+		container.reloadWrapper(createWrapper(3), null, tasks::add);
+		// the previous generation serves, until the new one is built and only the latest reload is built
+		assertEquals(1, container.getConfiguration().getProperty("generation"));
+		assertEquals(1, tasks.size());
+		// the replaced reload is never built, so its factories are released at once
+		assertEquals(1, disposed.get());
+
+		tasks.remove(0).run();
+		assertEquals(3, container.getConfiguration().getProperty("generation"));
+		assertTrue(tasks.isEmpty());
+		container.destroy();
+	}
+
+	@Test
+	public void testReloadWarmup() throws Exception {
+		WarmupResource.calls.set(0);
+		ApplicationDTO application = new ApplicationDTO();
+		ResourceDTO resource = new ResourceDTO();
+		resource.resourceMethods = new ResourceMethodInfoDTO[] {createMethod("GET", "warmup/{id: [0-9]+}"), createMethod("POST", "warmup")};
+		application.resourceDTOs = new ResourceDTO[] {resource};
+		assertNull(ReloadWarmup.forApplication(application, Collections.emptySet(), 2, 5000));
+		// state changing methods are never used for the warm-up
+		assertEquals(Set.of("GET", "OPTIONS"), ReloadWarmup.parseMethods("get, post, delete, options"));
+		assertNull(ReloadWarmup.forApplication(application, Set.of("POST"), 2, 5000));
+		ReloadWarmup warmup = ReloadWarmup.forApplication(application, ReloadWarmup.parseMethods("get, options"), 2, 5000);
+		assertEquals(1, warmup.size());
+
+		WhiteboardServletContainer container = new WhiteboardServletContainer(new ResourceConfig(WarmupResource.class), destroyListener);
+		container.init(servletConfig);
+		ResourceConfigWrapper wrapper = new ResourceConfigWrapper();
+		wrapper.config = new ResourceConfig(WarmupResource.class).property("generation", 2);
+		container.reloadWrapper(wrapper, warmup, Runnable::run);
+		assertEquals(2, container.getConfiguration().getProperty("generation"));
+		assertEquals(2, WarmupResource.calls.get());
+		container.destroy();
+	}
+
+	@Test
+	public void testReloadWarmupTimeout() {
+		SlowResource.calls.set(0);
+		ApplicationDTO application = new ApplicationDTO();
+		application.resourceMethods = new ResourceMethodInfoDTO[] {createMethod("GET", "slow")};
+		ReloadWarmup warmup = ReloadWarmup.forApplication(application, Set.of("GET"), 1000, 200);
+
+		long start = System.nanoTime();
+		warmup.run(new ApplicationHandler(new ResourceConfig(SlowResource.class)));
+		// the whole warm-up is limited, not only each request
+		assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 2000);
+		assertTrue(SlowResource.calls.get() < 1000, String.valueOf(SlowResource.calls.get()));
+	}
+
+	@Test
+	public void testDestroyWithRunningRequest() throws Exception {
+		AsyncResource.destroyed.set(0);
+		WhiteboardServletContainer container = new WhiteboardServletContainer(new ResourceConfig(AsyncResource.class, AsyncResource.DestroyFilter.class), destroyListener);
+		container.initNative();
+		ContainerRequest request = new ContainerRequest(URI.create("http://localhost/"), URI.create("http://localhost/async"), "GET",
+				mock(SecurityContext.class), new MapPropertiesDelegate(), null);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		request.setWriter(new ContainerResponseWriter() {
+
+			@Override
+			public OutputStream writeResponseStatusAndHeaders(long contentLength, ContainerResponse responseContext) {
+				return out;
+			}
+
+			@Override
+			public boolean suspend(long timeOut, TimeUnit timeUnit, TimeoutHandler timeoutHandler) {
+				return true;
+			}
+
+			@Override
+			public void setSuspendTimeout(long timeOut, TimeUnit timeUnit) {
+			}
+
+			@Override
+			public void commit() {
+			}
+
+			@Override
+			public void failure(Throwable error) {
+			}
+
+			@Override
+			public boolean enableResponseBuffering() {
+				return false;
+			}
+
+		});
+		assertTrue(container.handle(request));
+		AsyncResponse response = AsyncResource.pending.take();
+
+		// the generation of the running request is shut down, when the request is finished
+		container.destroy();
+		assertEquals(0, AsyncResource.destroyed.get());
+		response.resume("done");
+		assertEquals("done", out.toString());
+		long timeout = System.currentTimeMillis() + 5000;
+		while (AsyncResource.destroyed.get() == 0 && System.currentTimeMillis() < timeout) {
+			Thread.sleep(10);
+		}
+		assertEquals(1, AsyncResource.destroyed.get());
+	}
+
+	private ResourceConfigWrapper createWrapper(int generation) {
+		ResourceConfigWrapper wrapper = new ResourceConfigWrapper();
+		wrapper.config = new ResourceConfig(TestResource.class).property("generation", generation);
+		return wrapper;
+	}
+
+	private ResourceMethodInfoDTO createMethod(String method, String path) {
+		ResourceMethodInfoDTO dto = new ResourceMethodInfoDTO();
+		dto.method = method;
+		dto.path = path;
+		return dto;
+	}
+
+	@Path("async")
+	public static class AsyncResource {
+
+		static final BlockingQueue<AsyncResponse> pending = new LinkedBlockingQueue<>();
+		static final AtomicInteger destroyed = new AtomicInteger();
+
+		@GET
+		public void get(@Suspended AsyncResponse response) {
+			pending.add(response);
+		}
+
+		public static class DestroyFilter implements ContainerResponseFilter {
+
+			@Override
+			public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+			}
+
+			@PreDestroy
+			public void destroy() {
+				destroyed.incrementAndGet();
+			}
+
+		}
+
+	}
+
+	@Path("warmup")
+	public static class WarmupResource {
+
+		static final AtomicInteger calls = new AtomicInteger();
+
+		@GET
+		@Path("{id: [0-9]+}")
+		public String get(@PathParam("id") int id) {
+			calls.incrementAndGet();
+			return "warm " + id;
+		}
+
+	}
+
+	@Path("slow")
+	public static class SlowResource {
+
+		static final AtomicInteger calls = new AtomicInteger();
+
+		@GET
+		public String get() throws InterruptedException {
+			calls.incrementAndGet();
+			Thread.sleep(50);
+			return "slow";
+		}
+
+	}
+
+}